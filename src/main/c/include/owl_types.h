@@ -113,6 +113,14 @@ typedef enum {
 
   // Use the dual normalisation procedure for the construction of DRWs.
   OWL_X_DRA_NORMAL_FORM_USE_DUAL,
+
+  // Translate formulas that are equal up to the naming and order of atomic
+  // propositions only once and relabel the automaton.
+  OWL_X_DEDUPLICATE_ISOMORPHIC_FORMULAS,
+
+  // Merge bisimilar states of deterministic automata.
+  // This explores the complete automaton.
+  OWL_MERGE_BISIMILAR_STATES,
 } owl_ltl_translation_option;
 
 // State layout for 'UNPUBLISHED_ZIELONKA'
@@ -31,6 +31,7 @@ import java.util.BitSet;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -47,6 +48,7 @@ import owl.bdd.MtBddOperations;
 import owl.collections.Collections3;
 import owl.collections.Either;
 import owl.collections.Pair;
+import owl.util.FlightRecorderEvents;
 
 /**
  * This class provides a skeletal implementation of the {@code Automaton} interface to minimize the
@@ -63,12 +65,20 @@ import owl.collections.Pair;
  * {@link owl.automaton.AbstractMemoizingAutomaton.EdgeMapImplementation}. It is recommended to
  * extend {@link owl.automaton.AbstractMemoizingAutomaton.EdgeTreeImplementation}.
  *
+ * <p>By default, all computed edge trees are kept. Consumers that traverse the automaton only
+ * once can bound the memory consumption with {@link #limitMemoizedEdgeTrees(int)}. Then the set
+ * of explored states is still kept, but only the most recently used edge trees are memoized and
+ * evicted edge trees are recomputed on demand.
+ *
  * @param <S> the state type
  * @param <A> the acceptance condition type
  **/
 public abstract class AbstractMemoizingAutomaton<S, A extends EmersonLeiAcceptance>
     implements Automaton<S, A> {
 
+  // Marker for explored states whose edge tree is not memoized in memoizedEdgeTrees.
+  private static final Pair<?, ?> EVICTED = Pair.of(MtBdd.of(), Set.of());
+
   protected final A acceptance;
   protected final List<String> atomicPropositions;
   protected final BddSetFactory factory;
@@ -77,6 +87,10 @@ public abstract class AbstractMemoizingAutomaton<S, A extends EmersonLeiAcceptan
   // Memoization.
   private boolean explorationCompleted = false;
   private final Map<S, Pair<MtBdd<Edge<S>>, Set<Edge<S>>>> memoizedEdgeTrees;
+  // If the number of memoized edge trees is limited, memoizedEdgeTrees maps explored states to
+  // EVICTED and the edge trees are stored in this map in access order.
+  @Nullable
+  private LinkedHashMap<S, Pair<MtBdd<Edge<S>>, Set<Edge<S>>>> recentEdgeTrees;
   private final EnumMap<Property, Boolean> memoizedProperties = new EnumMap<>(Property.class);
 
   private AbstractMemoizingAutomaton(
@@ -155,18 +169,87 @@ public abstract class AbstractMemoizingAutomaton<S, A extends EmersonLeiAcceptan
     }
   }
 
+  /**
+   * Limit the number of memoized edge trees. If the limit is exceeded, the least recently used
+   * edge trees are evicted and recomputed on demand. The set of explored states is not affected.
+   * Since evicted edge trees might be recomputed, {@link #explorationCompleted()} is not called
+   * and thus implementations keep the resources needed to compute edge trees.
+   *
+   * @param maximumSize the maximal number of memoized edge trees.
+   * @return {@code false} if the automaton has already been completely explored. In this case
+   *     all edge trees are kept.
+   */
+  public final boolean limitMemoizedEdgeTrees(int maximumSize) {
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive.");
+
+    if (explorationCompleted) {
+      return false;
+    }
+
+    var previousEdgeTrees = recentEdgeTrees;
+
+    recentEdgeTrees = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(
+          Map.Entry<S, Pair<MtBdd<Edge<S>>, Set<Edge<S>>>> eldest) {
+        return size() > maximumSize;
+      }
+    };
+
+    if (previousEdgeTrees == null) {
+      // Move the edge trees that have been memoized so far into the bounded map.
+      for (var entry : memoizedEdgeTrees.entrySet()) {
+        if (entry.getValue() != null) {
+          recentEdgeTrees.put(entry.getKey(), entry.getValue());
+          entry.setValue(evicted());
+        }
+      }
+    } else {
+      recentEdgeTrees.putAll(previousEdgeTrees);
+    }
+
+    return true;
+  }
+
+  @Nullable
+  private Pair<MtBdd<Edge<S>>, Set<Edge<S>>> memoizedPair(S state) {
+    var memoizedPair = memoizedEdgeTrees.get(state);
+
+    if (memoizedPair == EVICTED) {
+      return Objects.requireNonNull(recentEdgeTrees).get(state);
+    }
+
+    return memoizedPair;
+  }
+
   @Override
   public final MtBdd<Edge<S>> edgeTree(S state) {
-    var memoizedPair = memoizedEdgeTrees.get(state);
+    var memoizedPair = memoizedPair(state);
 
     if (memoizedPair != null) {
       return memoizedPair.fst();
     }
 
+    var event = new FlightRecorderEvents.EdgeTreeComputation();
+    event.begin();
+
     var edgeTree = edgeTreeImpl(state);
     @SuppressWarnings("unchecked")
     Edge<S>[] edges = edgeTree.flatValues().toArray(Edge[]::new);
-    memoizedEdgeTrees.put(state, Pair.of(edgeTree, Set.of(edges)));
+
+    if (event.shouldCommit()) {
+      event.automatonClass = getClass();
+      event.edges = edges.length;
+      event.recomputed = memoizedEdgeTrees.get(state) == EVICTED;
+      event.commit();
+    }
+
+    if (recentEdgeTrees == null) {
+      memoizedEdgeTrees.put(state, Pair.of(edgeTree, Set.of(edges)));
+    } else {
+      memoizedEdgeTrees.put(state, evicted());
+      recentEdgeTrees.put(state, Pair.of(edgeTree, Set.of(edges)));
+    }
 
     // Update the set of unexplored states.
     for (Edge<S> edge : edges) {
@@ -196,7 +279,7 @@ public abstract class AbstractMemoizingAutomaton<S, A extends EmersonLeiAcceptan
   public final Set<Edge<S>> edges(S state) {
     // Call edgeTree to ensure that the result is cached.
     edgeTree(state);
-    return Objects.requireNonNull(memoizedEdgeTrees.get(state)).snd();
+    return Objects.requireNonNull(memoizedPair(state)).snd();
   }
 
   @Nullable
@@ -263,7 +346,10 @@ public abstract class AbstractMemoizingAutomaton<S, A extends EmersonLeiAcceptan
         explorationCompleted = (s == 0);
       } while (!explorationCompleted);
 
-      explorationCompleted();
+      // Evicted edge trees might need to be recomputed.
+      if (recentEdgeTrees == null) {
+        explorationCompleted();
+      }
     }
 
     return memoizedEdgeTrees.isEmpty()
@@ -287,8 +373,8 @@ public abstract class AbstractMemoizingAutomaton<S, A extends EmersonLeiAcceptan
         boolean semiDeterministic = true;
 
         outer:
-        for (var pairs : memoizedEdgeTrees.values()) {
-          for (var edges : pairs.fst().values()) {
+        for (S state : memoizedEdgeTrees.keySet()) {
+          for (var edges : edgeTree(state).values()) {
             complete = complete && !edges.isEmpty();
             semiDeterministic = semiDeterministic && edges.size() <= 1;
 
@@ -310,8 +396,18 @@ public abstract class AbstractMemoizingAutomaton<S, A extends EmersonLeiAcceptan
     return memoizedProperties.get(property);
   }
 
+  @SuppressWarnings("unchecked")
+  private static <S> Pair<MtBdd<Edge<S>>, Set<Edge<S>>> evicted() {
+    return (Pair<MtBdd<Edge<S>>, Set<Edge<S>>>) (Pair<?, ?>) EVICTED;
+  }
+
   boolean edgeTreePrecomputed(S state) {
-    return memoizedEdgeTrees.get(state) != null;
+    var memoizedPair = memoizedEdgeTrees.get(state);
+
+    // containsKey does not change the access order of recentEdgeTrees.
+    return memoizedPair == EVICTED
+        ? Objects.requireNonNull(recentEdgeTrees).containsKey(state)
+        : memoizedPair != null;
   }
 
   protected abstract MtBdd<Edge<S>> edgeTreeImpl(S state);
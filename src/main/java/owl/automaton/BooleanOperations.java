@@ -37,7 +37,7 @@ import java.util.Set;
 import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
-import owl.automaton.AbstractMemoizingAutomaton.EdgeImplementation;
+import owl.automaton.AbstractMemoizingAutomaton.EdgeTreeImplementation;
 import owl.automaton.acceptance.AllAcceptance;
 import owl.automaton.acceptance.BuchiAcceptance;
 import owl.automaton.acceptance.CoBuchiAcceptance;
@@ -375,7 +375,7 @@ public final class BooleanOperations {
   }
 
   private static class NullablePairDeterministicUnionAutomaton<S1, S2>
-    extends EdgeImplementation<NullablePair<S1, S2>, EmersonLeiAcceptance> {
+    extends EdgeTreeImplementation<NullablePair<S1, S2>, EmersonLeiAcceptance> {
 
     @Nullable
     private Automaton<S1, ?> automaton1;
@@ -409,10 +409,22 @@ public final class BooleanOperations {
     }
 
     @Override
-    public Edge<NullablePair<S1, S2>> edgeImpl(NullablePair<S1, S2> state, BitSet valuation) {
-      Edge<S1> edge1 = state.fst() == null ? null : automaton1.edge(state.fst(), valuation);
-      Edge<S2> edge2 = state.snd() == null ? null : automaton2.edge(state.snd(), valuation);
-      return combine(edge1, edge2);
+    protected MtBdd<Edge<NullablePair<S1, S2>>> edgeTreeImpl(NullablePair<S1, S2> state) {
+      MtBdd<?> edgeTree1 = state.fst() == null ? MtBdd.of() : automaton1.edgeTree(state.fst());
+      MtBdd<?> edgeTree2 = state.snd() == null ? MtBdd.of() : automaton2.edgeTree(state.snd());
+
+      // Both automata are deterministic and thus every leaf contains at most one edge. A missing
+      // edge is represented by null.
+      @SuppressWarnings("unchecked")
+      var edgeTrees = List.of((MtBdd<Object>) edgeTree1, (MtBdd<Object>) edgeTree2);
+      return MtBddOperations.cartesianProductWithNull(edgeTrees).map(this::combine);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Edge<NullablePair<S1, S2>>> combine(Set<List<Object>> edgePairs) {
+      var edgePair = Iterables.getOnlyElement(edgePairs);
+      var edge = combine((Edge<S1>) edgePair.get(0), (Edge<S2>) edgePair.get(1));
+      return edge == null ? Set.of() : Set.of(edge);
     }
 
     @Nullable
@@ -456,7 +468,7 @@ public final class BooleanOperations {
   }
 
   private static class MapDeterministicUnionAutomaton<S>
-    extends EdgeImplementation<Map<Integer, S>, EmersonLeiAcceptance> {
+    extends EdgeTreeImplementation<Map<Integer, S>, EmersonLeiAcceptance> {
 
     @Nullable
     private List<? extends Automaton<S, ?>> automata;
@@ -495,13 +507,29 @@ public final class BooleanOperations {
     }
 
     @Override
-    public Edge<Map<Integer, S>> edgeImpl(Map<Integer, S> state, BitSet valuation) {
-      Map<Integer, Edge<S>> edges = new HashMap<>();
+    protected MtBdd<Edge<Map<Integer, S>>> edgeTreeImpl(Map<Integer, S> state) {
+      List<MtBdd<Edge<S>>> edgeTrees = new ArrayList<>(automata.size());
+
+      for (int i = 0, s = automata.size(); i < s; i++) {
+        S localState = state.get(i);
+        edgeTrees.add(localState == null ? MtBdd.of() : automata.get(i).edgeTree(localState));
+      }
+
+      // All automata are deterministic and thus every leaf contains at most one edge. A missing
+      // edge is represented by null.
+      return MtBddOperations.cartesianProductWithNull(edgeTrees).map(edgeLists -> {
+        var edgeList = Iterables.getOnlyElement(edgeLists);
+        Map<Integer, Edge<S>> edges = new HashMap<>();
 
-      state.forEach(
-        (index, localState) -> edges.put(index, automata.get(index).edge(localState, valuation)));
+        for (int i = 0, s = edgeList.size(); i < s; i++) {
+          if (edgeList.get(i) != null) {
+            edges.put(i, edgeList.get(i));
+          }
+        }
 
-      return combine(edges);
+        var edge = combine(edges);
+        return edge == null ? Set.of() : Set.of(edge);
+      });
     }
 
     @Nullable
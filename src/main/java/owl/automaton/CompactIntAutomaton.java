@@ -0,0 +1,418 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton;
+
+import static owl.automaton.Automaton.Property.COMPLETE;
+import static owl.automaton.Automaton.Property.DETERMINISTIC;
+import static owl.automaton.Automaton.Property.SEMI_DETERMINISTIC;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import owl.automaton.acceptance.EmersonLeiAcceptance;
+import owl.automaton.edge.Edge;
+import owl.bdd.BddSet;
+import owl.bdd.BddSetFactory;
+import owl.bdd.MtBdd;
+
+/**
+ * An immutable automaton with integer states that stores its transition relation in primitive
+ * arrays.
+ *
+ * <p>Each edge is packed into a single {@code long}: the upper 32 bits hold the successor and the
+ * lower 32 bits hold the colours as bit mask. The edges of a state are stored consecutively and
+ * are accompanied by their labels. Equal labels are shared, thus at most one object (the label) is
+ * retained per transition, compared to an {@link Edge}, its colour set, and the {@link MtBdd}
+ * nodes that are retained by {@link AbstractMemoizingAutomaton}. {@link Edge} objects and the
+ * {@link MtBdd} returned by {@link #edgeTree(Integer)} are created on each call and not retained.
+ * Hence this representation is intended for large, fully explored automata, e.g., automata read
+ * from HOA files.
+ *
+ * <p>Only acceptance conditions with at most 32 acceptance sets and non-negative states are
+ * supported. Use {@link #isSupported(Automaton)} to check this.
+ *
+ * @param <A> the acceptance condition type
+ */
+public final class CompactIntAutomaton<A extends EmersonLeiAcceptance>
+    implements Automaton<Integer, A> {
+
+  private static final int MAXIMAL_ACCEPTANCE_SETS = Integer.SIZE;
+
+  private final A acceptance;
+  private final List<String> atomicPropositions;
+  private final BddSetFactory factory;
+  private final Set<Integer> initialStates;
+
+  // Sorted array of all states. The edges of stateIds[i] are stored at the indices
+  // [offsets[i], offsets[i + 1]) of packedEdges and labels.
+  private final int[] stateIds;
+  private final int[] offsets;
+  private final long[] packedEdges;
+  private final BddSet[] labels;
+
+  private final Set<Integer> states = new StateSet();
+  private final EnumMap<Property, Boolean> memoizedProperties = new EnumMap<>(Property.class);
+
+  private CompactIntAutomaton(
+      A acceptance,
+      List<String> atomicPropositions,
+      BddSetFactory factory,
+      Set<Integer> initialStates,
+      IntFunction<? extends Map<Edge<Integer>, BddSet>> edgeMaps) {
+
+    this.acceptance = acceptance;
+    this.atomicPropositions = List.copyOf(atomicPropositions);
+    this.factory = factory;
+    this.initialStates = Set.copyOf(initialStates);
+
+    // Explore the automaton and store the edges in the order in which the states are discovered.
+    BitSet discoveredStates = new BitSet();
+    int[] discoveryOrder = new int[Math.max(16, initialStates.size())];
+    int stateCount = 0;
+
+    for (int initialState : this.initialStates) {
+      Preconditions.checkArgument(initialState >= 0, "Negative states are not supported.");
+
+      if (!discoveredStates.get(initialState)) {
+        discoveredStates.set(initialState);
+        discoveryOrder[stateCount] = initialState;
+        stateCount++;
+      }
+    }
+
+    Map<BddSet, BddSet> uniqueLabels = new HashMap<>();
+    int[] discoveryOffsets = new int[discoveryOrder.length + 1];
+    long[] packedEdges = new long[16];
+    BddSet[] labels = new BddSet[16];
+    int size = 0;
+
+    for (int i = 0; i < stateCount; i++) {
+      discoveryOffsets[i] = size;
+
+      for (var entry : edgeMaps.apply(discoveryOrder[i]).entrySet()) {
+        if (size == packedEdges.length) {
+          packedEdges = Arrays.copyOf(packedEdges, 2 * size);
+          labels = Arrays.copyOf(labels, 2 * size);
+        }
+
+        long packedEdge = pack(entry.getKey());
+        int successor = successor(packedEdge);
+        packedEdges[size] = packedEdge;
+        labels[size] = uniqueLabels.computeIfAbsent(entry.getValue(), Function.identity());
+        size++;
+
+        if (!discoveredStates.get(successor)) {
+          if (stateCount == discoveryOrder.length) {
+            discoveryOrder = Arrays.copyOf(discoveryOrder, 2 * stateCount);
+            discoveryOffsets = Arrays.copyOf(discoveryOffsets, 2 * stateCount + 1);
+          }
+
+          discoveredStates.set(successor);
+          discoveryOrder[stateCount] = successor;
+          stateCount++;
+        }
+      }
+    }
+
+    discoveryOffsets[stateCount] = size;
+
+    // Sort the states. The upper 32 bits hold the state and the lower 32 bits the position in the
+    // discovery order.
+    long[] sortedStates = new long[stateCount];
+
+    for (int i = 0; i < stateCount; i++) {
+      sortedStates[i] = ((long) discoveryOrder[i] << Integer.SIZE) | i;
+    }
+
+    Arrays.sort(sortedStates);
+
+    this.stateIds = new int[stateCount];
+    this.offsets = new int[stateCount + 1];
+    this.packedEdges = new long[size];
+    this.labels = new BddSet[size];
+    int offset = 0;
+
+    for (int i = 0; i < stateCount; i++) {
+      int discoveryIndex = (int) sortedStates[i];
+      int from = discoveryOffsets[discoveryIndex];
+      int length = discoveryOffsets[discoveryIndex + 1] - from;
+
+      stateIds[i] = (int) (sortedStates[i] >>> Integer.SIZE);
+      offsets[i] = offset;
+      System.arraycopy(packedEdges, from, this.packedEdges, offset, length);
+      System.arraycopy(labels, from, this.labels, offset, length);
+      offset += length;
+    }
+
+    offsets[stateCount] = offset;
+  }
+
+  /**
+   * Returns true if the automaton can be represented by a {@link CompactIntAutomaton}.
+   */
+  public static boolean isSupported(Automaton<Integer, ?> automaton) {
+    return isSupported(automaton.acceptance());
+  }
+
+  /**
+   * Returns true if automata with the acceptance condition can be represented by a
+   * {@link CompactIntAutomaton}.
+   */
+  public static boolean isSupported(EmersonLeiAcceptance acceptance) {
+    return acceptance.acceptanceSets() <= MAXIMAL_ACCEPTANCE_SETS;
+  }
+
+  /**
+   * Copy the automaton. This forces the exploration of the complete state space.
+   *
+   * @param automaton the automaton.
+   * @param <A> the acceptance condition type.
+   * @return an immutable copy.
+   * @throws IllegalArgumentException if the automaton is not supported.
+   */
+  public static <A extends EmersonLeiAcceptance> CompactIntAutomaton<A> copyOf(
+      Automaton<Integer, ? extends A> automaton) {
+
+    if (automaton instanceof CompactIntAutomaton) {
+      @SuppressWarnings("unchecked")
+      var compactAutomaton = (CompactIntAutomaton<A>) automaton;
+      return compactAutomaton;
+    }
+
+    return of(automaton.atomicPropositions(), automaton.factory(), automaton.initialStates(),
+        automaton.acceptance(), automaton::edgeMap);
+  }
+
+  /**
+   * Construct the automaton that is reachable from the initial states. The edges of each state are
+   * obtained exactly once from {@code edgeMaps} and no intermediate automaton is built.
+   *
+   * @param atomicPropositions the atomic propositions.
+   * @param factory the factory used to create the labels.
+   * @param initialStates the initial states.
+   * @param acceptance the acceptance condition.
+   * @param edgeMaps the edges of each state together with their labels.
+   * @param <A> the acceptance condition type.
+   * @return an immutable automaton.
+   * @throws IllegalArgumentException if the acceptance condition is not supported or a state is
+   *     negative.
+   */
+  public static <A extends EmersonLeiAcceptance> CompactIntAutomaton<A> of(
+      List<String> atomicPropositions,
+      BddSetFactory factory,
+      Set<Integer> initialStates,
+      A acceptance,
+      IntFunction<? extends Map<Edge<Integer>, BddSet>> edgeMaps) {
+
+    Preconditions.checkArgument(isSupported(acceptance),
+        "Only automata with at most %s acceptance sets are supported.", MAXIMAL_ACCEPTANCE_SETS);
+    return new CompactIntAutomaton<>(
+        acceptance, atomicPropositions, factory, initialStates, edgeMaps);
+  }
+
+  @Override
+  public A acceptance() {
+    return acceptance;
+  }
+
+  @Override
+  public List<String> atomicPropositions() {
+    return atomicPropositions;
+  }
+
+  @Override
+  public BddSetFactory factory() {
+    return factory;
+  }
+
+  @Override
+  public Set<Integer> initialStates() {
+    return initialStates;
+  }
+
+  @Override
+  public Set<Integer> states() {
+    return states;
+  }
+
+  @Override
+  public Set<Edge<Integer>> edges(Integer state, BitSet valuation) {
+    int index = index(state);
+    int size = 0;
+    @SuppressWarnings("unchecked")
+    Edge<Integer>[] edges = new Edge[offsets[index + 1] - offsets[index]];
+
+    for (int i = offsets[index], s = offsets[index + 1]; i < s; i++) {
+      if (labels[i].contains(valuation)) {
+        edges[size] = unpack(packedEdges[i]);
+        size++;
+      }
+    }
+
+    return Set.of(Arrays.copyOf(edges, size));
+  }
+
+  @Override
+  public Set<Edge<Integer>> edges(Integer state) {
+    int index = index(state);
+    @SuppressWarnings("unchecked")
+    Edge<Integer>[] edges = new Edge[offsets[index + 1] - offsets[index]];
+
+    for (int i = offsets[index], s = offsets[index + 1]; i < s; i++) {
+      edges[i - offsets[index]] = unpack(packedEdges[i]);
+    }
+
+    return Set.of(edges);
+  }
+
+  @Override
+  public Map<Edge<Integer>, BddSet> edgeMap(Integer state) {
+    int index = index(state);
+    Map<Edge<Integer>, BddSet> edgeMap = new HashMap<>();
+
+    for (int i = offsets[index], s = offsets[index + 1]; i < s; i++) {
+      edgeMap.put(unpack(packedEdges[i]), labels[i]);
+    }
+
+    return edgeMap;
+  }
+
+  @Override
+  public MtBdd<Edge<Integer>> edgeTree(Integer state) {
+    return factory.toMtBdd(edgeMap(state));
+  }
+
+  @Override
+  public Set<Integer> successors(Integer state) {
+    return Set.of(successorStream(state).boxed().toArray(Integer[]::new));
+  }
+
+  /**
+   * Returns the successors of the state without creating {@link Edge} objects. The array is sorted
+   * and free of duplicates.
+   *
+   * @param state the state.
+   * @return the successors.
+   */
+  public int[] successorIds(int state) {
+    return successorStream(state).toArray();
+  }
+
+  private IntStream successorStream(int state) {
+    int index = index(state);
+    return Arrays.stream(packedEdges, offsets[index], offsets[index + 1])
+        .mapToInt(CompactIntAutomaton::successor)
+        .sorted()
+        .distinct();
+  }
+
+  @Override
+  public boolean is(Property property) {
+    if (property != COMPLETE && property != SEMI_DETERMINISTIC && property != DETERMINISTIC) {
+      return Automaton.super.is(property);
+    }
+
+    synchronized (memoizedProperties) {
+      if (!memoizedProperties.containsKey(property)) {
+        memoizedProperties.put(property, Automaton.super.is(property));
+      }
+
+      return memoizedProperties.get(property);
+    }
+  }
+
+  private int index(int state) {
+    int index = Arrays.binarySearch(stateIds, state);
+    Preconditions.checkArgument(index >= 0, "State %s is not in the automaton.", state);
+    return index;
+  }
+
+  private static long pack(Edge<Integer> edge) {
+    int successor = edge.successor();
+    Preconditions.checkArgument(successor >= 0, "Negative states are not supported.");
+    long colours = 0;
+
+    for (var iterator = edge.colours().intIterator(); iterator.hasNext();) {
+      int colour = iterator.nextInt();
+      Preconditions.checkArgument(colour < MAXIMAL_ACCEPTANCE_SETS,
+          "Only colours below %s are supported.", MAXIMAL_ACCEPTANCE_SETS);
+      colours |= 1L << colour;
+    }
+
+    return ((long) successor << Integer.SIZE) | colours;
+  }
+
+  private static int successor(long packedEdge) {
+    return (int) (packedEdge >>> Integer.SIZE);
+  }
+
+  private static Edge<Integer> unpack(long packedEdge) {
+    int successor = successor(packedEdge);
+    long colours = packedEdge & 0xFFFF_FFFFL;
+
+    return colours == 0
+        ? Edge.of(successor)
+        : Edge.of(successor, BitSet.valueOf(new long[] {colours}));
+  }
+
+  private final class StateSet extends AbstractSet<Integer> {
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Integer state && Arrays.binarySearch(stateIds, state) >= 0;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+      return new Iterator<>() {
+        private int index = 0;
+
+        @Override
+        public boolean hasNext() {
+          return index < stateIds.length;
+        }
+
+        @Override
+        public Integer next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+
+          return stateIds[index++];
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return stateIds.length;
+    }
+  }
+}
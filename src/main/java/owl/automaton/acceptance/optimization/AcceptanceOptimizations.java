@@ -26,55 +26,81 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.annotation.Nullable;
 import owl.automaton.Automaton;
 import owl.automaton.HashMapAutomaton;
 import owl.automaton.MutableAutomaton;
+import owl.automaton.SuccessorFunction;
 import owl.automaton.Views;
 import owl.automaton.acceptance.EmersonLeiAcceptance;
+import owl.automaton.acceptance.GeneralizedBuchiAcceptance;
+import owl.automaton.acceptance.GeneralizedCoBuchiAcceptance;
 import owl.automaton.acceptance.GeneralizedRabinAcceptance;
+import owl.automaton.acceptance.GeneralizedRabinAcceptance.RabinPair;
 import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.acceptance.RabinAcceptance;
 import owl.automaton.algorithm.LanguageEmptiness;
 import owl.automaton.algorithm.SccDecomposition;
+import owl.automaton.edge.Edge;
 import owl.collections.ImmutableBitSet;
+import owl.logic.propositional.PropositionalFormula;
+import owl.logic.propositional.sat.Solver;
 
 public final class AcceptanceOptimizations {
 
   // TODO: collapse inf / fins?
 
-  private static final List<Consumer<MutableAutomaton<?, GeneralizedRabinAcceptance>>>
-    generalizedRabinDefaultAllList = List.of(
-    GeneralizedRabinAcceptanceOptimizations::minimizeOverlap,
-    GeneralizedRabinAcceptanceOptimizations::minimizeMergePairs,
-    GeneralizedRabinAcceptanceOptimizations::removeComplementaryInfSets,
-    GeneralizedRabinAcceptanceOptimizations::minimizeEdgeImplications,
-    GeneralizedRabinAcceptanceOptimizations::minimizeSccIrrelevant,
-    GeneralizedRabinAcceptanceOptimizations::minimizePairImplications,
-    GeneralizedRabinAcceptanceOptimizations::minimizeMergePairs,
-    GeneralizedRabinAcceptanceOptimizations::removeComplementaryInfSets,
-    GeneralizedRabinAcceptanceOptimizations::minimizePairImplications,
-    GeneralizedRabinAcceptanceOptimizations::minimizeEdgeImplications,
-    GeneralizedRabinAcceptanceOptimizations::minimizeSccIrrelevant,
-    GeneralizedRabinAcceptanceOptimizations::mergeBuchiTypePairs
+  private static final Logger logger = Logger.getLogger(AcceptanceOptimizations.class.getName());
+
+  private static final List<Pass> generalizedRabinDefaultAllList = List.of(
+    new Pass("minimizeOverlap", GeneralizedRabinAcceptanceOptimizations::minimizeOverlap),
+    new Pass("minimizeMergePairs", GeneralizedRabinAcceptanceOptimizations::minimizeMergePairs),
+    new Pass("removeComplementaryInfSets",
+      GeneralizedRabinAcceptanceOptimizations::removeComplementaryInfSets),
+    new Pass("minimizeEdgeImplications",
+      GeneralizedRabinAcceptanceOptimizations::minimizeEdgeImplications),
+    new Pass("minimizeSccIrrelevant",
+      GeneralizedRabinAcceptanceOptimizations::minimizeSccIrrelevant),
+    new Pass("minimizePairImplications",
+      GeneralizedRabinAcceptanceOptimizations::minimizePairImplications),
+    new Pass("minimizeMergePairs", GeneralizedRabinAcceptanceOptimizations::minimizeMergePairs),
+    new Pass("removeComplementaryInfSets",
+      GeneralizedRabinAcceptanceOptimizations::removeComplementaryInfSets),
+    new Pass("minimizePairImplications",
+      GeneralizedRabinAcceptanceOptimizations::minimizePairImplications),
+    new Pass("minimizeEdgeImplications",
+      GeneralizedRabinAcceptanceOptimizations::minimizeEdgeImplications),
+    new Pass("minimizeSccIrrelevant",
+      GeneralizedRabinAcceptanceOptimizations::minimizeSccIrrelevant),
+    new Pass("mergeBuchiTypePairs",
+      GeneralizedRabinAcceptanceOptimizations::mergeBuchiTypePairs)
   );
 
-  private static final List<Consumer<MutableAutomaton<?, GeneralizedRabinAcceptance>>>
-    rabinDefaultAllList = List.of(
-    GeneralizedRabinAcceptanceOptimizations::minimizeOverlap,
-    GeneralizedRabinAcceptanceOptimizations::minimizeMergePairs,
+  private static final List<Pass> rabinDefaultAllList = List.of(
+    new Pass("minimizeOverlap", GeneralizedRabinAcceptanceOptimizations::minimizeOverlap),
+    new Pass("minimizeMergePairs", GeneralizedRabinAcceptanceOptimizations::minimizeMergePairs),
     // GeneralizedRabinMinimizations::minimizeComplementaryInf,
-    GeneralizedRabinAcceptanceOptimizations::minimizeEdgeImplications,
-    GeneralizedRabinAcceptanceOptimizations::minimizeSccIrrelevant,
-    GeneralizedRabinAcceptanceOptimizations::minimizePairImplications,
-    GeneralizedRabinAcceptanceOptimizations::minimizeMergePairs,
+    new Pass("minimizeEdgeImplications",
+      GeneralizedRabinAcceptanceOptimizations::minimizeEdgeImplications),
+    new Pass("minimizeSccIrrelevant",
+      GeneralizedRabinAcceptanceOptimizations::minimizeSccIrrelevant),
+    new Pass("minimizePairImplications",
+      GeneralizedRabinAcceptanceOptimizations::minimizePairImplications),
+    new Pass("minimizeMergePairs", GeneralizedRabinAcceptanceOptimizations::minimizeMergePairs),
     // GeneralizedRabinMinimizations::minimizeComplementaryInf,
-    GeneralizedRabinAcceptanceOptimizations::minimizePairImplications,
-    GeneralizedRabinAcceptanceOptimizations::minimizeEdgeImplications,
-    GeneralizedRabinAcceptanceOptimizations::minimizeSccIrrelevant,
-    GeneralizedRabinAcceptanceOptimizations::mergeBuchiTypePairs
+    new Pass("minimizePairImplications",
+      GeneralizedRabinAcceptanceOptimizations::minimizePairImplications),
+    new Pass("minimizeEdgeImplications",
+      GeneralizedRabinAcceptanceOptimizations::minimizeEdgeImplications),
+    new Pass("minimizeSccIrrelevant",
+      GeneralizedRabinAcceptanceOptimizations::minimizeSccIrrelevant),
+    new Pass("mergeBuchiTypePairs",
+      GeneralizedRabinAcceptanceOptimizations::mergeBuchiTypePairs)
   );
 
   private AcceptanceOptimizations() {}
@@ -83,6 +109,9 @@ public final class AcceptanceOptimizations {
    * Remove states from the automaton that cannot belong to an infinite accepting path. Moreover,
    * all transient edges are cleared of acceptance marks.
    *
+   * <p>Each SCC is decided locally by inspecting the colours of its internal edges. Only for
+   * general Emerson-Lei conditions a language emptiness check restricted to the SCC is used.
+   *
    * @param automaton
    *   The automaton considered by the analysis.
    */
@@ -97,24 +126,14 @@ public final class AcceptanceOptimizations {
     for (int sccIndex = sccs.size() - 1; sccIndex >= 0; sccIndex--) {
       var scc = sccs.get(sccIndex);
 
-      if (sccDecomposition.isTransientScc(scc)) {
-        if (rejectingIndices.containsAll(condensationGraph.successors(sccIndex))) {
-          // Transient state with transitions to rejecting states
+      if (!containsAcceptingCycle(automaton, scc, edge -> true)) {
+        // Scc is not accepting on its own
+        var successors
+          = Sets.difference(condensationGraph.successors(sccIndex), Set.of(sccIndex));
+        if (rejectingIndices.containsAll(successors)) {
+          // The scc only has internal edges or edges to rejecting states
           rejectingIndices.add(sccIndex);
         }
-      } else {
-        S state = scc.iterator().next();
-
-        Automaton<S, ?> filtered = Views.replaceInitialStates(automaton, scc);
-        if (LanguageEmptiness.isEmpty(filtered, Set.of(state))) {
-          // Scc is not accepting on its own
-          var successors
-            = Sets.difference(condensationGraph.successors(sccIndex), Set.of(sccIndex));
-          if (rejectingIndices.containsAll(successors)) {
-            // The scc only has internal edges or edges to rejecting states
-            rejectingIndices.add(sccIndex);
-          }
-        }
       }
     }
 
@@ -138,6 +157,140 @@ public final class AcceptanceOptimizations {
     automaton.trim();
   }
 
+  /**
+   * Decide whether the strongly connected set of states contains an accepting cycle that only
+   * uses edges between these states that satisfy the filter.
+   */
+  private static <S> boolean containsAcceptingCycle(
+    Automaton<S, ?> automaton, Set<S> scc, Predicate<? super Edge<S>> edgeFilter) {
+
+    var colours = internalColours(automaton, scc, edgeFilter);
+
+    if (colours == null) {
+      return false;
+    }
+
+    var acceptance = automaton.acceptance();
+
+    // A cycle through all internal edges visits exactly these colours infinitely often.
+    if (acceptance.isAccepting(colours)) {
+      return true;
+    }
+
+    // Generalized Büchi conditions are monotone in the set of colours.
+    if (acceptance instanceof GeneralizedBuchiAcceptance) {
+      return false;
+    }
+
+    // The decisive colour is rejecting, thus an accepting cycle has to avoid it.
+    if (acceptance instanceof ParityAcceptance parityAcceptance) {
+      int decisiveColour = parityAcceptance.parity().max()
+        ? colours.length() - 1
+        : colours.nextSetBit(0);
+
+      if (decisiveColour < 0) {
+        return false;
+      }
+
+      Predicate<Edge<S>> subFilter
+        = edge -> edgeFilter.test(edge) && !edge.colours().contains(decisiveColour);
+      return subSccs(automaton, scc, subFilter).stream()
+        .anyMatch(subScc -> containsAcceptingCycle(automaton, subScc, subFilter));
+    }
+
+    // An accepting cycle avoids at least one colour. Colours that do not occur are already
+    // covered by the check above.
+    if (acceptance instanceof GeneralizedCoBuchiAcceptance) {
+      for (int colour = colours.nextSetBit(0); colour >= 0;
+        colour = colours.nextSetBit(colour + 1)) {
+
+        int finSet = colour;
+        Predicate<Edge<S>> subFilter
+          = edge -> edgeFilter.test(edge) && !edge.colours().contains(finSet);
+
+        if (subSccs(automaton, scc, subFilter).stream()
+          .anyMatch(subScc -> internalColours(automaton, subScc, subFilter) != null)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    // An accepting cycle for a pair avoids its Fin-set. Pairs whose Fin-set does not occur are
+    // already covered by the check above.
+    if (acceptance instanceof GeneralizedRabinAcceptance rabinAcceptance) {
+      for (RabinPair pair : rabinAcceptance.pairs()) {
+        int finSet = pair.finSet();
+
+        if (!colours.get(finSet)) {
+          continue;
+        }
+
+        Predicate<Edge<S>> subFilter
+          = edge -> edgeFilter.test(edge) && !edge.colours().contains(finSet);
+
+        for (Set<S> subScc : subSccs(automaton, scc, subFilter)) {
+          var subColours = internalColours(automaton, subScc, subFilter);
+
+          if (subColours != null
+            && pair.infSetStream().allMatch(subColours::get)) {
+            return true;
+          }
+        }
+      }
+
+      return false;
+    }
+
+    // Quick check: there is no accepting set of colours within the visited ones.
+    var restrictedExpression = acceptance.booleanExpression().substitute(
+      colour -> colours.get(colour)
+        ? PropositionalFormula.Variable.of(colour)
+        : PropositionalFormula.<Integer>falseConstant());
+
+    if (Solver.DPLL.model(restrictedExpression).isEmpty()) {
+      return false;
+    }
+
+    Views.Filter<S> filter = Views.Filter.<S>builder()
+      .initialStates(Set.of(scc.iterator().next()))
+      .stateFilter(scc::contains)
+      .edgeFilter((state, edge) -> scc.contains(edge.successor()) && edgeFilter.test(edge))
+      .build();
+    return !LanguageEmptiness.isEmpty(Views.filtered(automaton, filter));
+  }
+
+  // Returns the union of the colours of all internal edges satisfying the filter or null if there
+  // is no such edge.
+  @Nullable
+  private static <S> BitSet internalColours(
+    Automaton<S, ?> automaton, Set<S> states, Predicate<? super Edge<S>> edgeFilter) {
+
+    BitSet colours = null;
+
+    for (S state : states) {
+      for (Edge<S> edge : automaton.edges(state)) {
+        if (states.contains(edge.successor()) && edgeFilter.test(edge)) {
+          if (colours == null) {
+            colours = new BitSet();
+          }
+
+          edge.colours().forEach((IntConsumer) colours::set);
+        }
+      }
+    }
+
+    return colours;
+  }
+
+  private static <S> List<Set<S>> subSccs(
+    Automaton<S, ?> automaton, Set<S> scc, Predicate<? super Edge<S>> edgeFilter) {
+
+    return SccDecomposition.of(scc, SuccessorFunction.filter(automaton, scc, edgeFilter))
+      .sccsWithoutTransient();
+  }
+
   static <S> void removeIndices(MutableAutomaton<S, ?> automaton, Set<S> states,
     BitSet indicesToRemove) {
     if (indicesToRemove.isEmpty() || states.isEmpty()) {
@@ -176,21 +329,9 @@ public final class AcceptanceOptimizations {
     var mutableAutomaton = HashMapAutomaton.copyOf(automaton);
     removeDeadStates(mutableAutomaton);
 
-    if (mutableAutomaton.acceptance() instanceof RabinAcceptance) {
-
-      for (Consumer<MutableAutomaton<?, GeneralizedRabinAcceptance>> optimization
-        : rabinDefaultAllList) {
-        optimization.accept((MutableAutomaton) mutableAutomaton);
-        mutableAutomaton.trim();
-      }
-
-    } else if (mutableAutomaton.acceptance() instanceof GeneralizedRabinAcceptance) {
+    if (mutableAutomaton.acceptance() instanceof GeneralizedRabinAcceptance) {
 
-      for (Consumer<MutableAutomaton<?, GeneralizedRabinAcceptance>> optimization
-        : generalizedRabinDefaultAllList) {
-        optimization.accept((MutableAutomaton) mutableAutomaton);
-        mutableAutomaton.trim();
-      }
+      applyGeneralizedRabinPasses((MutableAutomaton) mutableAutomaton);
 
     } else if (mutableAutomaton.acceptance() instanceof ParityAcceptance) {
 
@@ -202,4 +343,69 @@ public final class AcceptanceOptimizations {
 
     return mutableAutomaton;
   }
+
+  /**
+   * Apply the default passes for Rabin or generalized Rabin acceptance.
+   *
+   * @return {@code false} if the automaton was not changed.
+   */
+  static <S> boolean applyGeneralizedRabinPasses(
+    MutableAutomaton<S, GeneralizedRabinAcceptance> automaton) {
+    return applyPasses(automaton, automaton.acceptance() instanceof RabinAcceptance
+      ? rabinDefaultAllList
+      : generalizedRabinDefaultAllList);
+  }
+
+  /**
+   * Apply the passes in the given order. The passes only change the colours of edges and thus
+   * the SCC decomposition is computed once and shared. A pass is skipped, if it did not change the
+   * automaton when it was applied last and no other pass changed the automaton since then.
+   */
+  private static <S> boolean applyPasses(
+    MutableAutomaton<S, GeneralizedRabinAcceptance> automaton, List<Pass> passes) {
+
+    var sccs = SccDecomposition.of(automaton).sccsWithoutTransient();
+
+    // The number of changes to the automaton when the pass was applied last without effect.
+    Map<String, Integer> unchangedAt = new HashMap<>();
+    int changes = 0;
+
+    for (Pass pass : passes) {
+      if (unchangedAt.getOrDefault(pass.name(), -1) == changes) {
+        logger.log(Level.FINE, "Skipping {0}, automaton is unchanged.", pass.name());
+        continue;
+      }
+
+      long startTime = System.nanoTime();
+      boolean changed = pass.function().apply(automaton, sccs);
+      automaton.trim();
+
+      if (changed) {
+        changes++;
+        unchangedAt.remove(pass.name());
+      } else {
+        unchangedAt.put(pass.name(), changes);
+      }
+
+      if (logger.isLoggable(Level.FINE)) {
+        logger.log(Level.FINE, "Applied {0} in {1} ms, changed: {2}", new Object[] {
+          pass.name(), (System.nanoTime() - startTime) / 1_000_000, changed});
+      }
+    }
+
+    return changes > 0;
+  }
+
+  @FunctionalInterface
+  private interface PassFunction {
+    /**
+     * Apply the pass.
+     *
+     * @return {@code false} if the automaton was not changed.
+     */
+    <S> boolean apply(
+      MutableAutomaton<S, GeneralizedRabinAcceptance> automaton, List<Set<S>> nonTransientSccs);
+  }
+
+  private record Pass(String name, PassFunction function) {}
 }
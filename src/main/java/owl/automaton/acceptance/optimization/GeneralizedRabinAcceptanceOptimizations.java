@@ -39,6 +39,7 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.BiConsumer;
 import java.util.function.IntConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -63,6 +64,11 @@ public final class GeneralizedRabinAcceptanceOptimizations {
    */
   public static <S> void removeComplementaryInfSets(
     MutableAutomaton<S, GeneralizedRabinAcceptance> automaton) {
+    removeComplementaryInfSets(automaton, SccDecomposition.of(automaton).sccsWithoutTransient());
+  }
+
+  static <S> boolean removeComplementaryInfSets(
+    MutableAutomaton<S, GeneralizedRabinAcceptance> automaton, List<Set<S>> sccs) {
     GeneralizedRabinAcceptance acceptance = automaton.acceptance();
 
     var pairs = acceptance.pairs().stream()
@@ -76,7 +82,7 @@ public final class GeneralizedRabinAcceptanceOptimizations {
       pairComplementaryInfSets.add(pairInfSets);
     }
 
-    AutomatonUtil.forEachNonTransientEdge(automaton, (state, edge) -> {
+    forEachNonTransientEdge(automaton, sccs, (state, edge) -> {
       ListIterator<RabinPair> iterator = pairs.listIterator();
       while (iterator.hasNext()) {
         int pairIndex = iterator.nextIndex();
@@ -104,7 +110,7 @@ public final class GeneralizedRabinAcceptanceOptimizations {
     pairComplementaryInfSets.forEach(indicesToRemove::or);
 
     if (indicesToRemove.isEmpty()) {
-      return;
+      return false;
     }
 
     logger.log(Level.FINER, "Removing complementary indices {0}", indicesToRemove);
@@ -112,6 +118,7 @@ public final class GeneralizedRabinAcceptanceOptimizations {
     AcceptanceOptimizations.removeAndRemapIndices(automaton, indicesToRemove);
     automaton.acceptance(acceptance.filter(indicesToRemove::get));
     assert automaton.acceptance().isWellFormedAutomaton(automaton);
+    return true;
   }
 
   /**
@@ -119,6 +126,11 @@ public final class GeneralizedRabinAcceptanceOptimizations {
    */
   public static <S> void minimizeEdgeImplications(
     MutableAutomaton<S, GeneralizedRabinAcceptance> automaton) {
+    minimizeEdgeImplications(automaton, SccDecomposition.of(automaton).sccsWithoutTransient());
+  }
+
+  static <S> boolean minimizeEdgeImplications(
+    MutableAutomaton<S, GeneralizedRabinAcceptance> automaton, List<Set<S>> sccs) {
     GeneralizedRabinAcceptance acceptance = automaton.acceptance();
     int acceptanceSets = acceptance.acceptanceSets();
 
@@ -129,7 +141,7 @@ public final class GeneralizedRabinAcceptanceOptimizations {
     BitSet[] impliesMap = new BitSet[acceptanceSets];
     Arrays.setAll(impliesMap, i -> BitSet2.copyOf(defaultConsequent));
 
-    AutomatonUtil.forEachNonTransientEdge(automaton, (state, edge) -> edge.colours().forEach(
+    forEachNonTransientEdge(automaton, sccs, (state, edge) -> edge.colours().forEach(
       (int index) -> {
         BitSet consequences = impliesMap[index];
 
@@ -185,6 +197,7 @@ public final class GeneralizedRabinAcceptanceOptimizations {
     AcceptanceOptimizations.removeAndRemapIndices(automaton, indicesToRemove);
     automaton.acceptance(acceptance.filter(indicesToRemove::get));
     assert automaton.acceptance().isWellFormedAutomaton(automaton);
+    return !indicesToRemove.isEmpty();
   }
 
   /**
@@ -192,19 +205,23 @@ public final class GeneralizedRabinAcceptanceOptimizations {
    */
   public static <S> void minimizeMergePairs(
     MutableAutomaton<S, GeneralizedRabinAcceptance> automaton) {
+    minimizeMergePairs(automaton, SccDecomposition.of(automaton).sccsWithoutTransient());
+  }
+
+  static <S> boolean minimizeMergePairs(
+    MutableAutomaton<S, GeneralizedRabinAcceptance> automaton, List<Set<S>> sccs) {
     List<RabinPair> pairs = automaton.acceptance().pairs().stream()
       .filter(RabinPair::hasInfSet)
       .toList();
 
     if (pairs.isEmpty()) {
-      return;
+      return false;
     }
 
     SortedMap<RabinPair, BitSet> pairActiveSccs = new TreeMap<>();
-    List<Set<S>> elements = SccDecomposition.of(automaton).sccsWithoutTransient();
 
-    for (int i = 0, s = elements.size(); i < s; i++) {
-      ImmutableBitSet indices = AutomatonUtil.getAcceptanceSets(automaton, elements.get(i));
+    for (int i = 0, s = sccs.size(); i < s; i++) {
+      ImmutableBitSet indices = AutomatonUtil.getAcceptanceSets(automaton, sccs.get(i));
       for (RabinPair pair : pairs) {
         if (pair.contains(indices)) {
           pairActiveSccs.computeIfAbsent(pair, k -> new BitSet()).set(i);
@@ -232,6 +249,11 @@ public final class GeneralizedRabinAcceptanceOptimizations {
       }
     }
 
+    // Without merges the remapping below is the identity.
+    if (mergeClasses.stream().allMatch(mergeClass -> mergeClass.pairs.size() == 1)) {
+      return false;
+    }
+
     Map<Integer, BitSet> remapping = new HashMap<>();
 
     for (MergeClass aClass : mergeClasses) {
@@ -294,6 +316,7 @@ public final class GeneralizedRabinAcceptanceOptimizations {
     AcceptanceOptimizations.removeAndRemapIndices(automaton, indicesToRemove);
     automaton.acceptance(automaton.acceptance().filter(indicesToRemove::get));
     assert automaton.acceptance().isWellFormedAutomaton(automaton);
+    return true;
   }
 
   /**
@@ -301,14 +324,22 @@ public final class GeneralizedRabinAcceptanceOptimizations {
    */
   public static <S> void minimizeOverlap(
     MutableAutomaton<S, GeneralizedRabinAcceptance> automaton) {
+    minimizeOverlap(automaton, List.of());
+  }
+
+  // The pass does not depend on the SCCs.
+  static <S> boolean minimizeOverlap(
+    MutableAutomaton<S, GeneralizedRabinAcceptance> automaton, List<Set<S>> sccs) {
     GeneralizedRabinAcceptance acceptance = automaton.acceptance();
     List<RabinPair> pairs = acceptance.pairs().stream()
       .filter(RabinPair::hasInfSet).toList();
 
     if (pairs.isEmpty()) {
-      return;
+      return false;
     }
 
+    boolean[] changed = {false};
+
     automaton.updateEdges((state, edge) -> {
       if (edge.colours().isEmpty()) {
         return edge;
@@ -337,8 +368,11 @@ public final class GeneralizedRabinAcceptanceOptimizations {
         }
       }
 
+      changed[0] = true;
       return Edge.of(edge.successor(), modifiedAcceptance);
     });
+
+    return changed[0];
   }
 
   /**
@@ -346,10 +380,14 @@ public final class GeneralizedRabinAcceptanceOptimizations {
    */
   public static <S> void minimizePairImplications(
     MutableAutomaton<S, GeneralizedRabinAcceptance> automaton) {
+    minimizePairImplications(automaton, SccDecomposition.of(automaton).sccsWithoutTransient());
+  }
+
+  static <S> boolean minimizePairImplications(
+    MutableAutomaton<S, GeneralizedRabinAcceptance> automaton, List<Set<S>> sccs) {
     GeneralizedRabinAcceptance acceptance = automaton.acceptance();
     int acceptanceSets = acceptance.acceptanceSets();
     List<RabinPair> pairs = new ArrayList<>(acceptance.pairs());
-    List<Set<S>> sccs = SccDecomposition.of(automaton).sccsWithoutTransient();
     List<SortedSetMultimap<RabinPair, RabinPair>> sccImplicationList = new ArrayList<>(sccs.size());
 
     StringBuilder logBuilder = logger.isLoggable(Level.FINEST)
@@ -500,6 +538,8 @@ public final class GeneralizedRabinAcceptanceOptimizations {
       logger.log(Level.FINEST, logBuilder.toString());
     }
 
+    boolean changed = !toRemove.isEmpty();
+
     for (int sccIndex = 0; sccIndex < sccs.size(); sccIndex++) {
       Set<S> scc = sccs.get(sccIndex);
       Set<RabinPair> pairsToRemoveInScc = pairsToRemoveInSccs.get(sccIndex);
@@ -512,6 +552,7 @@ public final class GeneralizedRabinAcceptanceOptimizations {
       BitSet indicesToRemoveInScc = new BitSet();
       pairsToRemoveInScc.forEach(pair -> pair.forEachInfSet(indicesToRemoveInScc::set));
       AcceptanceOptimizations.removeIndices(automaton, scc, indicesToRemoveInScc);
+      changed |= !indicesToRemoveInScc.isEmpty();
     }
 
     BitSet indicesToRemove = new BitSet();
@@ -520,6 +561,7 @@ public final class GeneralizedRabinAcceptanceOptimizations {
     AcceptanceOptimizations.removeAndRemapIndices(automaton, indicesToRemove);
     automaton.acceptance(acceptance.filter(indicesToRemove::get));
     assert automaton.acceptance().isWellFormedAutomaton(automaton);
+    return changed;
   }
 
   /**
@@ -530,11 +572,17 @@ public final class GeneralizedRabinAcceptanceOptimizations {
    */
   public static <S> void minimizeSccIrrelevant(
     MutableAutomaton<S, GeneralizedRabinAcceptance> automaton) {
+    minimizeSccIrrelevant(automaton, SccDecomposition.of(automaton).sccsWithoutTransient());
+  }
+
+  static <S> boolean minimizeSccIrrelevant(
+    MutableAutomaton<S, GeneralizedRabinAcceptance> automaton, List<Set<S>> sccs) {
     var acceptance = automaton.acceptance();
     var finOnlyPairs = acceptance.pairs().stream()
       .filter(x -> !x.hasInfSet()).toList();
+    boolean changed = false;
 
-    for (Set<S> scc : SccDecomposition.of(automaton).sccsWithoutTransient()) {
+    for (Set<S> scc : sccs) {
       ImmutableBitSet indicesInScc = AutomatonUtil.getAcceptanceSets(automaton, scc);
       BitSet indicesToRemove = new BitSet();
 
@@ -565,22 +613,26 @@ public final class GeneralizedRabinAcceptanceOptimizations {
 
       BitSet indicesInSccBitSet = indicesInScc.copyInto(new BitSet());
 
-      finOnlyPairs.stream()
+      var acceptingFinOnlyPair = finOnlyPairs.stream()
         .filter(pair -> !indicesInScc.contains(pair.finSet()))
-        .findAny()
-        .ifPresent(pair -> {
-          indicesInSccBitSet.clear(pair.finSet());
-          AcceptanceOptimizations.removeIndices(automaton, scc, indicesInSccBitSet);
-        });
+        .findAny();
 
+      if (acceptingFinOnlyPair.isPresent()) {
+        indicesInSccBitSet.clear(acceptingFinOnlyPair.get().finSet());
+        AcceptanceOptimizations.removeIndices(automaton, scc, indicesInSccBitSet);
+        changed |= !indicesInSccBitSet.isEmpty();
+      }
+
+      // Only indices occurring in the SCC are actually removed from its edges.
       AcceptanceOptimizations.removeIndices(automaton, scc, indicesToRemove);
+      changed |= indicesToRemove.intersects(indicesInSccBitSet);
     }
 
     BitSet indicesOnEveryEdge = new BitSet();
     indicesOnEveryEdge.set(0, acceptance.acceptanceSets());
     BitSet occurringIndices = new BitSet();
 
-    AutomatonUtil.forEachNonTransientEdge(automaton, (state, edge) -> {
+    forEachNonTransientEdge(automaton, sccs, (state, edge) -> {
       edge.colours().copyInto(occurringIndices);
       indicesOnEveryEdge.and(edge.colours().copyInto(new BitSet()));
     });
@@ -615,17 +667,24 @@ public final class GeneralizedRabinAcceptanceOptimizations {
     AcceptanceOptimizations.removeAndRemapIndices(automaton, indicesToRemove);
     automaton.updateAcceptance(x -> x.filter(indicesToRemove::get));
     assert automaton.acceptance().isWellFormedAutomaton(automaton);
+    return changed || !impossiblePairs.isEmpty();
   }
 
   public static <S> void mergeBuchiTypePairs(
     MutableAutomaton<S, GeneralizedRabinAcceptance> automaton) {
+    mergeBuchiTypePairs(automaton, List.of());
+  }
+
+  // The pass does not depend on the SCCs.
+  static <S> boolean mergeBuchiTypePairs(
+    MutableAutomaton<S, GeneralizedRabinAcceptance> automaton, List<Set<S>> sccs) {
     ImmutableBitSet colours = AutomatonUtil.getAcceptanceSets(automaton);
     List<RabinPair> buchiTypePairs = automaton.acceptance().pairs().stream()
       .filter(x -> x.infSetCount() == 1 && !colours.contains(x.finSet()))
       .toList();
 
     if (buchiTypePairs.size() < 2) {
-      return;
+      return false;
     }
 
     // Select one Rabin pair and mark everything else to be removed.
@@ -653,6 +712,20 @@ public final class GeneralizedRabinAcceptanceOptimizations {
     AcceptanceOptimizations.removeAndRemapIndices(automaton, indicesToRemove);
     automaton.updateAcceptance(x -> x.filter(indicesToRemove::get));
     assert automaton.acceptance().isWellFormedAutomaton(automaton);
+    return true;
+  }
+
+  private static <S> void forEachNonTransientEdge(
+    MutableAutomaton<S, ?> automaton, List<Set<S>> sccs, BiConsumer<S, Edge<S>> action) {
+    for (Set<S> scc : sccs) {
+      for (S state : scc) {
+        automaton.edges(state).forEach(edge -> {
+          if (scc.contains(edge.successor())) {
+            action.accept(state, edge);
+          }
+        });
+      }
+    }
   }
 
   private static final class MergeClass {
@@ -19,23 +19,23 @@
 
 package owl.automaton.acceptance.transformer;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
 import owl.collections.ImmutableBitSet;
 import owl.logic.propositional.PropositionalFormula;
-import owl.logic.propositional.sat.Solver;
+import owl.logic.propositional.sat.MaximalModelSolver;
 
 public final class ZielonkaDag {
 
   private final PropositionalFormula<Integer> alpha;
   private final Map<ImmutableBitSet, List<ImmutableBitSet>> dag;
+  private final MaximalModelSolver solver;
 
   public ZielonkaDag(PropositionalFormula<Integer> alpha) {
     this.alpha = alpha;
     this.dag = new HashMap<>();
+    this.solver = new MaximalModelSolver(alpha, PropositionalFormula.trueConstant());
     this.dag.put(ImmutableBitSet.of(), List.of());
   }
 
@@ -50,24 +50,13 @@ public final class ZielonkaDag {
       return children;
     }
 
-    // Invert acceptance condition (alpha) in order to obtain alternation in DAG.
-    var maximalModels = Solver.DEFAULT_MAXIMAL_MODELS.maximalModels(
-        alpha.evaluate(node) ? PropositionalFormula.Negation.of(alpha) : alpha, node);
-    var maximalModelsAsImmutableBitSets = new ImmutableBitSet[maximalModels.size()];
-
-    for (int i = 0, s = maximalModels.size(); i < s; i++) {
-      maximalModelsAsImmutableBitSets[i] = ImmutableBitSet.copyOf(maximalModels.get(i));
-    }
-
-    assert Stream.of(maximalModelsAsImmutableBitSets)
-        .allMatch(successor -> alpha.evaluate(node) != alpha.evaluate(successor));
-
-    // Sort colour sets lexicographically. This ensures that we always compute
+    // Invert acceptance condition (alpha) in order to obtain alternation in DAG. The solver
+    // returns the colour sets sorted lexicographically. This ensures that we always compute
     // the same Zielonka dag for a given acceptance condition.
-    Arrays.sort(maximalModelsAsImmutableBitSets);
+    var successors = solver.maximalModels(node, !alpha.evaluate(node));
 
-    // Make immutable copy.
-    var successors = List.of(maximalModelsAsImmutableBitSets);
+    assert successors.stream()
+        .allMatch(successor -> alpha.evaluate(node) != alpha.evaluate(successor));
 
     dag.put(node, successors);
     return successors;
@@ -31,6 +31,7 @@ import com.google.common.collect.Table;
 import com.google.common.primitives.ImmutableIntArray;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -51,6 +52,7 @@ import owl.automaton.SuccessorFunction;
 import owl.automaton.acceptance.AllAcceptance;
 import owl.automaton.acceptance.EmersonLeiAcceptance;
 import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.algorithm.IndexedSccDecomposition;
 import owl.automaton.algorithm.SccDecomposition;
 import owl.automaton.edge.Edge;
 import owl.bdd.BddSetFactory;
@@ -59,8 +61,8 @@ import owl.collections.Collections3;
 import owl.collections.ImmutableBitSet;
 import owl.collections.Pair;
 import owl.logic.propositional.PropositionalFormula;
-import owl.logic.propositional.PropositionalFormula.Conjunction;
-import owl.logic.propositional.sat.Solver;
+import owl.logic.propositional.sat.MaximalModelSolver;
+import owl.util.FlightRecorderEvents;
 
 public final class ZielonkaTreeTransformations {
 
@@ -436,6 +438,22 @@ public final class ZielonkaTreeTransformations {
       public ZielonkaTree lookup(ZielonkaState<S> state) {
         return forest.zielonkaTrees.get(state.state());
       }
+
+      // Every edge of the input automaton is mapped to exactly one edge and distinct successors
+      // are mapped to distinct successors. Thus these properties are inherited from the input
+      // automaton and can be decided without exploring this automaton and computing Zielonka trees
+      // and ACDs for all reachable SCCs. This allows to write the automaton while it is explored.
+      @Override
+      public boolean is(Property property) {
+        if (property == Property.COMPLETE
+            || property == Property.SEMI_DETERMINISTIC
+            || property == Property.DETERMINISTIC) {
+
+          return automaton.is(property);
+        }
+
+        return super.is(property);
+      }
     }
 
     return new AutomatonWithZielonkaTreeLookupImpl(
@@ -470,6 +488,10 @@ public final class ZielonkaTreeTransformations {
 
     abstract Map<S, Set<Edge<S>>> edges();
 
+    @Memoized
+    @Override
+    public abstract int hashCode();
+
     static <S> AcdCacheEntry<S> of(
         ImmutableBitSet colours,
         Map<S, Set<Edge<S>>> edges) {
@@ -496,20 +518,15 @@ public final class ZielonkaTreeTransformations {
     }
 
     @Nullable
-    AlternatingCycleDecomposition<S> get(
-        ImmutableBitSet colours,
-        Map<S, Set<Edge<S>>> edges) {
-
-      return cache.get(AcdCacheEntry.of(colours, edges));
+    AlternatingCycleDecomposition<S> get(AcdCacheEntry<S> entry) {
+      return cache.get(entry);
     }
 
     @Nullable
     AlternatingCycleDecomposition<S> put(
-        ImmutableBitSet colours,
-        Map<S, Set<Edge<S>>> edges,
-        AlternatingCycleDecomposition<S> acd) {
+        AcdCacheEntry<S> entry, AlternatingCycleDecomposition<S> acd) {
 
-      return cache.put(AcdCacheEntry.of(colours, edges), acd);
+      return cache.put(entry, acd);
     }
   }
 
@@ -536,6 +553,9 @@ public final class ZielonkaTreeTransformations {
     public static <S> List<AlternatingCycleDecomposition<S>> of(
         Automaton<S, ?> automaton, Set<S> restrictedStates, AcdCache<S> cache) {
 
+      var event = new FlightRecorderEvents.AlternatingCycleDecompositionConstruction();
+      event.begin();
+
       List<AlternatingCycleDecomposition<S>> acd = new ArrayList<>();
       SccDecomposition<S> sccDecomposition = SccDecomposition.of(
           restrictedStates, SuccessorFunction.filter(automaton, restrictedStates));
@@ -559,6 +579,14 @@ public final class ZielonkaTreeTransformations {
         acd.add(of(automaton.acceptance(), coloursOfChildScc, sccEdges, cache));
       }
 
+      if (event.shouldCommit()) {
+        event.states = restrictedStates.size();
+        event.sccs = acd.size();
+        event.height = acd.stream()
+            .mapToInt(AlternatingCycleDecomposition::height).max().orElse(0);
+        event.commit();
+      }
+
       return acd;
     }
 
@@ -568,9 +596,14 @@ public final class ZielonkaTreeTransformations {
         Map<S, Set<Edge<S>>> edges,
         AcdCache<S> cache) {
 
+      // The hash code of the entry is memoized and thus only computed once for both the lookup
+      // and the insertion.
+      AcdCacheEntry<S> cacheEntry = null;
+
       if (!alpha.booleanExpression().isTrue()) {
         assert cache.alpha.equals(alpha.booleanExpression());
-        var acd = cache.get(colours, edges);
+        cacheEntry = AcdCacheEntry.of(colours, edges);
+        var acd = cache.get(cacheEntry);
 
         if (acd != null) {
           return acd;
@@ -591,9 +624,8 @@ public final class ZielonkaTreeTransformations {
           = new AutoValue_ZielonkaTreeTransformations_AlternatingCycleDecomposition<>(
           colours, edges, children, height(children));
 
-      if (!alpha.booleanExpression().isTrue()) {
-        assert cache.alpha.equals(alpha.booleanExpression());
-        cache.put(colours, edges, acd);
+      if (cacheEntry != null) {
+        cache.put(cacheEntry, acd);
       }
 
       return acd;
@@ -628,37 +660,53 @@ public final class ZielonkaTreeTransformations {
 
       var children = new ArrayList<Pair<ImmutableBitSet, Map<S, Set<Edge<S>>>>>();
 
+      if (maximalModels.isEmpty()) {
+        return children;
+      }
+
+      // Number the states and edges once such that the SCC decompositions for the different
+      // maximal models only operate on int arrays.
+      var graph = new IndexedEdges<>(edges);
+
       for (ImmutableBitSet childColours : maximalModels) {
-        SuccessorFunction<S> successorFunction = state -> {
-          Set<S> successors = new HashSet<>();
-          for (var edge : edges.get(state)) {
-            if (childColours.containsAll(edge.colours())) {
-              successors.add(edge.successor());
-            }
-          }
-          return successors;
-        };
+        boolean[] allowed = new boolean[graph.edges.length];
+
+        for (int i = 0; i < allowed.length; i++) {
+          allowed[i] = childColours.containsAll(graph.edges[i].colours());
+        }
+
+        int[] component = IndexedSccDecomposition.components(
+            graph.offsets, graph.targets, i -> allowed[i]);
 
-        for (Set<S> childScc
-            : SccDecomposition.of(edges.keySet(), successorFunction).sccsWithoutTransient()) {
-          Map<S, Set<Edge<S>>> childEdges = new HashMap<>(edges.size());
+        List<Map<S, Set<Edge<S>>>> childEdgesList = new ArrayList<>();
+        int[] componentToChild = new int[graph.states.size()];
+        Arrays.fill(componentToChild, -1);
 
-          for (S childSccState : childScc) {
-            var newFilteredEdges = new ArrayList<>(edges.get(childSccState).size());
+        for (int state = 0; state < graph.states.size(); state++) {
+          List<Edge<S>> internalEdges = new ArrayList<>();
 
-            for (Edge<S> edge : edges.get(childSccState)) {
-              if (childScc.contains(edge.successor()) && childColours.containsAll(edge.colours())) {
-                newFilteredEdges.add(edge);
-              }
+          for (int i = graph.offsets[state]; i < graph.offsets[state + 1]; i++) {
+            if (allowed[i] && component[graph.targets[i]] == component[state]) {
+              internalEdges.add(graph.edges[i]);
             }
+          }
+
+          // States without internal edges form transient SCCs.
+          if (internalEdges.isEmpty()) {
+            continue;
+          }
 
-            assert !newFilteredEdges.isEmpty();
-            @SuppressWarnings({"unchecked", "unused"})
-            var unused
-                = childEdges.put(childSccState, Set.of(newFilteredEdges.toArray(Edge[]::new)));
+          if (componentToChild[component[state]] < 0) {
+            componentToChild[component[state]] = childEdgesList.size();
+            childEdgesList.add(new HashMap<>());
           }
 
-          childEdges = Map.copyOf(childEdges);
+          childEdgesList.get(componentToChild[component[state]])
+              .put(graph.states.get(state), Set.copyOf(internalEdges));
+        }
+
+        for (Map<S, Set<Edge<S>>> mutableChildEdges : childEdgesList) {
+          var childEdges = Map.copyOf(mutableChildEdges);
           assert isClosed(childEdges);
 
           var coloursOfChildScc = ImmutableBitSet.of();
@@ -671,7 +719,7 @@ public final class ZielonkaTreeTransformations {
 
           if (alpha.booleanExpression().evaluate(coloursOfChildScc)
               == alpha.booleanExpression().evaluate(childColours)) {
-            children.add(Pair.of(coloursOfChildScc, Map.copyOf(childEdges)));
+            children.add(Pair.of(coloursOfChildScc, childEdges));
           } else {
             children.addAll(childrenOf(alpha, coloursOfChildScc, childEdges, cache));
           }
@@ -696,6 +744,39 @@ public final class ZielonkaTreeTransformations {
       return true;
     }
 
+    private static final class IndexedEdges<S> {
+      private final List<S> states;
+      private final int[] offsets;
+      private final int[] targets;
+      private final Edge<S>[] edges;
+
+      @SuppressWarnings("unchecked")
+      private IndexedEdges(Map<S, Set<Edge<S>>> edgeMap) {
+        states = List.copyOf(edgeMap.keySet());
+        offsets = new int[states.size() + 1];
+
+        Map<S, Integer> index = new HashMap<>(states.size());
+
+        for (int i = 0; i < states.size(); i++) {
+          index.put(states.get(i), i);
+          offsets[i + 1] = offsets[i] + edgeMap.get(states.get(i)).size();
+        }
+
+        targets = new int[offsets[states.size()]];
+        edges = new Edge[targets.length];
+
+        for (int i = 0; i < states.size(); i++) {
+          int j = offsets[i];
+
+          for (Edge<S> edge : edgeMap.get(states.get(i))) {
+            targets[j] = index.get(edge.successor());
+            edges[j] = edge;
+            j++;
+          }
+        }
+      }
+    }
+
     public AlternatingCycleDecomposition<S> restriction(S state) {
       var qChildren = new ArrayList<>(children());
       qChildren.removeIf(x -> !x.edges().containsKey(state));
@@ -792,13 +873,14 @@ public final class ZielonkaTreeTransformations {
         PropositionalFormula<Integer> alpha,
         PropositionalFormula<Integer> beta) {
 
-      return of(ImmutableBitSet.copyOf(alpha.variables()), alpha, beta, new HashMap<>());
+      return of(ImmutableBitSet.copyOf(alpha.variables()), alpha,
+          new MaximalModelSolver(alpha, beta), new HashMap<>());
     }
 
     private static ConditionalZielonkaTree of(
         ImmutableBitSet colours,
         PropositionalFormula<Integer> alpha,
-        PropositionalFormula<Integer> beta,
+        MaximalModelSolver solver,
         Map<ImmutableBitSet, ConditionalZielonkaTree> cache) {
 
       var zielonkaTree = cache.get(colours);
@@ -808,22 +890,15 @@ public final class ZielonkaTreeTransformations {
       }
 
       // Invert acceptance condition (alpha) in order to obtain alternation in tree.
-      // Sort colour sets lexicographically. This ensures that we always compute
-      // the same Zielonka tree for a given acceptance condition.
-      var maximalModels = Solver.DEFAULT_MAXIMAL_MODELS.maximalModels(
-              Conjunction.of(
-                  alpha.evaluate(colours) ? PropositionalFormula.Negation.of(alpha) : alpha, beta),
-              colours)
-          .stream()
-          .map(ImmutableBitSet::copyOf)
-          .sorted()
-          .toArray(ImmutableBitSet[]::new);
+      // The solver returns the colour sets sorted lexicographically. This ensures that we always
+      // compute the same Zielonka tree for a given acceptance condition.
+      var maximalModels = solver.maximalModels(colours, !alpha.evaluate(colours));
 
       var children = new ArrayList<ConditionalZielonkaTree>();
       int height = 0;
 
       for (ImmutableBitSet childColours : maximalModels) {
-        var child = of(childColours, alpha, beta, cache);
+        var child = of(childColours, alpha, solver, cache);
         height = Math.max(height, child.height() + 1);
         children.add(child);
       }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.algorithm;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Decomposition into strongly connected components (SCCs) of graphs over the vertices
+ * {@code 0, ..., n - 1}. The edges are given in compressed sparse row format: the edges of vertex
+ * {@code v} are the indices {@code offsets[v], ..., offsets[v + 1] - 1} of {@code targets}.
+ *
+ * <p>In contrast to {@link SccDecomposition} no objects are allocated per vertex or edge, which
+ * makes this class suitable for large product graphs and for repeated decompositions of
+ * subgraphs.</p>
+ */
+public final class IndexedSccDecomposition {
+
+  private IndexedSccDecomposition() {}
+
+  /**
+   * Compute the SCCs of the subgraph consisting of all edges satisfying the filter.
+   *
+   * @param offsets the edge offsets of the vertices. The length is the number of vertices plus one.
+   * @param targets the targets of the edges.
+   * @param edgeFilter a predicate on the edge indices.
+   * @return an array mapping each vertex to the index of its SCC. SCCs are numbered in the order
+   *     they are completed by Tarjan's algorithm, i.e., the SCCs reachable from an SCC have
+   *     smaller indices.
+   */
+  public static int[] components(int[] offsets, int[] targets, IntPredicate edgeFilter) {
+    checkArgument(offsets.length > 0);
+
+    int vertices = offsets.length - 1;
+    int[] component = new int[vertices];
+    int[] dfsIndex = new int[vertices];
+    int[] lowLink = new int[vertices];
+    int[] edgeIndex = new int[vertices];
+    int[] stack = new int[vertices];
+    int[] callStack = new int[vertices];
+    Arrays.fill(component, -1);
+    Arrays.fill(dfsIndex, -1);
+
+    int index = 0;
+    int stackSize = 0;
+    int components = 0;
+
+    for (int root = 0; root < vertices; root++) {
+      if (dfsIndex[root] >= 0) {
+        continue;
+      }
+
+      int callStackSize = 0;
+      callStack[callStackSize++] = root;
+      dfsIndex[root] = index;
+      lowLink[root] = index;
+      index++;
+      stack[stackSize++] = root;
+      edgeIndex[root] = offsets[root];
+
+      while (callStackSize > 0) {
+        int vertex = callStack[callStackSize - 1];
+
+        if (edgeIndex[vertex] < offsets[vertex + 1]) {
+          int edge = edgeIndex[vertex]++;
+
+          if (!edgeFilter.test(edge)) {
+            continue;
+          }
+
+          int successor = targets[edge];
+
+          if (dfsIndex[successor] < 0) {
+            dfsIndex[successor] = index;
+            lowLink[successor] = index;
+            index++;
+            stack[stackSize++] = successor;
+            edgeIndex[successor] = offsets[successor];
+            callStack[callStackSize++] = successor;
+          } else if (component[successor] < 0) {
+            // The successor is visited, but not yet assigned to an SCC. Thus it is on the stack.
+            lowLink[vertex] = Math.min(lowLink[vertex], dfsIndex[successor]);
+          }
+
+          continue;
+        }
+
+        callStackSize--;
+
+        if (callStackSize > 0) {
+          int parent = callStack[callStackSize - 1];
+          lowLink[parent] = Math.min(lowLink[parent], lowLink[vertex]);
+        }
+
+        if (lowLink[vertex] == dfsIndex[vertex]) {
+          int member;
+
+          do {
+            member = stack[--stackSize];
+            component[member] = components;
+          } while (member != vertex);
+
+          components++;
+        }
+      }
+    }
+
+    return component;
+  }
+}
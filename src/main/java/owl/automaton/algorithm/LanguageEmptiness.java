@@ -19,8 +19,13 @@
 
 package owl.automaton.algorithm;
 
+import java.util.ArrayDeque;
 import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.IntConsumer;
 import java.util.function.Predicate;
@@ -38,6 +43,8 @@ import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.acceptance.RabinAcceptance;
 import owl.automaton.acceptance.transformer.ZielonkaTreeTransformations;
 import owl.automaton.edge.Edge;
+import owl.collections.ImmutableBitSet;
+import owl.collections.Pair;
 
 public final class LanguageEmptiness {
   private LanguageEmptiness() {}
@@ -182,32 +189,93 @@ public final class LanguageEmptiness {
       return hasAcceptingLasso(automaton, initialState, 0, -1, false);
     }
 
+    /**
+     * On-the-fly emptiness check based on Couvreur's algorithm. The automaton is explored by a
+     * depth-first search that maintains the roots of the SCCs on the search stack together with
+     * the acceptance sets visited within them. The search stops as soon as a cycle is closed that
+     * visits all acceptance sets, and thus explores only the part of the automaton that is needed
+     * to find an accepting lasso.
+     */
     private static <S> boolean containsAcceptingScc(
       Automaton<S, ? extends GeneralizedBuchiAcceptance> automaton, Set<S> initialStates) {
-      Predicate<Set<S>> acceptingScc = scc -> {
-        BitSet remaining = new BitSet(automaton.acceptance().acceptanceSets());
-        remaining.set(0, automaton.acceptance().acceptanceSets());
 
-        for (S state : scc) {
-          for (Edge<S> successorEdge : automaton.edges(state)) {
-            if (!scc.contains(successorEdge.successor())) {
-              continue;
-            }
+      int acceptanceSets = automaton.acceptance().acceptanceSets();
+
+      // Search number of every visited state; 0 marks states of completed SCCs.
+      Map<S, Integer> index = new HashMap<>();
+      Deque<S> activeStates = new ArrayDeque<>();
+      Deque<Root> roots = new ArrayDeque<>();
+      Deque<Pair<S, Iterator<Edge<S>>>> path = new ArrayDeque<>();
+
+      for (S initialState : initialStates) {
+        if (index.containsKey(initialState)) {
+          continue;
+        }
+
+        push(automaton, initialState, ImmutableBitSet.of(), index, activeStates, roots, path);
+
+        while (!path.isEmpty()) {
+          var top = path.peek();
+          var edges = top.snd();
+
+          if (edges.hasNext()) {
+            var edge = edges.next();
+            S successor = edge.successor();
+            Integer successorIndex = index.get(successor);
+
+            if (successorIndex == null) {
+              push(automaton, successor, edge.colours(), index, activeStates, roots, path);
+            } else if (successorIndex > 0) {
+              // The edge closes a cycle: merge all SCCs on the cycle.
+              BitSet colours = edge.colours().copyInto(new BitSet());
+              Root root = roots.pop();
+
+              while (root.index() > successorIndex) {
+                root.colours().copyInto(colours);
+                root.incomingColours().copyInto(colours);
+                root = roots.pop();
+              }
 
-            successorEdge.colours().forEach((IntConsumer) remaining::clear);
+              root.colours().copyInto(colours);
+              roots.push(new Root(root.index(), ImmutableBitSet.copyOf(colours),
+                root.incomingColours()));
 
-            if (remaining.isEmpty()) {
-              return true;
+              if (colours.nextClearBit(0) >= acceptanceSets) {
+                return true;
+              }
+            }
+          } else {
+            path.pop();
+            S state = top.fst();
+
+            if (roots.peek().index() == index.get(state)) {
+              roots.pop();
+              S removedState;
+
+              do {
+                removedState = activeStates.pop();
+                index.put(removedState, 0);
+              } while (!removedState.equals(state));
             }
           }
         }
+      }
 
-        return false;
-      };
+      return false;
+    }
 
-      return SccDecomposition.of(initialStates, automaton::successors)
-        .anyMatch(acceptingScc);
+    private static <S> void push(Automaton<S, ?> automaton, S state,
+      ImmutableBitSet incomingColours, Map<S, Integer> index, Deque<S> activeStates,
+      Deque<Root> roots, Deque<Pair<S, Iterator<Edge<S>>>> path) {
+
+      int stateIndex = index.size() + 1;
+      index.put(state, stateIndex);
+      activeStates.push(state);
+      roots.push(new Root(stateIndex, ImmutableBitSet.of(), incomingColours));
+      path.push(Pair.of(state, automaton.edges(state).iterator()));
     }
+
+    private record Root(int index, ImmutableBitSet colours, ImmutableBitSet incomingColours) {}
   }
 
   private static final class Parity {
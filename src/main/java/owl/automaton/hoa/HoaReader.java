@@ -40,6 +40,7 @@ import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import owl.automaton.AbstractMemoizingAutomaton;
 import owl.automaton.Automaton;
+import owl.automaton.CompactIntAutomaton;
 import owl.automaton.acceptance.AllAcceptance;
 import owl.automaton.acceptance.BuchiAcceptance;
 import owl.automaton.acceptance.CoBuchiAcceptance;
@@ -51,6 +52,7 @@ import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.acceptance.ParityAcceptance.Parity;
 import owl.automaton.acceptance.RabinAcceptance;
 import owl.automaton.edge.Edge;
+import owl.bdd.BddSet;
 import owl.bdd.BddSetFactory;
 import owl.bdd.FactorySupplier;
 import owl.bdd.MtBdd;
@@ -69,6 +71,8 @@ import owl.thirdparty.jhoafparser.transformations.ToTransitionAcceptance;
 
 public final class HoaReader {
 
+  private static final int COMPACT_REPRESENTATION_THRESHOLD = 4096;
+
   private HoaReader() {}
 
   public static void readStream(
@@ -227,7 +231,7 @@ public final class HoaReader {
     }
   }
 
-  private static AbstractMemoizingAutomaton<Integer, ?> transform(
+  private static Automaton<Integer, ?> transform(
     StoredAutomaton storedAutomaton,
     Supplier<BddSetFactory> factorySupplier,
     @Nullable List<String> predefinedAtomicPropositions) throws HOAConsumerException {
@@ -268,9 +272,20 @@ public final class HoaReader {
       initialStates.add(Iterables.getOnlyElement(startState));
     }
 
+    var acceptance = acceptance(storedHeader);
     var automaton = new StoredAutomatonConverter(remapping,
       remapping == null ? atomicPropositions : predefinedAtomicPropositions,
-      vsFactory, initialStates, acceptance(storedHeader), storedAutomaton);
+      vsFactory, initialStates, acceptance, storedAutomaton);
+
+    // Store large automata in a compact representation that is built directly from the stored
+    // automaton. Small automata are kept as they are, since the memoized edge trees are faster to
+    // query.
+    if (storedAutomaton.getNumberOfStates() >= COMPACT_REPRESENTATION_THRESHOLD
+      && CompactIntAutomaton.isSupported(acceptance)) {
+
+      return CompactIntAutomaton.of(automaton.atomicPropositions(), vsFactory, initialStates,
+        acceptance, automaton::storedEdgeMap);
+    }
 
     automaton.states();
     assert automaton.storedAutomaton == null;
@@ -307,6 +322,15 @@ public final class HoaReader {
 
     @Override
     protected MtBdd<Edge<Integer>> edgeTreeImpl(Integer state) {
+      return MtBdd.of(storedEdges(state));
+    }
+
+    // The edge tree is only used to construct the labels and is not memoized.
+    private Map<Edge<Integer>, BddSet> storedEdgeMap(int state) {
+      return edgeTreeImpl(state).inverse(factory);
+    }
+
+    private Map<Edge<Integer>, PropositionalFormula<Integer>> storedEdges(int state) {
       var storedState = storedAutomaton.getStoredState(state);
 
       assert state == storedState.getStateId();
@@ -318,7 +342,7 @@ public final class HoaReader {
       Iterable<StoredEdgeWithLabel> edges = storedAutomaton.getEdgesWithLabel(state);
 
       if (edges == null) {
-        return MtBdd.of();
+        return edgeMap;
       }
 
       int acceptanceSets = acceptance.acceptanceSets();
@@ -335,7 +359,7 @@ public final class HoaReader {
           : Disjunction.of(value, resolveAndRemap(edgeWithLabel.getLabelExpr())));
       }
 
-      return MtBdd.of(edgeMap);
+      return edgeMap;
     }
 
     @Override
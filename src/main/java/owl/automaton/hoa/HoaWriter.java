@@ -23,16 +23,13 @@ import java.io.StringWriter;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Deque;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 import javax.annotation.Nullable;
 import owl.automaton.Automaton;
 import owl.automaton.edge.Edge;
 import owl.bdd.BddSet;
+import owl.collections.Numbering;
 import owl.thirdparty.jhoafparser.ast.AtomLabel;
 import owl.thirdparty.jhoafparser.consumer.HOAConsumer;
 import owl.thirdparty.jhoafparser.consumer.HOAConsumerException;
@@ -90,7 +87,7 @@ public final class HoaWriter {
     var numbering = new Numbering<S>();
 
     for (S state : automaton.initialStates()) {
-      consumer.addStartStates(List.of(numbering.get(state)));
+      consumer.addStartStates(List.of(numbering.lookup(state)));
     }
 
     var acceptance = automaton.acceptance();
@@ -117,13 +114,13 @@ public final class HoaWriter {
     consumer.notifyBodyStart();
 
     // Use a work-list algorithm in case source is an on-the-fly generated automaton and
-    // to ensure that initial states appear at the top.
+    // to ensure that initial states appear at the top. A state has been visited iff it has been
+    // assigned a number.
     Deque<S> workList = new ArrayDeque<>(automaton.initialStates());
-    Set<S> visited = new HashSet<>(workList);
 
     while (!workList.isEmpty()) {
       S state = workList.remove();
-      int stateId = numbering.get(state);
+      int stateId = numbering.lookup(state);
 
       @Nullable
       String label = stateLabels ? state.toString() : null;
@@ -138,13 +135,16 @@ public final class HoaWriter {
           continue;
         }
 
-        if (visited.add(successor)) {
+        int numberedStates = numbering.size();
+        int successorId = numbering.lookup(successor);
+
+        if (successorId == numberedStates) {
           workList.add(successor);
         }
 
         consumer.addEdgeWithLabel(stateId,
           valuationSet.toExpression().map(AtomLabel::createAPIndex),
-          List.of(numbering.get(edge.successor())),
+          List.of(successorId),
           edge.colours());
       }
 
@@ -154,14 +154,6 @@ public final class HoaWriter {
     consumer.notifyEnd();
   }
 
-  static final class Numbering<S> {
-    private final Map<S, Integer> stateNumbers = new HashMap<>();
-
-    private int get(S state) {
-      return stateNumbers.computeIfAbsent(Objects.requireNonNull(state), k -> stateNumbers.size());
-    }
-  }
-
   public static class UncheckedHoaConsumerException extends RuntimeException {
     public UncheckedHoaConsumerException(HOAConsumerException cause) {
       super(cause);
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.minimization;
+
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import owl.automaton.Automaton;
+import owl.automaton.HashMapAutomaton;
+import owl.automaton.MutableAutomaton;
+import owl.automaton.acceptance.EmersonLeiAcceptance;
+import owl.bdd.BddSet;
+import owl.bdd.MtBdd;
+import owl.collections.ImmutableBitSet;
+import owl.collections.Pair;
+
+/**
+ * This class implements the quotient of an automaton by its coarsest colour-respecting
+ * bisimulation. Two states are bisimilar if for every valuation their edges carry the same
+ * colours and lead to bisimilar states. Merging bisimilar states preserves the language and
+ * determinism, and it does not change the acceptance condition.
+ *
+ * <p>For automata with at most one edge per state and valuation the partition is computed by
+ * Hopcroft's algorithm. A block of the partition is used as splitter: the states with edges into
+ * the splitter are grouped by the colours and valuations of these edges. If a block is split, all
+ * parts except the largest become splitters. Thus a state is part of at most log(n) splitters and
+ * each edge is inspected O(log(n)) times. Since edges are labelled by {@link BddSet}s, the cost
+ * is independent of the size of the alphabet.
+ *
+ * <p>Other automata are refined by iterated signature refinement. In each round, the signature of
+ * a state is its edge tree in which each successor is replaced by its current block.
+ */
+public final class BisimulationMinimization {
+
+  private BisimulationMinimization() {}
+
+  /**
+   * Compute the quotient of the automaton by its coarsest colour-respecting bisimulation.
+   *
+   * @param automaton the automaton.
+   * @param <S> the state type.
+   * @param <A> the acceptance condition type.
+   * @return the quotient automaton. Each block is represented by one of its states.
+   */
+  public static <S, A extends EmersonLeiAcceptance> Automaton<S, A> minimize(
+      Automaton<S, A> automaton) {
+
+    var mutableAutomaton = HashMapAutomaton.copyOf(automaton);
+    mergeBisimilarStates(mutableAutomaton);
+    return mutableAutomaton;
+  }
+
+  /**
+   * Merge all bisimilar states of the automaton in place.
+   *
+   * @param automaton the automaton.
+   * @param <S> the state type.
+   */
+  public static <S> void mergeBisimilarStates(MutableAutomaton<S, ?> automaton) {
+    List<S> states = List.copyOf(automaton.states());
+    Map<S, Integer> blocks = automaton.is(Automaton.Property.SEMI_DETERMINISTIC)
+        ? refineBySplitters(automaton, states)
+        : refineBySignatures(automaton, states);
+
+    if (Set.copyOf(blocks.values()).size() == states.size()) {
+      return;
+    }
+
+    // Prefer initial states as representatives.
+    Map<Integer, S> representatives = new HashMap<>();
+    automaton.initialStates().forEach(
+        state -> representatives.putIfAbsent(blocks.get(state), state));
+    states.forEach(state -> representatives.putIfAbsent(blocks.get(state), state));
+    Set<S> representativeStates = new HashSet<>(representatives.values());
+    Set<S> initialStates = automaton.initialStates().stream()
+        .map(state -> representatives.get(blocks.get(state)))
+        .collect(toUnmodifiableSet());
+
+    automaton.updateEdges((state, edge) ->
+        edge.withSuccessor(representatives.get(blocks.get(edge.successor()))));
+    automaton.initialStates(initialStates);
+    automaton.removeStateIf(state -> !representativeStates.contains(state));
+    automaton.trim();
+  }
+
+  private static <S> Map<S, Integer> refineBySplitters(
+      Automaton<S, ?> automaton, List<S> states) {
+
+    Map<S, Integer> indices = new HashMap<>();
+
+    for (int i = 0; i < states.size(); i++) {
+      indices.put(states.get(i), i);
+    }
+
+    List<List<Transition>> incomingTransitions = new ArrayList<>(states.size());
+
+    for (int i = 0; i < states.size(); i++) {
+      incomingTransitions.add(new ArrayList<>());
+    }
+
+    for (int i = 0; i < states.size(); i++) {
+      int source = i;
+      automaton.edgeMap(states.get(i)).forEach((edge, valuations) ->
+          incomingTransitions.get(indices.get(edge.successor()))
+              .add(new Transition(source, edge.colours(), valuations)));
+    }
+
+    int[] blockOf = new int[states.size()];
+    List<Set<Integer>> blocks = new ArrayList<>();
+    Deque<Integer> splitters = new ArrayDeque<>();
+
+    if (!states.isEmpty()) {
+      Set<Integer> block = new HashSet<>();
+
+      for (int i = 0; i < states.size(); i++) {
+        block.add(i);
+      }
+
+      blocks.add(block);
+      splitters.add(0);
+    }
+
+    while (!splitters.isEmpty()) {
+      int splitter = splitters.remove();
+
+      // For each block, the touched states and the colours and valuations of their transitions
+      // into the splitter.
+      Map<Integer, Map<Integer, Map<ImmutableBitSet, BddSet>>> touchedBlocks = new HashMap<>();
+
+      for (int successor : List.copyOf(blocks.get(splitter))) {
+        for (Transition transition : incomingTransitions.get(successor)) {
+          touchedBlocks
+              .computeIfAbsent(blockOf[transition.source()], x -> new HashMap<>())
+              .computeIfAbsent(transition.source(), x -> new HashMap<>())
+              .merge(transition.colours(), transition.valuations(), BddSet::union);
+        }
+      }
+
+      touchedBlocks.forEach((block, touchedStates) -> {
+        for (Set<Integer> part : split(blocks.get(block), touchedStates)) {
+          int newBlock = blocks.size();
+          blocks.get(block).removeAll(part);
+          blocks.add(part);
+          part.forEach(state -> blockOf[state] = newBlock);
+
+          // The block is either a splitter or the partition is stable with respect to it. In
+          // both cases it suffices to add the new blocks, since the largest part is retained.
+          splitters.add(newBlock);
+        }
+      });
+    }
+
+    Map<S, Integer> blockMap = new HashMap<>();
+
+    for (int i = 0; i < states.size(); i++) {
+      blockMap.put(states.get(i), blockOf[i]);
+    }
+
+    return blockMap;
+  }
+
+  // Returns the parts that are split off the block. The largest part remains in the block.
+  private static List<Set<Integer>> split(
+      Set<Integer> block, Map<Integer, Map<ImmutableBitSet, BddSet>> touchedStates) {
+
+    Map<Map<ImmutableBitSet, BddSet>, Set<Integer>> parts = new HashMap<>();
+    touchedStates.forEach((state, signature) ->
+        parts.computeIfAbsent(signature, x -> new HashSet<>()).add(state));
+
+    int untouchedStates = block.size() - touchedStates.size();
+
+    if (parts.size() + (untouchedStates > 0 ? 1 : 0) <= 1) {
+      return List.of();
+    }
+
+    Set<Integer> largestPart = parts.values().stream()
+        .max((part1, part2) -> Integer.compare(part1.size(), part2.size()))
+        .orElseThrow();
+
+    if (untouchedStates >= largestPart.size()) {
+      return List.copyOf(parts.values());
+    }
+
+    // The untouched states are fewer than the touched states, hence collecting them is cheap.
+    List<Set<Integer>> splitParts = new ArrayList<>();
+
+    if (untouchedStates > 0) {
+      Set<Integer> untouchedPart = new HashSet<>(block);
+      untouchedPart.removeAll(touchedStates.keySet());
+      splitParts.add(untouchedPart);
+    }
+
+    parts.values().stream().filter(part -> part != largestPart).forEach(splitParts::add);
+    return splitParts;
+  }
+
+  private static <S> Map<S, Integer> refineBySignatures(
+      Automaton<S, ?> automaton, List<S> states) {
+
+    Map<S, Integer> blocks = new HashMap<>();
+    states.forEach(state -> blocks.put(state, 0));
+    int blockCount = states.isEmpty() ? 0 : 1;
+
+    while (true) {
+      var refinedBlocks = refine(automaton, states, blocks);
+      int refinedBlockCount = Set.copyOf(refinedBlocks.values()).size();
+
+      // Blocks are only split, thus the partition is stable if the number of blocks is unchanged.
+      if (refinedBlockCount == blockCount) {
+        return blocks;
+      }
+
+      blocks.putAll(refinedBlocks);
+      blockCount = refinedBlockCount;
+    }
+  }
+
+  private static <S> Map<S, Integer> refine(
+      Automaton<S, ?> automaton, List<S> states, Map<S, Integer> blocks) {
+
+    Map<Pair<Integer, MtBdd<Pair<Integer, ImmutableBitSet>>>, Integer> signatures
+        = new HashMap<>();
+    Map<S, Integer> refinedBlocks = new HashMap<>();
+
+    for (S state : states) {
+      var signature = automaton.edgeTree(state).map(edges -> edges.stream()
+          .map(edge -> Pair.of(blocks.get(edge.successor()), edge.colours()))
+          .collect(toUnmodifiableSet()));
+
+      refinedBlocks.put(state, signatures.computeIfAbsent(
+          Pair.of(blocks.get(state), signature), x -> signatures.size()));
+    }
+
+    return refinedBlocks;
+  }
+
+  private record Transition(int source, ImmutableBitSet colours, BddSet valuations) {}
+}
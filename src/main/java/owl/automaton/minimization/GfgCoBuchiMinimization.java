@@ -21,10 +21,12 @@ package owl.automaton.minimization;
 
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import owl.automaton.AbstractMemoizingAutomaton;
@@ -32,18 +34,23 @@ import owl.automaton.Automaton;
 import owl.automaton.EmptyAutomaton;
 import owl.automaton.HashMapAutomaton;
 import owl.automaton.MutableAutomaton;
-import owl.automaton.Views;
-import owl.automaton.acceptance.AllAcceptance;
 import owl.automaton.acceptance.CoBuchiAcceptance;
+import owl.automaton.algorithm.IndexedSccDecomposition;
 import owl.automaton.algorithm.LanguageContainment;
 import owl.automaton.algorithm.SccDecomposition;
 import owl.automaton.edge.Edge;
 import owl.automaton.hoa.HoaWriter;
 import owl.bdd.MtBdd;
+import owl.bdd.MtBddOperations;
 import owl.collections.Collections3;
+import owl.collections.Numbering;
 
 /**
  * This class implements [ICALP'19] minimization of GFG automata.
+ *
+ * <p>Language equivalence and containment of the safe languages are computed by a backward
+ * fixpoint on the part of the product of the automaton with itself that is reachable from the
+ * queried pairs of states.
  */
 public final class GfgCoBuchiMinimization {
 
@@ -55,19 +62,30 @@ public final class GfgCoBuchiMinimization {
     Preconditions.checkArgument(dcw.is(Automaton.Property.DETERMINISTIC));
 
     var dcwCopy = HashMapAutomaton.copyOf(dcw);
-    var safeComponents = safeComponents(dcwCopy);
+    var safeComponents = SccDecomposition.of(
+      dcwCopy.states(),
+      state -> dcwCopy.edges(state).stream()
+        .filter(edge -> !edge.colours().contains(0))
+        .map(Edge::successor)
+        .collect(Collectors.toSet()));
 
     if (dcwCopy.initialStates().isEmpty()) {
       return EmptyAutomaton.of(dcw.atomicPropositions(), CoBuchiAcceptance.INSTANCE);
     }
 
-    normalize(dcwCopy, safeComponents);
+    normalize(dcwCopy, safeComponents.indexMap());
     assert LanguageContainment.equalsCoBuchi(dcw, dcwCopy);
 
-    var safeCentralized = HashMapAutomaton.copyOf(safeCentralize(dcwCopy, safeComponents));
+    // Safe-centralization only redirects rejecting edges to language-equivalent states and thus
+    // the languages and safe languages of all states are preserved. Hence the relations
+    // computed for the normalized automaton are also valid for the safe-centralized automaton.
+    var relations = new StateRelations<>(dcwCopy);
+
+    var safeCentralized = HashMapAutomaton.copyOf(
+      safeCentralize(dcwCopy, safeComponents.sccs(), relations));
     assert LanguageContainment.equalsCoBuchi(dcwCopy, safeCentralized);
 
-    var safeMinimized = HashMapAutomaton.copyOf(safeMinimize(safeCentralized));
+    var safeMinimized = HashMapAutomaton.copyOf(safeMinimize(safeCentralized, relations));
     assert LanguageContainment.equalsCoBuchi(safeCentralized, safeMinimized)
       : "before: " + HoaWriter.toString(safeCentralized)
        + "\nafter: " + HoaWriter.toString(safeMinimized);
@@ -75,21 +93,11 @@ public final class GfgCoBuchiMinimization {
     return safeMinimized;
   }
 
-  private static <S> List<Set<S>> safeComponents(Automaton<S, ? extends CoBuchiAcceptance> ncw) {
-    return SccDecomposition.of(
-      ncw.states(),
-      state -> ncw.edges(state).stream()
-        .filter(edge -> !edge.colours().contains(0))
-        .map(Edge::successor)
-        .collect(Collectors.toSet()))
-      .sccs();
-  }
-
-  private static <S> void normalize(MutableAutomaton<S, ? extends CoBuchiAcceptance> ncw,
-    List<Set<S>> safeComponents) {
+  static <S> void normalize(MutableAutomaton<S, ? extends CoBuchiAcceptance> ncw,
+    Map<S, Integer> componentIds) {
 
     ncw.updateEdges((state, edge) -> {
-      if (componentId(state, safeComponents) == componentId(edge.successor(), safeComponents)) {
+      if (componentIds.get(state).equals(componentIds.get(edge.successor()))) {
         return edge;
       } else {
         return edge.withAcceptance(0);
@@ -99,53 +107,16 @@ public final class GfgCoBuchiMinimization {
     ncw.trim();
   }
 
-  private static <S> boolean languageEquivalent(
-    Automaton<S, ? extends CoBuchiAcceptance> ncw, S q, S p) {
-
-    return LanguageContainment.equalsCoBuchi(
-      Views.replaceInitialStates(ncw, Set.of(q)),
-      Views.replaceInitialStates(ncw, Set.of(p)));
-  }
-
-  private static <S> Automaton<S, AllAcceptance>
-    safeView(Automaton<S, ? extends CoBuchiAcceptance> ncw, S q) {
-
-    return new AbstractMemoizingAutomaton.EdgeTreeImplementation<>(
-      ncw.atomicPropositions(), ncw.factory(), Set.of(q), AllAcceptance.INSTANCE) {
-
-      @Override
-      public MtBdd<Edge<S>> edgeTreeImpl(S state) {
-        return ncw.edgeTree(state).map(edges -> {
-          var edgesCopy = new HashSet<>(edges);
-          edgesCopy.removeIf(sEdge -> !sEdge.colours().isEmpty());
-          return edgesCopy;
-        });
-      }
-    };
-  }
-
-  private static <S> boolean subsafeEquivalent(
-    Automaton<S, ? extends CoBuchiAcceptance> ncw, S q, S p) {
-
-    return languageEquivalent(ncw, q, p)
-      && LanguageContainment.containsAll(safeView(ncw, q), safeView(ncw, p));
-  }
-
-  private static <S> boolean stronglyEquivalent(
-    Automaton<S, ? extends CoBuchiAcceptance> ncw, S q, S p) {
-
-    return languageEquivalent(ncw, q, p)
-      && LanguageContainment.equalsAll(safeView(ncw, q), safeView(ncw, p));
-  }
-
   private static <S> Automaton<S, CoBuchiAcceptance> safeCentralize(
-    Automaton<S, ? extends CoBuchiAcceptance> ncw, List<Set<S>> safeComponents) {
+    Automaton<S, ? extends CoBuchiAcceptance> ncw,
+    List<Set<S>> safeComponents,
+    StateRelations<S> relations) {
 
     var frontier = Collections3.maximalElements(safeComponents, (component1, component2) -> {
       S representative1 = component1.iterator().next();
 
       for (S representative2 : component2) {
-        if (subsafeEquivalent(ncw, representative1, representative2)) {
+        if (relations.subsafeEquivalent(representative1, representative2)) {
           return true;
         }
       }
@@ -166,7 +137,7 @@ public final class GfgCoBuchiMinimization {
       outer:
       for (Set<S> safeComponent : frontier) {
         for (S state : safeComponent) {
-          if (subsafeEquivalent(ncw, ncw.initialState(), state)) {
+          if (relations.subsafeEquivalent(ncw.initialState(), state)) {
             initialState = state;
             break outer;
           }
@@ -199,7 +170,7 @@ public final class GfgCoBuchiMinimization {
           for (S rejectingSuccessor : rejectingSuccessors) {
             for (Set<S> safeComponent : frontier) {
               for (S safeSuccessor : safeComponent) {
-                if (subsafeEquivalent(ncw, rejectingSuccessor, safeSuccessor)) {
+                if (relations.subsafeEquivalent(rejectingSuccessor, safeSuccessor)) {
                   rejectingEdges.add(Edge.of(safeSuccessor, 0));
                 }
               }
@@ -215,7 +186,7 @@ public final class GfgCoBuchiMinimization {
   }
 
   private static <S> Automaton<Set<S>, CoBuchiAcceptance>
-    safeMinimize(Automaton<S, ? extends CoBuchiAcceptance> ncw) {
+    safeMinimize(Automaton<S, ? extends CoBuchiAcceptance> ncw, StateRelations<S> relations) {
 
     List<Set<S>> equivalenceClasses = new ArrayList<>();
 
@@ -225,7 +196,7 @@ public final class GfgCoBuchiMinimization {
       for (Set<S> equivalenceClass : equivalenceClasses) {
         var representative = equivalenceClass.iterator().next();
 
-        if (stronglyEquivalent(ncw, state, representative)) {
+        if (relations.stronglyEquivalent(state, representative)) {
           equivalenceClass.add(state);
           continue outer;
         }
@@ -235,12 +206,16 @@ public final class GfgCoBuchiMinimization {
       equivalenceClasses.add(new HashSet<>(Set.of(state)));
     }
 
-    List<Set<S>> immutableEquivalenceClass = equivalenceClasses.stream()
-      .map(Set::copyOf)
-      .toList();
+    Map<S, Set<S>> equivalenceClassMap = new HashMap<>();
+
+    for (Set<S> equivalenceClass : equivalenceClasses) {
+      var immutableEquivalenceClass = Set.copyOf(equivalenceClass);
+      immutableEquivalenceClass.forEach(
+        state -> equivalenceClassMap.put(state, immutableEquivalenceClass));
+    }
 
-    Set<Set<S>> initialStates = immutableEquivalenceClass.stream()
-      .filter(x -> !Collections.disjoint(x, ncw.initialStates()))
+    Set<Set<S>> initialStates = ncw.initialStates().stream()
+      .map(equivalenceClassMap::get)
       .collect(Collectors.toUnmodifiableSet());
 
     return new AbstractMemoizingAutomaton.EdgesImplementation<>(
@@ -257,8 +232,6 @@ public final class GfgCoBuchiMinimization {
           var type = EdgeType.UNKNOWN;
 
           for (Edge<S> edge : ncw.edges(representative, valuation)) {
-            var successorRepresentative = edge.successor();
-
             if (edge.colours().contains(0)) {
               assert type == EdgeType.UNKNOWN || type == EdgeType.REJECTING;
               type = EdgeType.REJECTING;
@@ -267,8 +240,7 @@ public final class GfgCoBuchiMinimization {
               type = EdgeType.ACCEPTING;
             }
 
-            var successor
-              = findEquivalenceClass(immutableEquivalenceClass, successorRepresentative);
+            var successor = equivalenceClassMap.get(edge.successor());
             edges.add(type == EdgeType.REJECTING
               ? Edge.of(successor, 0)
               : Edge.of(successor));
@@ -284,29 +256,231 @@ public final class GfgCoBuchiMinimization {
     ACCEPTING, REJECTING, UNKNOWN
   }
 
-  private static <S> int componentId(S state, List<Set<S>> components) {
-    int i = 0;
+  /**
+   * Language equivalence and safe-language containment for pairs of states of a normalized
+   * deterministic co-Büchi automaton.
+   *
+   * <p>The nodes of the product graph are ordered pairs {@code (q, p)} of state indices. The index
+   * {@code size - 1} denotes a rejecting sink that completes the automaton. Nodes are numbered in
+   * the order of their discovery and only the pairs reachable from a queried pair are explored.
+   * Diagonal pairs are omitted, since no run from a diagonal pair leaves the diagonal. A pair is
+   * marked, if the language (resp. safe language) of {@code q} is not included in the one of
+   * {@code p}. Marks are seeded locally and then propagated backwards.
+   *
+   * <p>The pairs explored by a query form a region whose successors are either in the region or
+   * were explored by an earlier query. Hence the marks of earlier regions are final and each
+   * region is processed once.
+   */
+  static final class StateRelations<S> {
+
+    private static final byte FIRST_REJECTING = 1;
+    private static final byte SECOND_REJECTING = 2;
+
+    private final Map<S, Integer> indices;
+    private final List<MtBdd<Edge<S>>> edgeTrees;
+    private final int size;
+    private final Numbering<Long> nodes = new Numbering<>();
+    private final BitSet languageNotIncluded = new BitSet();
+    private final BitSet safeLanguageNotIncluded = new BitSet();
+
+    // Product graph in compressed sparse row format.
+    private int[] offsets = new int[16];
+    private int[] targets = new int[16];
+    private byte[] flags = new byte[16];
+    private int edgeCount;
+
+    StateRelations(Automaton<S, ? extends CoBuchiAcceptance> dcw) {
+      List<S> states = List.copyOf(dcw.states());
+      indices = new HashMap<>();
+
+      for (int i = 0; i < states.size(); i++) {
+        indices.put(states.get(i), i);
+      }
+
+      size = states.size() + 1;
+      edgeTrees = new ArrayList<>(size);
+      states.forEach(state -> edgeTrees.add(dcw.edgeTree(state)));
+      edgeTrees.add(MtBdd.of());
+    }
+
+    boolean languageIncluded(S q, S p) {
+      return !marked(languageNotIncluded, q, p);
+    }
+
+    boolean safeLanguageIncluded(S q, S p) {
+      return !marked(safeLanguageNotIncluded, q, p);
+    }
+
+    private boolean languageEquivalent(S q, S p) {
+      return languageIncluded(q, p) && languageIncluded(p, q);
+    }
+
+    private boolean subsafeEquivalent(S q, S p) {
+      return languageEquivalent(q, p) && safeLanguageIncluded(q, p);
+    }
+
+    private boolean stronglyEquivalent(S q, S p) {
+      return subsafeEquivalent(q, p) && subsafeEquivalent(p, q);
+    }
+
+    private boolean marked(BitSet marks, S q, S p) {
+      int i = indices.get(q);
+      int j = indices.get(p);
+
+      if (i == j) {
+        return false;
+      }
+
+      long pair = (long) i * size + j;
+      int node = nodes.indexOf(pair);
 
-    for (Set<S> component : components) {
-      if (component.contains(state)) {
-        return i;
+      if (node < 0) {
+        node = nodes.lookup(pair);
+        exploreRegion(node);
       }
 
-      i++;
+      return marks.get(node);
     }
 
-    throw new IllegalStateException("Internal error.");
-  }
+    private void exploreRegion(int regionStart) {
+      for (int node = regionStart; node < nodes.size(); node++) {
+        if (node + 1 >= offsets.length) {
+          offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+        }
 
-  private static <S> Set<S> findEquivalenceClass(
-    List<Set<S>> equivalenceClasses, S representative) {
+        offsets[node] = edgeCount;
+        long pair = nodes.lookup(node);
+        addEdges(node, edgeTrees.get((int) (pair / size)), edgeTrees.get((int) (pair % size)));
+      }
 
-    for (Set<S> equivalenceClass : equivalenceClasses) {
-      if (equivalenceClass.contains(representative)) {
-        return equivalenceClass;
+      offsets[nodes.size()] = edgeCount;
+
+      seedLanguageNotIncluded(regionStart);
+      propagate(regionStart, languageNotIncluded, (byte) 0);
+      propagate(regionStart, safeLanguageNotIncluded,
+        (byte) (FIRST_REJECTING | SECOND_REJECTING));
+    }
+
+    private void addEdges(int node, MtBdd<Edge<S>> tree1, MtBdd<Edge<S>> tree2) {
+      var product = MtBddOperations.cartesianProductWithNull(List.of(tree1, tree2));
+
+      for (List<Edge<S>> edges : product.flatValues()) {
+        Edge<S> edge1 = edges.get(0);
+        Edge<S> edge2 = edges.get(1);
+        int successor1 = edge1 == null ? size - 1 : indices.get(edge1.successor());
+        int successor2 = edge2 == null ? size - 1 : indices.get(edge2.successor());
+        boolean rejecting1 = edge1 == null || edge1.colours().contains(0);
+        boolean rejecting2 = edge2 == null || edge2.colours().contains(0);
+
+        // In a normalized automaton every safe edge stays in a non-trivial safe component. Thus
+        // a safe edge of the first state that is not matched by a safe edge of the second state
+        // witnesses a safe word of the first state that is not a safe word of the second state.
+        if (!rejecting1 && rejecting2) {
+          safeLanguageNotIncluded.set(node);
+        }
+
+        if (successor1 == successor2) {
+          continue;
+        }
+
+        if (edgeCount == targets.length) {
+          targets = Arrays.copyOf(targets, 2 * targets.length);
+          flags = Arrays.copyOf(flags, 2 * flags.length);
+        }
+
+        targets[edgeCount] = nodes.lookup((long) successor1 * size + successor2);
+        flags[edgeCount] = (byte) ((rejecting1 ? FIRST_REJECTING : 0)
+          | (rejecting2 ? SECOND_REJECTING : 0));
+        edgeCount++;
       }
     }
 
-    throw new IllegalStateException("Internal error.");
+    // The language of q is not included in the one of p, if there is a reachable cycle in the
+    // product that is safe for q and rejecting for p. Such a cycle exists iff an SCC of the
+    // subgraph of edges that are safe for q contains an edge that is rejecting for p. Cycles do
+    // not leave the region, since earlier regions have no edges into it.
+    private void seedLanguageNotIncluded(int regionStart) {
+      int regionSize = nodes.size() - regionStart;
+      int edgeStart = offsets[regionStart];
+      int[] regionOffsets = new int[regionSize + 1];
+      int[] regionTargets = new int[edgeCount - edgeStart];
+
+      for (int i = 0; i <= regionSize; i++) {
+        regionOffsets[i] = offsets[regionStart + i] - edgeStart;
+      }
+
+      for (int edge = edgeStart; edge < edgeCount; edge++) {
+        regionTargets[edge - edgeStart] = targets[edge] - regionStart;
+      }
+
+      int[] component = IndexedSccDecomposition.components(regionOffsets, regionTargets,
+        edge -> regionTargets[edge] >= 0 && (flags[edgeStart + edge] & FIRST_REJECTING) == 0);
+
+      for (int node = 0; node < regionSize; node++) {
+        for (int edge = regionOffsets[node]; edge < regionOffsets[node + 1]; edge++) {
+          if (flags[edgeStart + edge] == SECOND_REJECTING && regionTargets[edge] >= 0
+            && component[regionTargets[edge]] == component[node]) {
+            languageNotIncluded.set(regionStart + node);
+          }
+        }
+      }
+    }
+
+    // Mark all nodes of the region that reach a marked node via edges that have none of the
+    // blocking flags.
+    private void propagate(int regionStart, BitSet marked, byte blockingFlags) {
+      int regionSize = nodes.size() - regionStart;
+      int[] predecessorOffsets = new int[regionSize + 1];
+      int[] worklist = new int[regionSize];
+      int worklistSize = 0;
+
+      for (int node = regionStart; node < nodes.size(); node++) {
+        for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+          if ((flags[edge] & blockingFlags) != 0) {
+            continue;
+          }
+
+          if (targets[edge] >= regionStart) {
+            predecessorOffsets[targets[edge] - regionStart + 1]++;
+          } else if (marked.get(targets[edge])) {
+            // The marks of earlier regions are final.
+            marked.set(node);
+          }
+        }
+      }
+
+      for (int node = 0; node < regionSize; node++) {
+        predecessorOffsets[node + 1] += predecessorOffsets[node];
+      }
+
+      int[] predecessors = new int[predecessorOffsets[regionSize]];
+      int[] fill = Arrays.copyOf(predecessorOffsets, regionSize);
+
+      for (int node = regionStart; node < nodes.size(); node++) {
+        for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+          if ((flags[edge] & blockingFlags) == 0 && targets[edge] >= regionStart) {
+            predecessors[fill[targets[edge] - regionStart]++] = node;
+          }
+        }
+      }
+
+      for (int node = marked.nextSetBit(regionStart); node >= 0;
+           node = marked.nextSetBit(node + 1)) {
+        worklist[worklistSize++] = node;
+      }
+
+      while (worklistSize > 0) {
+        int node = worklist[--worklistSize] - regionStart;
+
+        for (int i = predecessorOffsets[node]; i < predecessorOffsets[node + 1]; i++) {
+          int predecessor = predecessors[i];
+
+          if (!marked.get(predecessor)) {
+            marked.set(predecessor);
+            worklist[worklistSize++] = predecessor;
+          }
+        }
+      }
+    }
   }
 }
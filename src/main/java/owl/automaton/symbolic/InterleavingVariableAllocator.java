@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.symbolic;
+
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.COLOUR;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_STATE;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import owl.automaton.symbolic.SymbolicAutomaton.VariableType;
+import owl.collections.ImmutableBitSet;
+
+/**
+ * Allocates the atomic propositions first, then the state variables, and finally the colours.
+ * Each state variable is directly followed by its successor variable, i.e., the order is
+ * {@code ap_0, ..., x_0, x'_0, x_1, x'_1, ..., c_0, ...}. Since most transitions only change a
+ * few state variables, the transition relation is typically much smaller than with separate
+ * blocks for state and successor variables as allocated by {@link RangedVariableAllocator}. This
+ * also benefits the relabelling between state and successor variables, which only moves variables
+ * to a neighbouring level.
+ */
+public final class InterleavingVariableAllocator implements SymbolicAutomaton.VariableAllocator {
+
+  public static final InterleavingVariableAllocator INSTANCE = new InterleavingVariableAllocator();
+
+  private InterleavingVariableAllocator() {}
+
+  @Override
+  public SymbolicAutomaton.VariableAllocation allocate(
+    int stateVariables, int atomicPropositions, int colours) {
+
+    Preconditions.checkArgument(stateVariables >= 0 && atomicPropositions >= 0 && colours >= 0);
+    return new InterleavedAllocation(stateVariables, atomicPropositions, colours);
+  }
+
+  private static final class InterleavedAllocation
+    implements SymbolicAutomaton.VariableAllocation {
+
+    private final VariableType[] types;
+    private final int[] globalToLocal;
+    private final EnumMap<VariableType, int[]> localToGlobal;
+    private final Map<Set<VariableType>, ImmutableBitSet> variables;
+
+    private InterleavedAllocation(int stateVariables, int atomicPropositions, int colours) {
+      int size = 2 * stateVariables + atomicPropositions + colours;
+      this.types = new VariableType[size];
+      this.globalToLocal = new int[size];
+      this.localToGlobal = new EnumMap<>(VariableType.class);
+      this.variables = new HashMap<>();
+
+      localToGlobal.put(ATOMIC_PROPOSITION, new int[atomicPropositions]);
+      localToGlobal.put(STATE, new int[stateVariables]);
+      localToGlobal.put(SUCCESSOR_STATE, new int[stateVariables]);
+      localToGlobal.put(COLOUR, new int[colours]);
+
+      int global = 0;
+
+      for (int i = 0; i < atomicPropositions; i++) {
+        assign(global++, ATOMIC_PROPOSITION, i);
+      }
+
+      for (int i = 0; i < stateVariables; i++) {
+        assign(global++, STATE, i);
+        assign(global++, SUCCESSOR_STATE, i);
+      }
+
+      for (int i = 0; i < colours; i++) {
+        assign(global++, COLOUR, i);
+      }
+    }
+
+    private void assign(int global, VariableType type, int local) {
+      types[global] = type;
+      globalToLocal[global] = local;
+      localToGlobal.get(type)[local] = global;
+    }
+
+    @Override
+    public ImmutableBitSet variables(VariableType... types) {
+      return variables.computeIfAbsent(Set.of(types), variableTypes -> {
+        BitSet bitSet = new BitSet();
+        for (var type : variableTypes) {
+          for (int variable : localToGlobal.get(type)) {
+            bitSet.set(variable);
+          }
+        }
+        return ImmutableBitSet.copyOf(bitSet);
+      });
+    }
+
+    @Override
+    public int numberOfVariables() {
+      return types.length;
+    }
+
+    @Override
+    public VariableType typeOf(int variable) {
+      return types[Objects.checkIndex(variable, types.length)];
+    }
+
+    @Override
+    public List<String> variableNames() {
+      List<String> variableNames = new ArrayList<>(types.length);
+
+      for (int i = 0; i < types.length; i++) {
+        String prefix = switch (types[i]) {
+          case ATOMIC_PROPOSITION -> "ap";
+          case COLOUR -> "c";
+          case STATE -> "x";
+          case SUCCESSOR_STATE -> "x'";
+        };
+
+        variableNames.add(prefix + '_' + globalToLocal[i]);
+      }
+
+      return variableNames;
+    }
+
+    @Override
+    public int localToGlobal(int variable, VariableType type) {
+      return localToGlobal.get(type)[variable];
+    }
+
+    @Override
+    public int globalToLocal(int variable, VariableType type) {
+      Preconditions.checkArgument(typeOf(variable) == type);
+      return globalToLocal[variable];
+    }
+
+    @Override
+    public BitSet localToGlobal(BitSet bitSet, VariableType type) {
+      int[] mapping = localToGlobal.get(type);
+      BitSet globalBitSet = new BitSet();
+
+      for (int i = bitSet.nextSetBit(0); i >= 0 && i < mapping.length;
+           i = bitSet.nextSetBit(i + 1)) {
+        globalBitSet.set(mapping[i]);
+      }
+
+      return globalBitSet;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.symbolic;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import owl.automaton.Automaton;
+import owl.automaton.algorithm.SccDecomposition;
+
+/**
+ * Numbers the states SCC by SCC in topological order and breadth-first within each SCC. The
+ * number is encoded with the most significant bit in the first state variable. Thus states of the
+ * same SCC share a common prefix of state variables, and transitions, which mostly stay within
+ * an SCC or move to a nearby SCC, leave this prefix (mostly) unchanged.
+ */
+public final class SccStateEncoderFactory implements SymbolicAutomaton.StateEncoderFactory {
+
+  public static final SccStateEncoderFactory INSTANCE = new SccStateEncoderFactory();
+
+  private SccStateEncoderFactory() {}
+
+  @Override
+  public <S> SymbolicAutomaton.StateEncoder<S> create(Automaton<? extends S, ?> automaton) {
+    return new Encoder<>(numbering(automaton));
+  }
+
+  private static <S> Map<S, Integer> numbering(Automaton<S, ?> automaton) {
+    Map<S, Integer> numbering = new HashMap<>();
+
+    for (Set<S> scc : SccDecomposition.of(automaton).sccs()) {
+      var workList = new ArrayDeque<S>();
+      var firstState = scc.iterator().next();
+      workList.add(firstState);
+      numbering.put(firstState, numbering.size());
+
+      while (!workList.isEmpty()) {
+        for (S successor : automaton.successors(workList.remove())) {
+          if (scc.contains(successor) && !numbering.containsKey(successor)) {
+            numbering.put(successor, numbering.size());
+            workList.add(successor);
+          }
+        }
+      }
+    }
+
+    if (numbering.size() == Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Cannot encode automaton using 32 bits.");
+    }
+
+    return numbering;
+  }
+
+  private static final class Encoder<S> implements SymbolicAutomaton.StateEncoder<S> {
+
+    private final int usedBits;
+    private final Map<S, Integer> numbering;
+
+    private Encoder(Map<? extends S, Integer> numbering) {
+      this.numbering = Map.copyOf(numbering);
+      this.usedBits = Integer.SIZE - Integer.numberOfLeadingZeros(this.numbering.size());
+    }
+
+    @Override
+    public int stateVariables() {
+      return usedBits;
+    }
+
+    @Override
+    public BitSet encode(S state) {
+      int number = numbering.get(state);
+      BitSet encoding = new BitSet(usedBits);
+
+      for (int i = 0; i < usedBits; i++) {
+        encoding.set(i, (number & (1 << (usedBits - 1 - i))) != 0);
+      }
+
+      return encoding;
+    }
+  }
+}
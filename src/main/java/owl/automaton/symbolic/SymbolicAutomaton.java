@@ -27,13 +27,11 @@ import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_ST
 
 import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Streams;
-import java.util.ArrayDeque;
-import java.util.Arrays;
 import java.util.BitSet;
-import java.util.Collections;
-import java.util.Deque;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -44,7 +42,6 @@ import owl.automaton.edge.Edge;
 import owl.bdd.BddSet;
 import owl.bdd.BddSetFactory;
 import owl.bdd.FactorySupplier;
-import owl.bdd.MtBdd;
 import owl.collections.ImmutableBitSet;
 
 /**
@@ -58,6 +55,15 @@ import owl.collections.ImmutableBitSet;
 @AutoValue
 public abstract class SymbolicAutomaton<A extends EmersonLeiAcceptance> {
 
+  private static final int IMAGE_CACHE_SIZE = 1024;
+
+  // Fixed-point computations, e.g., the SCC decomposition and the game solver, repeatedly ask for
+  // the image of the same set. BddSets are canonical, hence the lookup is cheap.
+  private final Cache<BddSet, BddSet> successorCache
+    = CacheBuilder.newBuilder().maximumSize(IMAGE_CACHE_SIZE).recordStats().build();
+  private final Cache<BddSet, BddSet> predecessorCache
+    = CacheBuilder.newBuilder().maximumSize(IMAGE_CACHE_SIZE).recordStats().build();
+
   public abstract List<String> atomicPropositions();
 
   public abstract BddSet initialStates();
@@ -74,6 +80,17 @@ public abstract class SymbolicAutomaton<A extends EmersonLeiAcceptance> {
 
   public BddSet successors(BddSet statesAndValuation) {
     checkArgument(statesAndValuation.factory() == factory());
+    BddSet successors = successorCache.getIfPresent(statesAndValuation);
+
+    if (successors == null) {
+      successors = computeSuccessors(statesAndValuation);
+      successorCache.put(statesAndValuation, successors);
+    }
+
+    return successors;
+  }
+
+  private BddSet computeSuccessors(BddSet statesAndValuation) {
     ImmutableBitSet quantifyOver = variableAllocation().variables(STATE, ATOMIC_PROPOSITION);
     ImmutableBitSet states = variableAllocation().variables(STATE);
     ImmutableBitSet successorStates = variableAllocation().variables(SUCCESSOR_STATE);
@@ -97,6 +114,17 @@ public abstract class SymbolicAutomaton<A extends EmersonLeiAcceptance> {
 
   public BddSet predecessors(BddSet statesAndValuation) {
     checkArgument(statesAndValuation.factory() == factory());
+    BddSet predecessors = predecessorCache.getIfPresent(statesAndValuation);
+
+    if (predecessors == null) {
+      predecessors = computePredecessors(statesAndValuation);
+      predecessorCache.put(statesAndValuation, predecessors);
+    }
+
+    return predecessors;
+  }
+
+  private BddSet computePredecessors(BddSet statesAndValuation) {
     ImmutableBitSet quantifyOver = variableAllocation().variables(
       SUCCESSOR_STATE,
       ATOMIC_PROPOSITION,
@@ -121,6 +149,14 @@ public abstract class SymbolicAutomaton<A extends EmersonLeiAcceptance> {
       .project(quantifyOver);
   }
 
+  /**
+   * Returns the combined statistics of the caches for {@link #successors(BddSet)} and
+   * {@link #predecessors(BddSet)}.
+   */
+  public CacheStats imageCacheStats() {
+    return successorCache.stats().plus(predecessorCache.stats());
+  }
+
   @Memoized
   public BddSet reachableStates() {
     BddSet previousStates = initialStates().factory().of(false);
@@ -200,117 +236,37 @@ public abstract class SymbolicAutomaton<A extends EmersonLeiAcceptance> {
   public static <S, A extends EmersonLeiAcceptance> SymbolicAutomaton<A> of(
     Automaton<S, ? extends A> automaton, BddSetFactory factory, List<String> atomicPropositions) {
 
-    checkArgument(
-      Collections.indexOfSubList(atomicPropositions, automaton.atomicPropositions()) == 0);
-
     return of(
       automaton,
       atomicPropositions,
       factory,
-      NumberingStateEncoderFactory.INSTANCE,
-      new RangedVariableAllocator(
-        ATOMIC_PROPOSITION,
-        STATE,
-        COLOUR,
-        SUCCESSOR_STATE));
+      SccStateEncoderFactory.INSTANCE,
+      InterleavingVariableAllocator.INSTANCE);
   }
 
-  private static <S, A extends EmersonLeiAcceptance> SymbolicAutomaton<A> of(
+  /**
+   * Encode an explicit automaton symbolically using the given state encoding and variable
+   * allocation. The order of the variables in the BDDs follows the global numbering of the
+   * allocation. Use {@link SymbolicAutomatonEncoder} to encode several automata over the same
+   * factory.
+   *
+   * @param automaton the automaton.
+   * @param atomicPropositions the atomic propositions. The atomic propositions of the automaton
+   *     need to be a prefix of this list.
+   * @param factory the factory used to create the BDDs.
+   * @param encoderFactory the encoding of states into state variables.
+   * @param allocator the allocator that determines the variable order.
+   * @return the symbolic automaton.
+   */
+  public static <S, A extends EmersonLeiAcceptance> SymbolicAutomaton<A> of(
     Automaton<S, ? extends A> automaton,
     List<String> atomicPropositions,
     BddSetFactory factory,
     StateEncoderFactory encoderFactory,
     VariableAllocator allocator) {
 
-    List<String> atomicPropositionsCopy = List.copyOf(atomicPropositions);
-    StateEncoder<S> stateEncoder = encoderFactory.create(automaton);
-    VariableAllocation allocation = allocator.allocate(
-      stateEncoder.stateVariables(),
-      atomicPropositionsCopy.size(),
-      automaton.acceptance().acceptanceSets());
-
-    BddSet initialStates = factory.of(false);
-
-    // Work-list algorithm.
-    Deque<S> workList = new ArrayDeque<>();
-    Set<S> exploredStates = new HashSet<>();
-
-    for (S initialState : automaton.initialStates()) {
-      BitSet stateEncoding = stateEncoder.encode(initialState);
-      initialStates = initialStates.union(
-        factory.of(allocation.localToGlobal(stateEncoding, STATE),
-          allocation.variables(STATE).copyInto(new BitSet())));
-
-      workList.add(initialState);
-      exploredStates.add(initialState);
-    }
-
-    BddSet transitionRelation = factory.of(false);
-
-    while (!workList.isEmpty()) {
-      S state = workList.remove();
-      MtBdd<Edge<S>> edgeTree = automaton.edgeTree(state);
-
-      BitSet stateEncoding = stateEncoder.encode(state);
-      BddSet stateValuationSet = factory.of(
-        allocation.localToGlobal(stateEncoding, STATE),
-        allocation.variables(STATE).copyInto(new BitSet()));
-      transitionRelation = transitionRelation.union(
-        stateValuationSet.intersection(
-          encodeEdgeTree(factory, edgeTree, stateEncoder, allocation)));
-
-      for (Edge<S> edge : edgeTree.flatValues()) {
-        if (exploredStates.add(edge.successor())) {
-          workList.add(edge.successor());
-        }
-      }
-    }
-
-    var properties = Arrays.stream(Automaton.Property.values())
-      .filter(automaton::is)
-      .collect(Collectors.toUnmodifiableSet());
-
-    return of(atomicPropositionsCopy,
-      initialStates,
-      transitionRelation,
-      automaton.acceptance(),
-      allocation,
-      properties);
-  }
-
-  // TODO: add memoization for ValuationTrees.
-  private static <S> BddSet encodeEdgeTree(
-    BddSetFactory factory,
-    MtBdd<Edge<S>> edgeTree,
-    StateEncoder<S> encoder,
-    VariableAllocation allocation) {
-
-    if (edgeTree instanceof MtBdd.Leaf<Edge<S>> leaf) {
-      BddSet edges = factory.of(false);
-
-      for (Edge<S> edge : leaf.value) {
-        BitSet successorEncoding
-          = allocation.localToGlobal(encoder.encode(edge.successor()), SUCCESSOR_STATE);
-        BitSet coloursEncoding
-          = allocation.localToGlobal(edge.colours().copyInto(new BitSet()), COLOUR);
-        successorEncoding.or(coloursEncoding);
-
-        ImmutableBitSet mask = allocation.variables(SUCCESSOR_STATE, COLOUR);
-        edges = edges.union(factory.of(successorEncoding, mask));
-      }
-
-      return edges;
-    } else {
-      var node = (MtBdd.Node<Edge<S>>) edgeTree;
-
-      var trueEdges = encodeEdgeTree(factory, node.trueChild, encoder, allocation);
-      var falseEdges = encodeEdgeTree(factory, node.falseChild, encoder, allocation);
-      var atomicProposition
-        = factory.of(allocation.localToGlobal(node.variable, ATOMIC_PROPOSITION));
-
-      return trueEdges.intersection(atomicProposition).union(
-        falseEdges.intersection(atomicProposition.complement()));
-    }
+    return SymbolicAutomatonEncoder.of(factory, encoderFactory, allocator)
+      .encode(automaton, atomicPropositions);
   }
 
   @Memoized
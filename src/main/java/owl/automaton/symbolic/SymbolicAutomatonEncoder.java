@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.symbolic;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.COLOUR;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_STATE;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import owl.automaton.Automaton;
+import owl.automaton.acceptance.EmersonLeiAcceptance;
+import owl.automaton.edge.Edge;
+import owl.automaton.symbolic.SymbolicAutomaton.StateEncoder;
+import owl.automaton.symbolic.SymbolicAutomaton.StateEncoderFactory;
+import owl.automaton.symbolic.SymbolicAutomaton.VariableAllocation;
+import owl.automaton.symbolic.SymbolicAutomaton.VariableAllocator;
+import owl.bdd.BddSet;
+import owl.bdd.BddSetFactory;
+import owl.bdd.MtBdd;
+import owl.collections.ImmutableBitSet;
+
+/**
+ * Encodes explicit automata as {@link SymbolicAutomaton}s over a fixed {@link BddSetFactory}.
+ * Automata that are combined later on, e.g., the components of a product, have to live in the
+ * same factory anyway, and by encoding them with one encoder they also share the BDD nodes of
+ * common sub-functions such as guards over the atomic propositions.
+ *
+ * <p>Automata are encoded state by state from their edge trees. The translation of edge trees
+ * into BDDs is memoized, hence subtrees and edges that are shared between states are only
+ * translated once. The per-state relations are combined by a balanced sequence of unions instead
+ * of adding them one by one to an ever-growing transition relation.
+ */
+public final class SymbolicAutomatonEncoder {
+
+  private final BddSetFactory factory;
+  private final StateEncoderFactory encoderFactory;
+  private final VariableAllocator allocator;
+
+  private SymbolicAutomatonEncoder(
+    BddSetFactory factory, StateEncoderFactory encoderFactory, VariableAllocator allocator) {
+
+    this.factory = factory;
+    this.encoderFactory = encoderFactory;
+    this.allocator = allocator;
+  }
+
+  public static SymbolicAutomatonEncoder of(BddSetFactory factory) {
+    return of(factory, SccStateEncoderFactory.INSTANCE, InterleavingVariableAllocator.INSTANCE);
+  }
+
+  public static SymbolicAutomatonEncoder of(
+    BddSetFactory factory, StateEncoderFactory encoderFactory, VariableAllocator allocator) {
+
+    return new SymbolicAutomatonEncoder(factory, encoderFactory, allocator);
+  }
+
+  public BddSetFactory factory() {
+    return factory;
+  }
+
+  /**
+   * Encode the reachable part of an explicit automaton.
+   *
+   * @param automaton the automaton.
+   * @param atomicPropositions the atomic propositions. The atomic propositions of the automaton
+   *     need to be a prefix of this list.
+   * @return the symbolic automaton.
+   */
+  public <S, A extends EmersonLeiAcceptance> SymbolicAutomaton<A> encode(
+    Automaton<S, ? extends A> automaton, List<String> atomicPropositions) {
+
+    checkArgument(
+      Collections.indexOfSubList(atomicPropositions, automaton.atomicPropositions()) == 0);
+
+    List<String> atomicPropositionsCopy = List.copyOf(atomicPropositions);
+    StateEncoder<S> stateEncoder = encoderFactory.create(automaton);
+    VariableAllocation allocation = allocator.allocate(
+      stateEncoder.stateVariables(),
+      atomicPropositionsCopy.size(),
+      automaton.acceptance().acceptanceSets());
+
+    var run = new Run<>(stateEncoder, allocation);
+    List<BddSet> initialStates = new ArrayList<>();
+
+    // Work-list algorithm.
+    Deque<S> workList = new ArrayDeque<>();
+    Set<S> exploredStates = new HashSet<>();
+
+    for (S initialState : automaton.initialStates()) {
+      initialStates.add(run.encodeState(initialState, STATE));
+      workList.add(initialState);
+      exploredStates.add(initialState);
+    }
+
+    List<BddSet> transitions = new ArrayList<>();
+
+    while (!workList.isEmpty()) {
+      S state = workList.remove();
+      MtBdd<Edge<S>> edgeTree = automaton.edgeTree(state);
+      BddSet edges = run.encodeEdgeTree(edgeTree);
+
+      if (!edges.isEmpty()) {
+        transitions.add(run.encodeState(state, STATE).intersection(edges));
+      }
+
+      for (Edge<S> edge : edgeTree.flatValues()) {
+        if (exploredStates.add(edge.successor())) {
+          workList.add(edge.successor());
+        }
+      }
+    }
+
+    var properties = Arrays.stream(Automaton.Property.values())
+      .filter(automaton::is)
+      .collect(Collectors.toUnmodifiableSet());
+
+    return SymbolicAutomaton.of(atomicPropositionsCopy,
+      union(initialStates),
+      union(transitions),
+      automaton.acceptance(),
+      allocation,
+      properties);
+  }
+
+  // The transitions of different states are disjoint. Adding them one by one to the relation
+  // copies the growing relation for each state, while pairwise unions only touch each node a
+  // logarithmic number of times.
+  private BddSet union(List<BddSet> sets) {
+    if (sets.isEmpty()) {
+      return factory.of(false);
+    }
+
+    List<BddSet> current = sets;
+
+    while (current.size() > 1) {
+      List<BddSet> next = new ArrayList<>((current.size() + 1) / 2);
+
+      for (int i = 0; i < current.size(); i += 2) {
+        next.add(i + 1 < current.size()
+          ? current.get(i).union(current.get(i + 1))
+          : current.get(i));
+      }
+
+      current = next;
+    }
+
+    return current.get(0);
+  }
+
+  private final class Run<S> {
+
+    private final StateEncoder<S> stateEncoder;
+    private final VariableAllocation allocation;
+    private final ImmutableBitSet edgeVariables;
+    private final Map<MtBdd<Edge<S>>, BddSet> encodedEdgeTrees = new HashMap<>();
+    private final Map<Edge<S>, BddSet> encodedEdges = new HashMap<>();
+
+    private Run(StateEncoder<S> stateEncoder, VariableAllocation allocation) {
+      this.stateEncoder = stateEncoder;
+      this.allocation = allocation;
+      this.edgeVariables = allocation.variables(SUCCESSOR_STATE, COLOUR);
+    }
+
+    private BddSet encodeState(S state, SymbolicAutomaton.VariableType type) {
+      return factory.of(
+        allocation.localToGlobal(stateEncoder.encode(state), type),
+        allocation.variables(type).copyInto(new BitSet()));
+    }
+
+    private BddSet encodeEdgeTree(MtBdd<Edge<S>> edgeTree) {
+      BddSet edges = encodedEdgeTrees.get(edgeTree);
+
+      if (edges != null) {
+        return edges;
+      }
+
+      if (edgeTree instanceof MtBdd.Leaf<Edge<S>> leaf) {
+        List<BddSet> encodedLeaf = new ArrayList<>(leaf.value.size());
+
+        for (Edge<S> edge : leaf.value) {
+          encodedLeaf.add(encodedEdges.computeIfAbsent(edge, this::encodeEdge));
+        }
+
+        edges = union(encodedLeaf);
+      } else {
+        var node = (MtBdd.Node<Edge<S>>) edgeTree;
+        var trueEdges = encodeEdgeTree(node.trueChild);
+        var falseEdges = encodeEdgeTree(node.falseChild);
+        var atomicProposition
+          = factory.of(allocation.localToGlobal(node.variable, ATOMIC_PROPOSITION));
+
+        edges = trueEdges.intersection(atomicProposition).union(
+          falseEdges.intersection(atomicProposition.complement()));
+      }
+
+      encodedEdgeTrees.put(edgeTree, edges);
+      return edges;
+    }
+
+    private BddSet encodeEdge(Edge<S> edge) {
+      BitSet encoding
+        = allocation.localToGlobal(stateEncoder.encode(edge.successor()), SUCCESSOR_STATE);
+      encoding.or(allocation.localToGlobal(edge.colours().copyInto(new BitSet()), COLOUR));
+      return factory.of(encoding, edgeVariables);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.symbolic;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.COLOUR;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_STATE;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import owl.automaton.Automaton;
+import owl.bdd.BddSet;
+import owl.collections.ImmutableBitSet;
+import owl.game.output.AigConsumer;
+import owl.game.output.AigFactory;
+import owl.game.output.LabelledAig;
+
+/**
+ * Extracts a controller from a winning strategy computed by a {@link SymbolicDPASolver} and
+ * encodes it as an and-inverter graph. The atomic propositions that are not controlled become
+ * inputs, the state variables of the automaton become latches, and the controlled atomic
+ * propositions become outputs. Only symbolic operations on the strategy and the transition
+ * relation are used, hence the states of the automaton are never enumerated.
+ */
+public final class SymbolicControllerExtraction {
+
+  private SymbolicControllerExtraction() {}
+
+  /**
+   * Feed the controller implementing the given strategy to the consumer.
+   *
+   * <p>Latches are initialised with zero in AIGER. Thus a latch stores the exclusive-or of its
+   * state variable and the value of that variable in the initial state. If the strategy permits
+   * several outputs, an output is only set if leaving it unset is not permitted.
+   *
+   * @param dpa the deterministic automaton passed to the solver.
+   * @param controlledAps the atomic propositions controlled by the system.
+   * @param strategy the strategy of a {@link SymbolicDPASolver.Solution} won by the controller.
+   * @param consumer the consumer receiving the circuit. No inputs or latches must have been
+   *     added to it before.
+   */
+  public static void feedTo(
+    SymbolicAutomaton<?> dpa,
+    ImmutableBitSet controlledAps,
+    BddSet strategy,
+    AigConsumer consumer) {
+
+    checkArgument(dpa.is(Automaton.Property.DETERMINISTIC));
+    checkArgument(strategy.factory().equals(dpa.factory()));
+
+    var allocation = dpa.variableAllocation();
+    var factory = dpa.factory();
+    var encoder = new AigEncoder();
+    List<String> atomicPropositions = dpa.atomicPropositions();
+
+    BitSet outputVariables
+      = allocation.localToGlobal(controlledAps.copyInto(new BitSet()), ATOMIC_PROPOSITION);
+
+    int inputs = 0;
+
+    for (int i = 0; i < atomicPropositions.size(); i++) {
+      if (!controlledAps.contains(i)) {
+        inputs = consumer.addInput(atomicPropositions.get(i));
+        encoder.leaves.put(
+          allocation.localToGlobal(i, ATOMIC_PROPOSITION), encoder.factory.getNode(inputs));
+      }
+    }
+
+    int stateVariables = allocation.variables(STATE).size();
+    BitSet initialState = dpa.initialStates().element().orElseThrow(
+      () -> new IllegalArgumentException("The automaton has no initial state."));
+    boolean[] initialValues = new boolean[stateVariables];
+
+    for (int i = 0; i < stateVariables; i++) {
+      int variable = allocation.localToGlobal(i, STATE);
+      LabelledAig latch = encoder.factory.getNode(inputs + i + 1);
+      initialValues[i] = initialState.get(variable);
+      encoder.leaves.put(variable, initialValues[i] ? encoder.factory.not(latch) : latch);
+    }
+
+    // Remove colours and successors, and allow arbitrary outputs for state-input combinations
+    // that are not covered by the strategy, e.g., outside the winning region.
+    BddSet choices = strategy.project(allocation.variables(COLOUR, SUCCESSOR_STATE));
+    choices = choices.union(choices.project(outputVariables).complement());
+
+    List<String> outputNames = new ArrayList<>();
+    List<LabelledAig> outputs = new ArrayList<>();
+
+    for (int i = 0; i < atomicPropositions.size(); i++) {
+      if (!controlledAps.contains(i)) {
+        continue;
+      }
+
+      BddSet output = factory.of(allocation.localToGlobal(i, ATOMIC_PROPOSITION));
+      BddSet function = choices.intersection(output.complement())
+        .project(outputVariables)
+        .complement();
+
+      // Fix the output to the chosen function before choosing the next one.
+      choices = choices.intersection(output.intersection(function)
+        .union(output.complement().intersection(function.complement())));
+
+      outputNames.add(atomicPropositions.get(i));
+      outputs.add(encoder.encode(function));
+    }
+
+    BddSet transitions = dpa.transitionRelation().intersection(choices);
+    BitSet quantifiedVariables = allocation.variables(COLOUR, SUCCESSOR_STATE)
+      .copyInto((BitSet) outputVariables.clone());
+
+    for (int i = 0; i < stateVariables; i++) {
+      BddSet successor = factory.of(allocation.localToGlobal(i, SUCCESSOR_STATE));
+      LabelledAig next = encoder.encode(
+        transitions.intersection(successor).project(quantifiedVariables));
+      consumer.addLatch("", initialValues[i] ? encoder.factory.not(next) : next);
+    }
+
+    for (int i = 0; i < outputs.size(); i++) {
+      consumer.addOutput(outputNames.get(i), outputs.get(i));
+    }
+  }
+
+  private static final class AigEncoder {
+
+    private final AigFactory factory = new AigFactory();
+    private final Map<Integer, LabelledAig> leaves = new HashMap<>();
+    private final Map<BddSet, LabelledAig> cache = new HashMap<>();
+
+    // Shannon expansion along the smallest variable. Since nodes of a BddSetFactory are unique,
+    // the cache shares the circuits of shared BDD nodes.
+    private LabelledAig encode(BddSet function) {
+      if (function.isEmpty()) {
+        return factory.getFalse();
+      }
+
+      if (function.isUniverse()) {
+        return factory.getTrue();
+      }
+
+      LabelledAig aig = cache.get(function);
+
+      if (aig != null) {
+        return aig;
+      }
+
+      int variable = function.support().nextSetBit(0);
+      LabelledAig leaf = leaves.get(variable);
+      checkState(leaf != null, "Unexpected variable %s in controller.", variable);
+
+      BitSet quantifiedVariable = new BitSet();
+      quantifiedVariable.set(variable);
+      BddSet literal = function.factory().of(variable);
+
+      LabelledAig high = encode(function.intersection(literal).project(quantifiedVariable));
+      LabelledAig low = encode(
+        function.intersection(literal.complement()).project(quantifiedVariable));
+
+      aig = high.equals(low)
+        ? high
+        : factory.disjunction(
+          factory.conjunction(leaf, high), factory.conjunction(factory.not(leaf), low));
+
+      cache.put(function, aig);
+      return aig;
+    }
+  }
+}
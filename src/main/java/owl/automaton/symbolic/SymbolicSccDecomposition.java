@@ -42,9 +42,18 @@ public abstract class SymbolicSccDecomposition {
   }
 
   /**
-   * Computes the scc decomposition of the automaton using the algorithm
-   * described in https://doi.org/10.1007/s10703-006-4341-z, where the acceptance condition
-   * is included in the states. The returned BDDs therefore only contain state and colour variables
+   * Computes the scc decomposition of the automaton using the skeleton-based algorithm described
+   * in https://doi.org/10.1007/3-540-44888-8_8 (Gentilini, Piazza, Policriti), where the acceptance
+   * condition is included in the states. The returned BDDs therefore only contain state and colour
+   * variables. The algorithm needs a linear number of image computations in the number of states,
+   * in contrast to the O(n log n) image computations of the lockstep algorithm of
+   * https://doi.org/10.1007/s10703-006-4341-z.
+   *
+   * <p>Each forward search records its breadth-first layers. Walking back through the layers
+   * yields a path (the skeleton) from the start of the search to a state in the last layer. The
+   * SCCs of the states visited by the forward search are searched next, starting from the end of
+   * this path, and the SCCs of the remaining states are searched starting from the predecessor of
+   * the SCC on the skeleton of the enclosing search.
    *
    * @param restrictedTo a BddSet representing the state-space for which the SCC decomposition
    *     is computed. Only states in restrictedTo are included in the result.
@@ -52,66 +61,99 @@ public abstract class SymbolicSccDecomposition {
    * @return A list of BddSets representing the SCCs of the automaton.
    */
   public List<BddSet> sccs(BddSet restrictedTo) {
+    return sccsWithStatistics(restrictedTo).sccs();
+  }
+
+  /**
+   * Computes the scc decomposition as {@link #sccs(BddSet)} and records statistics of the
+   * computation.
+   *
+   * @param restrictedTo a BddSet representing the state-space for which the SCC decomposition
+   *     is computed. Only states in restrictedTo are included in the result.
+   *
+   * @return the SCCs of the automaton and the statistics of their computation.
+   */
+  public Result sccsWithStatistics(BddSet restrictedTo) {
     if (restrictedTo.isEmpty()) {
-      return List.of();
+      return new Result(List.of(), new Statistics(0, 0));
     }
-    BddSet transitionRelation = automaton().transitionRelation();
-    SymbolicAutomaton.VariableAllocation variableAllocation = automaton().variableAllocation();
-    BitSet states = variableAllocation.variables(STATE, COLOUR).copyInto(new BitSet());
-    checkArgument(restrictedTo.factory() == transitionRelation.factory());
-    Deque<BddSet> worklist = new ArrayDeque<>();
-    worklist.push(restrictedTo);
+
+    var factory = automaton().factory();
+    checkArgument(restrictedTo.factory() == factory);
+    BitSet states = automaton().variableAllocation().variables(STATE, COLOUR)
+      .copyInto(new BitSet());
+
+    Deque<Task> workList = new ArrayDeque<>();
+    workList.push(new Task(restrictedTo, factory.of(false), factory.of(false)));
     List<BddSet> sccs = new ArrayList<>();
-    while (!worklist.isEmpty()) {
-      BddSet consideredStates = worklist.pop();
-      // Get some arbitrary state from consideredStates
-      BddSet node = transitionRelation
-        .factory()
-        .of(consideredStates.element().orElseThrow(), states);
+    long imageSteps = 0;
+    int peakLayers = 0;
+
+    while (!workList.isEmpty()) {
+      Task task = workList.pop();
+      BddSet node = task.node().isEmpty()
+        ? pick(task.states(), states)
+        : task.node();
+
+      // Compute the forward set of node and remember its breadth-first layers.
+      Deque<BddSet> layers = new ArrayDeque<>();
       BddSet forwardSet = node;
-      BddSet backwardSet = node;
-      BddSet successors = node;
-      BddSet predecessors = node;
-      // Compute successors and predecessors in lock-step
-      while (!successors.isEmpty() && !predecessors.isEmpty()) {
-        successors = automaton().successors(successors).intersection(consideredStates)
-          .intersection(forwardSet.complement());
-        predecessors = automaton().predecessors(predecessors).intersection(consideredStates)
-          .intersection(backwardSet.complement());
-        forwardSet = forwardSet.union(successors);
-        backwardSet = backwardSet.union(predecessors);
+      BddSet layer = node;
+
+      while (!layer.isEmpty()) {
+        layers.push(layer);
+        layer = automaton().successors(layer)
+          .intersection(task.states(), forwardSet.complement());
+        forwardSet = forwardSet.union(layer);
+        imageSteps++;
       }
-      BddSet converged;
-      // Refine forwardset or backwardset
-      if (successors.isEmpty()) {
-        converged = forwardSet;
-        while (!predecessors.intersection(forwardSet).isEmpty()) {
-          predecessors = automaton().predecessors(predecessors).intersection(consideredStates)
-            .intersection(backwardSet.complement());
-          backwardSet = backwardSet.union(predecessors);
-        }
-      } else {
-        converged = backwardSet;
-        while (!successors.intersection(backwardSet).isEmpty()) {
-          successors = automaton().successors(successors).intersection(consideredStates)
-            .intersection(forwardSet.complement());
-          forwardSet = forwardSet.union(successors);
-        }
+
+      peakLayers = Math.max(peakLayers, layers.size());
+
+      // Construct the skeleton: a path from node to a state of the last layer.
+      BddSet forwardNode = pick(layers.pop(), states);
+      BddSet forwardSkeleton = forwardNode;
+      BddSet pathNode = forwardNode;
+
+      while (!layers.isEmpty()) {
+        pathNode = pick(automaton().predecessors(pathNode).intersection(layers.pop()), states);
+        forwardSkeleton = forwardSkeleton.union(pathNode);
+        imageSteps++;
       }
-      // Save the SCC
-      BddSet scc = forwardSet.intersection(backwardSet);
+
+      // The SCC of node consists of all states in the forward set that reach node.
+      BddSet scc = node;
+      BddSet frontier = node;
+
+      while (!frontier.isEmpty()) {
+        frontier = automaton().predecessors(frontier).intersection(forwardSet, scc.complement());
+        scc = scc.union(frontier);
+        imageSteps++;
+      }
+
       sccs.add(scc);
-      // Continue with the "recursive" steps of the algorithm
-      BddSet next1 = converged.intersection(scc.complement());
-      BddSet next2 = consideredStates.intersection(converged.complement());
-      if (!next1.isEmpty()) {
-        worklist.push(next1);
+
+      BddSet remainingStates = task.states().intersection(forwardSet.complement());
+
+      if (!remainingStates.isEmpty()) {
+        BddSet skeleton = task.skeleton().intersection(scc.complement());
+        BddSet skeletonNode = automaton().predecessors(task.skeleton().intersection(scc))
+          .intersection(skeleton);
+        imageSteps++;
+        workList.push(new Task(remainingStates, skeleton,
+          skeletonNode.isEmpty() ? skeletonNode : pick(skeletonNode, states)));
       }
-      if (!next2.isEmpty()) {
-        worklist.push(next2);
+
+      BddSet remainingForwardStates = forwardSet.intersection(scc.complement());
+
+      if (!remainingForwardStates.isEmpty()) {
+        workList.push(new Task(remainingForwardStates,
+          forwardSkeleton.intersection(scc.complement()),
+          forwardNode.intersection(scc.complement())));
       }
     }
-    return sccs;
+
+    return new Result(sccs, new Statistics(imageSteps, peakLayers));
   }
 
   @Memoized
@@ -122,4 +164,26 @@ public abstract class SymbolicSccDecomposition {
   public boolean isTrivialScc(BddSet scc) {
     return automaton().successors(scc).intersection(scc).isEmpty();
   }
+
+  private static BddSet pick(BddSet set, BitSet states) {
+    return set.factory().of(set.element().orElseThrow(), states);
+  }
+
+  /**
+   * The SCCs computed by {@link #sccsWithStatistics(BddSet)}.
+   *
+   * @param sccs the SCCs.
+   * @param statistics the statistics of the computation.
+   */
+  public record Result(List<BddSet> sccs, Statistics statistics) {}
+
+  /**
+   * Statistics of the symbolic SCC decomposition.
+   *
+   * @param imageSteps the number of successor and predecessor computations.
+   * @param peakLayers the maximal number of breadth-first layers stored at once.
+   */
+  public record Statistics(long imageSteps, int peakLayers) {}
+
+  private record Task(BddSet states, BddSet skeleton, BddSet node) {}
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.bdd.jbdd;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import de.tum.in.jbdd.Bdd;
+import de.tum.in.jbdd.BddFactory;
+import de.tum.in.jbdd.ImmutableBddConfiguration;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Sizing and garbage collection settings for the BDDs created by {@link JBddSupplier}.
+ *
+ * <p>The settings are read once from the environment, unless they are replaced by
+ * {@link #setCurrent(JBddConfiguration)}, e.g., with the values of command-line options:
+ *
+ * <ul>
+ *   <li>{@code OWL_BDD_SET_NODES}: initial node table size of a {@link owl.bdd.BddSetFactory}.
+ *   <li>{@code OWL_BDD_SET_CACHE_DIVIDER}: ratio between node table and operation cache size of
+ *     a {@link owl.bdd.BddSetFactory}.
+ *   <li>{@code OWL_BDD_SET_GC}: {@code true} or {@code false}, whether unreferenced nodes of a
+ *     {@link owl.bdd.BddSetFactory} are reclaimed.
+ *   <li>{@code OWL_BDD_FORMULA_NODES}: initial node table size of an
+ *     {@link owl.bdd.EquivalenceClassFactory} per atomic proposition.
+ *   <li>{@code OWL_BDD_FORMULA_CACHE_DIVIDER}: ratio between node table and operation cache size
+ *     of an {@link owl.bdd.EquivalenceClassFactory}.
+ *   <li>{@code OWL_BDD_GROWTH_FACTOR}: factor by which full node tables are enlarged.
+ * </ul>
+ *
+ * <p>Larger initial tables avoid repeated enlargements of the node table for big formulas and
+ * automata, but every factory allocates its table upfront.
+ *
+ * @param setNodes the initial node table size of set factories.
+ * @param setCacheDivider the cache divider of set factories.
+ * @param setGarbageCollection whether set factories reclaim unreferenced nodes.
+ * @param formulaNodes the initial node table size of equivalence class factories per atomic
+ *     proposition.
+ * @param formulaCacheDivider the cache divider of equivalence class factories.
+ * @param growthFactor the growth factor of all node tables.
+ */
+public record JBddConfiguration(
+    int setNodes,
+    int setCacheDivider,
+    boolean setGarbageCollection,
+    int formulaNodes,
+    int formulaCacheDivider,
+    int growthFactor) {
+
+  public static final JBddConfiguration DEFAULT
+      = new JBddConfiguration(1024, 4, true, 1024, 8, 4);
+
+  @Nullable
+  private static volatile JBddConfiguration current = null;
+
+  public JBddConfiguration {
+    checkArgument(setNodes > 0, "setNodes must be positive.");
+    checkArgument(setCacheDivider > 0, "setCacheDivider must be positive.");
+    checkArgument(formulaNodes > 0, "formulaNodes must be positive.");
+    checkArgument(formulaCacheDivider > 0, "formulaCacheDivider must be positive.");
+    checkArgument(growthFactor > 1, "growthFactor must be larger than 1.");
+  }
+
+  /**
+   * Returns the configuration set by {@link #setCurrent(JBddConfiguration)} or, if none has been
+   * set, the configuration given by the environment of the running process.
+   */
+  public static JBddConfiguration current() {
+    var configuration = current;
+    return configuration == null ? Holder.CURRENT : configuration;
+  }
+
+  /**
+   * Replace the configuration of the running process. Only factories created afterwards use the
+   * new configuration.
+   *
+   * @param configuration the configuration.
+   */
+  public static void setCurrent(JBddConfiguration configuration) {
+    current = Objects.requireNonNull(configuration);
+  }
+
+  /**
+   * Parse a configuration from the given environment. Unset variables take their values from
+   * {@link #DEFAULT}.
+   *
+   * @param environment the environment, e.g., {@link System#getenv()}.
+   * @return the configuration.
+   * @throws IllegalArgumentException if a variable has an illegal value.
+   */
+  public static JBddConfiguration fromEnvironment(Map<String, String> environment) {
+    return new JBddConfiguration(
+        intValue(environment, "OWL_BDD_SET_NODES", DEFAULT.setNodes),
+        intValue(environment, "OWL_BDD_SET_CACHE_DIVIDER", DEFAULT.setCacheDivider),
+        booleanValue(environment, "OWL_BDD_SET_GC", DEFAULT.setGarbageCollection),
+        intValue(environment, "OWL_BDD_FORMULA_NODES", DEFAULT.formulaNodes),
+        intValue(environment, "OWL_BDD_FORMULA_CACHE_DIVIDER", DEFAULT.formulaCacheDivider),
+        intValue(environment, "OWL_BDD_GROWTH_FACTOR", DEFAULT.growthFactor));
+  }
+
+  Bdd createSetBdd() {
+    var configuration = ImmutableBddConfiguration.builder()
+        .logStatisticsOnShutdown(false)
+        .useGlobalComposeCache(false)
+        .useGarbageCollection(setGarbageCollection)
+        .integrityDuplicatesMaximalSize(50)
+        .cacheBinaryDivider(setCacheDivider)
+        .cacheTernaryDivider(setCacheDivider)
+        .growthFactor(growthFactor)
+        .build();
+
+    // Do not use buildBddIterative, since 'support(...)' is broken.
+    return BddFactory.buildBddRecursive(setNodes, configuration);
+  }
+
+  Bdd createFormulaBdd(int atomicPropositionsSize) {
+    // Garbage collection is disabled, since it is triggered too frequently and has an adverse
+    // impact on the runtime.
+    var configuration = ImmutableBddConfiguration.builder()
+        .logStatisticsOnShutdown(false)
+        .useGlobalComposeCache(false)
+        .useGarbageCollection(false)
+        .cacheBinaryDivider(formulaCacheDivider)
+        .cacheTernaryDivider(formulaCacheDivider)
+        .growthFactor(growthFactor)
+        .build();
+
+    // Do not use buildBddIterative, since 'support(...)' is broken.
+    return BddFactory.buildBddRecursive(
+        Math.multiplyExact(formulaNodes, atomicPropositionsSize + 1), configuration);
+  }
+
+  private static int intValue(Map<String, String> environment, String name, int defaultValue) {
+    String value = environment.get(name);
+
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+
+    try {
+      return Integer.parseInt(value.strip());
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException(
+          String.format("%s must be an integer, but is \"%s\".", name, value), ex);
+    }
+  }
+
+  private static boolean booleanValue(
+      Map<String, String> environment, String name, boolean defaultValue) {
+
+    String value = environment.get(name);
+
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+
+    return switch (value.strip()) {
+      case "true" -> true;
+      case "false" -> false;
+      default -> throw new IllegalArgumentException(
+          String.format("%s must be a boolean, but is \"%s\".", name, value));
+    };
+  }
+
+  private static final class Holder {
+    private static final JBddConfiguration CURRENT = fromEnvironment(System.getenv());
+  }
+}
@@ -22,10 +22,6 @@ package owl.bdd.jbdd;
 import static owl.bdd.jbdd.JBddEquivalenceClassFactory.JBddEquivalenceClass;
 
 import com.google.common.base.Preconditions;
-import de.tum.in.jbdd.Bdd;
-import de.tum.in.jbdd.BddConfiguration;
-import de.tum.in.jbdd.BddFactory;
-import de.tum.in.jbdd.ImmutableBddConfiguration;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.AbstractSet;
@@ -61,6 +57,7 @@ import owl.ltl.LabelledFormula;
 import owl.ltl.Literal;
 import owl.ltl.visitors.PrintVisitor;
 import owl.ltl.visitors.PropositionalVisitor;
+import owl.util.FlightRecorderEvents;
 
 final class JBddEquivalenceClassFactory
     extends JBddGcManagedFactory<JBddEquivalenceClass>
@@ -122,7 +119,7 @@ final class JBddEquivalenceClassFactory
   };
 
   JBddEquivalenceClassFactory(List<String> atomicPropositions, Encoding encoding) {
-    super(createBdd(atomicPropositions.size()), true);
+    super(JBddConfiguration.current().createFormulaBdd(atomicPropositions.size()), true);
 
     this.atomicPropositions = List.copyOf(atomicPropositions);
 
@@ -175,24 +172,6 @@ final class JBddEquivalenceClassFactory
     falseClass = of(BooleanConstant.FALSE, falseNode);
   }
 
-  static Bdd createBdd(int atomicPropositionsSize) {
-    int size = 1024 * (atomicPropositionsSize + 1);
-
-    // Garbage collection is disabled, since it is triggered too frequently and has an adverse
-    // impact on the runtime.
-    BddConfiguration configuration = ImmutableBddConfiguration.builder()
-        .logStatisticsOnShutdown(false)
-        .useGlobalComposeCache(false)
-        .useGarbageCollection(false)
-        .cacheBinaryDivider(8)
-        .cacheTernaryDivider(8)
-        .growthFactor(4)
-        .build();
-
-    // Do not use buildBddIterative, since 'support(...)' is broken.
-    return BddFactory.buildBddRecursive(size, configuration);
-  }
-
   @Override
   public Encoding defaultEncoding() {
     return encoding;
@@ -240,7 +219,19 @@ final class JBddEquivalenceClassFactory
 
   @Override
   public JBddEquivalenceClass of(Formula formula) {
-    return of(formula, true);
+    var event = new FlightRecorderEvents.EquivalenceClassConstruction();
+    event.begin();
+
+    int temporalOperators = temporalOperatorMapping.size();
+    var equivalenceClass = of(formula, true);
+
+    if (event.shouldCommit()) {
+      event.temporalOperators = temporalOperatorMapping.size();
+      event.newTemporalOperators = temporalOperatorMapping.size() - temporalOperators;
+      event.commit();
+    }
+
+    return equivalenceClass;
   }
 
   private JBddEquivalenceClass of(Formula formula, boolean scanForUnknown) {
@@ -1000,7 +991,15 @@ final class JBddEquivalenceClassFactory
     @Override
     public MtBdd<EquivalenceClass> temporalStepTree() {
       if (temporalStepTreeCache == null) {
+        var event = new FlightRecorderEvents.TemporalStepTreeComputation();
+        event.begin();
+
         temporalStepTree(representative(), new BitSet());
+
+        if (event.shouldCommit()) {
+          event.representative = representative().toString();
+          event.commit();
+        }
       }
 
       return Objects.requireNonNull(temporalStepTreeCache);
@@ -25,21 +25,31 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nullable;
 
 sealed abstract class JBddGcManagedFactory<V extends JBddGcManagedFactory.JBddNode>
     permits JBddEquivalenceClassFactory, JBddSetFactory {
 
+  // Statistics across all factories, see JBddSupplier.statistics().
+  static final LongAdder CREATED_FACTORIES = new LongAdder();
+  static final LongAdder CREATED_NODES = new LongAdder();
+  static final LongAdder RECLAIMED_NODES = new LongAdder();
+  static final LongAccumulator PEAK_NODES = new LongAccumulator(Math::max, 0);
+
   protected final Bdd bdd;
   private final Map<Integer, JBddNodeReference<V>> gcObjects = new HashMap<>();
   private final Map<Integer, V> nonGcObjects = new HashMap<>();
   private final ReferenceQueue<V> queue = new ReferenceQueue<>();
 
   private final boolean gcDisabled;
+  private int peakGcObjects = 0;
 
   JBddGcManagedFactory(Bdd bdd, boolean gcDisabled) {
     this.bdd = bdd;
     this.gcDisabled = gcDisabled;
+    CREATED_FACTORIES.increment();
   }
 
   // This is not thread safe!
@@ -85,6 +95,13 @@ sealed abstract class JBddGcManagedFactory<V extends JBddGcManagedFactory.JBddNo
     processReferenceQueue(node);
     // Insert BDD into mapping.
     gcObjects.put(node, new JBddNodeReference<>(wrapper, queue));
+    CREATED_NODES.increment();
+
+    if (gcObjects.size() > peakGcObjects) {
+      peakGcObjects = gcObjects.size();
+      PEAK_NODES.accumulate(peakGcObjects);
+    }
+
     assert gcDisabled || bdd.getReferenceCount(node) == 1;
     return wrapper;
   }
@@ -108,7 +125,6 @@ sealed abstract class JBddGcManagedFactory<V extends JBddGcManagedFactory.JBddNo
       return;
     }
 
-    // int count = 0;
     do {
       int node = ((JBddNodeReference<?>) reference).node;
       gcObjects.remove(node);
@@ -117,13 +133,11 @@ sealed abstract class JBddGcManagedFactory<V extends JBddGcManagedFactory.JBddNo
         assert bdd.getReferenceCount(node) == 1;
         bdd.dereference(node);
         assert bdd.getReferenceCount(node) == 0;
-        // count += 1;
+        RECLAIMED_NODES.increment();
       }
 
       reference = queue.poll();
     } while (reference != null);
-
-    // System.err.printf("Cleared %d references", count);
   }
 
   private static final class JBddNodeReference<V extends JBddNode> extends WeakReference<V> {
@@ -37,6 +37,31 @@ public enum JBddSupplier implements FactorySupplier {
 
   @Override
   public BddSetFactory getBddSetFactory() {
-    return new JBddSetFactory(1024);
+    return new JBddSetFactory(JBddConfiguration.current());
   }
+
+  /**
+   * Returns statistics on all factories created so far. The node counts only include nodes that
+   * are referenced by a {@link owl.bdd.BddSet} or an {@link owl.bdd.EquivalenceClass}, not the
+   * intermediate nodes of BDD operations.
+   */
+  public static Statistics statistics() {
+    return new Statistics(
+        JBddGcManagedFactory.CREATED_FACTORIES.sum(),
+        JBddGcManagedFactory.CREATED_NODES.sum(),
+        JBddGcManagedFactory.RECLAIMED_NODES.sum(),
+        JBddGcManagedFactory.PEAK_NODES.get());
+  }
+
+  /**
+   * Statistics on the BDD factories.
+   *
+   * @param factories the number of created factories.
+   * @param createdNodes the number of nodes that have been referenced.
+   * @param reclaimedNodes the number of referenced nodes that have been released for garbage
+   *     collection.
+   * @param peakNodes the maximal number of nodes referenced at once by a single factory.
+   */
+  public record Statistics(
+      long factories, long createdNodes, long reclaimedNodes, long peakNodes) {}
 }
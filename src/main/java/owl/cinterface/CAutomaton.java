@@ -71,9 +71,11 @@ import owl.automaton.edge.Edge;
 import owl.automaton.hoa.HoaReader;
 import owl.bdd.FactorySupplier;
 import owl.bdd.MtBdd;
+import owl.collections.Numbering;
 import owl.logic.propositional.PropositionalFormula;
 import owl.ltl.LabelledFormula;
 import owl.thirdparty.jhoafparser.parser.generated.ParseException;
+import owl.translations.DeduplicatingTranslations;
 import owl.translations.LtlTranslationRepository;
 import owl.translations.LtlTranslationRepository.LtlToDpaTranslation;
 import owl.translations.LtlTranslationRepository.LtlToDraTranslation;
@@ -88,6 +90,8 @@ public final class CAutomaton {
 
   private static final String NAMESPACE = "automaton_";
   private static final Pattern WHITE_SPACE = Pattern.compile("\\s+");
+  private static final DeduplicatingTranslations DEDUPLICATING_TRANSLATIONS
+      = DeduplicatingTranslations.create(256);
 
   private CAutomaton() {
   }
@@ -321,6 +325,16 @@ public final class CAutomaton {
       throw new IllegalArgumentException("Selected unknown translation");
     }
 
+    if (translationOptions.contains(
+        LtlTranslationRepository.Option.X_DEDUPLICATE_ISOMORPHIC_FORMULAS)) {
+
+      translationFunction = DEDUPLICATING_TRANSLATIONS.deduplicated(
+          translation + " " + lookahead,
+          translationOptions,
+          EmersonLeiAcceptance.class,
+          translationFunction);
+    }
+
     var formula = ObjectHandles.getGlobal().<LabelledFormula>get(cLabelledFormula);
     var automaton = translationFunction.apply(formula);
     return ObjectHandles.getGlobal().create(AutomatonWrapper.of(automaton, -1));
@@ -445,9 +459,9 @@ public final class CAutomaton {
     for (int i = 0; i < size; i++) {
       int stateId = stateIds.elements().read(i);
 
-      var uncastedState = stateId == INITIAL && automaton.index2StateMap.isEmpty()
+      var uncastedState = stateId == INITIAL && automaton.stateNumbering.size() == 0
           ? automaton.automaton.initialState()
-          : automaton.index2StateMap.get(stateId);
+          : automaton.stateNumbering.lookup(stateId);
 
       if (!(uncastedState instanceof ZielonkaState)) {
         throw new IllegalArgumentException(
@@ -687,8 +701,7 @@ public final class CAutomaton {
     final int uncontrollableApSize;
 
     // Mapping information
-    private final List<S> index2StateMap;
-    private final Map<S, Integer> state2indexMap;
+    private final Numbering<S> stateNumbering;
 
     // Additional features for C interface
     private final ToDoubleFunction<? super Edge<S>> qualityScore;
@@ -705,8 +718,7 @@ public final class CAutomaton {
       this.acceptance = acceptance;
       this.qualityScore = qualityScore;
 
-      this.index2StateMap = new ArrayList<>();
-      this.state2indexMap = new HashMap<>();
+      this.stateNumbering = new Numbering<>();
       this.uncontrollableApSize = uncontrollableApSize;
 
       // Ensure that the initial state is assigned 0 in the mapping.
@@ -743,17 +755,7 @@ public final class CAutomaton {
     }
 
     private int index(S state) {
-      Objects.requireNonNull(state);
-
-      Integer index = state2indexMap.get(state);
-
-      if (index == null) {
-        index = index2StateMap.size();
-        index2StateMap.add(state);
-        state2indexMap.put(state, index);
-      }
-
-      return index;
+      return stateNumbering.lookup(Objects.requireNonNull(state));
     }
 
     private void serialise(
@@ -812,9 +814,9 @@ public final class CAutomaton {
 
     SerialisedEdgeTree edgeTree(int stateIndex, boolean computeScores) {
       // If the automaton accepts everything, then index2stateMap is empty.
-      S state = stateIndex == INITIAL && index2StateMap.isEmpty()
+      S state = stateIndex == INITIAL && stateNumbering.size() == 0
           ? automaton.initialState()
-          : index2StateMap.get(stateIndex);
+          : stateNumbering.lookup(stateIndex);
 
       var edgeTree = automaton.edgeTree(state);
       var serialisedEdgeTree = new SerialisedEdgeTree(computeScores);
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.collections;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive ints.
+ */
+public final class IntArrayList {
+
+  private int[] elements;
+  private int size;
+
+  public IntArrayList() {
+    this(10);
+  }
+
+  public IntArrayList(int initialCapacity) {
+    checkArgument(initialCapacity >= 0);
+    elements = new int[initialCapacity];
+  }
+
+  public void add(int element) {
+    if (size == elements.length) {
+      elements = Arrays.copyOf(elements, Math.max(2 * elements.length, 10));
+    }
+
+    elements[size++] = element;
+  }
+
+  public int get(int index) {
+    checkIndex(index);
+    return elements[index];
+  }
+
+  public int set(int index, int element) {
+    checkIndex(index);
+    int oldElement = elements[index];
+    elements[index] = element;
+    return oldElement;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  public void sort() {
+    Arrays.sort(elements, 0, size);
+  }
+
+  public int[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || size <= index) {
+      throw new IndexOutOfBoundsException(index);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof IntArrayList that
+        && Arrays.equals(elements, 0, size, that.elements, 0, that.size);
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 1;
+
+    for (int i = 0; i < size; i++) {
+      hashCode = 31 * hashCode + elements[i];
+    }
+
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(toArray());
+  }
+}
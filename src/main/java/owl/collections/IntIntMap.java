@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.collections;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A map from ints to ints implemented as an open-addressing hash table with linear probing. Keys
+ * and values are stored in primitive arrays and thus no objects are allocated for entries.
+ */
+public final class IntIntMap {
+
+  private int[] keys;
+  private int[] values;
+  private boolean[] used;
+  private int size;
+
+  public IntIntMap() {
+    this(8);
+  }
+
+  public IntIntMap(int initialCapacity) {
+    checkArgument(initialCapacity >= 0);
+    int tableSize = Integer.highestOneBit(Math.max(2 * initialCapacity, 16) - 1) << 1;
+    keys = new int[tableSize];
+    values = new int[tableSize];
+    used = new boolean[tableSize];
+  }
+
+  /**
+   * Associates the value with the key.
+   *
+   * @return the previous value associated with the key or {@code missingValue}, if there was none.
+   */
+  public int put(int key, int value, int missingValue) {
+    int slot = slot(key);
+
+    if (used[slot]) {
+      int oldValue = values[slot];
+      values[slot] = value;
+      return oldValue;
+    }
+
+    used[slot] = true;
+    keys[slot] = key;
+    values[slot] = value;
+    size++;
+
+    // Keep the load factor below 1/2.
+    if (2 * size > keys.length) {
+      rehash(2 * keys.length);
+    }
+
+    return missingValue;
+  }
+
+  /**
+   * Returns the value associated with the key or {@code missingValue}, if there is none.
+   */
+  public int get(int key, int missingValue) {
+    int slot = slot(key);
+    return used[slot] ? values[slot] : missingValue;
+  }
+
+  public boolean containsKey(int key) {
+    return used[slot(key)];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // Returns the slot of the key or the free slot where it would be inserted.
+  private int slot(int key) {
+    int mask = keys.length - 1;
+    int slot = Numbering.mix(key) & mask;
+
+    while (used[slot] && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+
+    return slot;
+  }
+
+  private void rehash(int tableSize) {
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    boolean[] oldUsed = used;
+
+    keys = new int[tableSize];
+    values = new int[tableSize];
+    used = new boolean[tableSize];
+
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldUsed[i]) {
+        int slot = slot(oldKeys[i]);
+        used[slot] = true;
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+}
@@ -19,48 +19,213 @@
 
 package owl.collections;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
 
+/**
+ * A bijection between elements and the integers {@code 0, ..., size() - 1}. Elements are numbered
+ * in the order of their first lookup.
+ *
+ * <p>The forward direction is an open-addressing hash table with linear probing that stores the
+ * numbers as primitive ints, and the backward direction is an array indexed by the number. Thus
+ * lookups do not allocate any objects. Null elements are not permitted.</p>
+ */
 public class Numbering<E> {
 
-  private final Map<E, Integer> mapping;
-  private final List<E> reverseMapping;
+  private static final int DEFAULT_CAPACITY = 16;
+
+  // Hash table: keys[i] is either null or an element with number numbers[i].
+  private Object[] keys;
+  private int[] numbers;
+
+  // Reverse mapping: elements[n] is the element with number n.
+  private Object[] elements;
+  private int size;
 
   public Numbering() {
-    mapping = new HashMap<>();
-    reverseMapping = new ArrayList<>();
+    this(DEFAULT_CAPACITY);
   }
 
   public Numbering(int initialCapacity) {
-    mapping = new HashMap<>(initialCapacity);
-    reverseMapping = new ArrayList<>(initialCapacity);
+    checkArgument(initialCapacity >= 0);
+    int tableSize = Integer.highestOneBit(Math.max(2 * initialCapacity, DEFAULT_CAPACITY) - 1) << 1;
+    keys = new Object[tableSize];
+    numbers = new int[tableSize];
+    elements = new Object[Math.max(initialCapacity, 1)];
   }
 
+  /**
+   * Returns the number of the element. If the element has no number yet, it is assigned the
+   * number {@link #size()}.
+   */
   public int lookup(E element) {
-    Integer number = mapping.get(element);
+    Objects.requireNonNull(element);
+    int mask = keys.length - 1;
+    int slot = hash(element) & mask;
+
+    for (Object key = keys[slot]; key != null; key = keys[slot]) {
+      if (key.equals(element)) {
+        return numbers[slot];
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    int number = size;
+
+    if (number == elements.length) {
+      Object[] newElements = new Object[2 * elements.length];
+      System.arraycopy(elements, 0, newElements, 0, size);
+      elements = newElements;
+    }
+
+    elements[number] = element;
+    keys[slot] = element;
+    numbers[slot] = number;
+    size++;
 
-    if (number == null) {
-      mapping.put(element, reverseMapping.size());
-      reverseMapping.add(element);
-      return reverseMapping.size() - 1;
+    // Keep the load factor below 1/2.
+    if (2 * size > keys.length) {
+      rehash(2 * keys.length);
     }
 
     return number;
   }
 
+  /**
+   * Returns the element with the given number.
+   *
+   * @throws IllegalArgumentException if no element has the given number.
+   */
+  @SuppressWarnings("unchecked")
   public E lookup(int index) {
-    if (reverseMapping.size() <= index) {
+    if (index < 0 || size <= index) {
       throw new IllegalArgumentException("no mapping defined");
     }
 
-    return reverseMapping.get(index);
+    return (E) elements[index];
+  }
+
+  /**
+   * Returns the number of the element or {@code -1}, if the element has no number. In contrast to
+   * {@link #lookup(Object)} no number is assigned.
+   */
+  public int indexOf(@Nullable Object element) {
+    if (element == null) {
+      return -1;
+    }
+
+    int mask = keys.length - 1;
+    int slot = hash(element) & mask;
+
+    for (Object key = keys[slot]; key != null; key = keys[slot]) {
+      if (key.equals(element)) {
+        return numbers[slot];
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    return -1;
   }
 
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns an unmodifiable view of the numbering. The entries are iterated in the order of their
+   * numbers.
+   */
   public Map<E, Integer> asMap() {
-    return Collections.unmodifiableMap(mapping);
+    return new AbstractMap<>() {
+      @Override
+      public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+      }
+
+      @Nullable
+      @Override
+      public Integer get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : index;
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public Set<Entry<E, Integer>> entrySet() {
+        return new AbstractSet<>() {
+          @Override
+          public Iterator<Entry<E, Integer>> iterator() {
+            return new Iterator<>() {
+              private int next = 0;
+
+              @Override
+              public boolean hasNext() {
+                return next < size;
+              }
+
+              @Override
+              public Entry<E, Integer> next() {
+                if (!hasNext()) {
+                  throw new NoSuchElementException();
+                }
+
+                int index = next++;
+                return Map.entry(lookup(index), index);
+              }
+            };
+          }
+
+          @Override
+          public int size() {
+            return size;
+          }
+        };
+      }
+    };
+  }
+
+  private void rehash(int tableSize) {
+    Object[] newKeys = new Object[tableSize];
+    int[] newNumbers = new int[tableSize];
+    int mask = tableSize - 1;
+
+    for (int number = 0; number < size; number++) {
+      Object element = elements[number];
+      int slot = hash(element) & mask;
+
+      while (newKeys[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+
+      newKeys[slot] = element;
+      newNumbers[slot] = number;
+    }
+
+    keys = newKeys;
+    numbers = newNumbers;
+  }
+
+  static int hash(Object element) {
+    return mix(element.hashCode());
+  }
+
+  // Spread the bits of weak hash codes, e.g., of Integer, over the whole range.
+  static int mix(int hashCode) {
+    int hash = hashCode * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
   }
 }
@@ -19,14 +19,26 @@
 
 package owl.command;
 
+import static owl.thirdparty.picocli.CommandLine.Command;
+import static owl.thirdparty.picocli.CommandLine.Mixin;
 import static owl.thirdparty.picocli.CommandLine.Option;
 import static owl.thirdparty.picocli.CommandLine.ParentCommand;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.graalvm.nativeimage.ImageInfo;
+import owl.bdd.jbdd.JBddSupplier;
+import owl.util.Metrics;
 
 abstract class AbstractOwlSubcommand extends AbstractOwlCommand {
 
@@ -50,9 +62,62 @@ abstract class AbstractOwlSubcommand extends AbstractOwlCommand {
   @SuppressWarnings("PMD.ImmutableField")
   private boolean nonNativeMode = false;
 
+  @Option(
+    names = "--metrics",
+    description = "Write metrics as JSON lines to the given file ('-' for stderr). For each "
+      + "processed formula or automaton there is one object with the runtime of the stages "
+      + "(parse, simplify, translate, optimise, serialise), the number of states and edges, and "
+      + "the solver calls. A final summary object reports the total runtime and BDD statistics."
+  )
+  private String metricsFile = null;
+
+  @Mixin
+  private Mixins.BddConfiguration bddConfiguration = null;
+
   @Override
-  @SuppressWarnings("PMD.SystemPrintln")
   public final Integer call() throws Exception {
+    bddConfiguration.apply();
+
+    if (metricsFile == null) {
+      return callImpl();
+    }
+
+    if (metricsFile.equals("-")) {
+      return callWithMetrics(
+        new BufferedWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8)));
+    }
+
+    try (var writer = Files.newBufferedWriter(Path.of(metricsFile))) {
+      return callWithMetrics(writer);
+    }
+  }
+
+  private Integer callWithMetrics(Writer writer) throws Exception {
+    Metrics.open(writer);
+
+    var stopwatch = Stopwatch.createStarted();
+    var summary = Metrics.record("summary")
+      .put("subcommand", getClass().getAnnotation(Command.class).name())
+      .put("arguments", rawArgs());
+
+    try {
+      int status = callImpl();
+      summary.put("status", status);
+      return status;
+    } finally {
+      var bddStatistics = JBddSupplier.statistics();
+      summary
+        .put("runtime_ns", stopwatch.elapsed(TimeUnit.NANOSECONDS))
+        .put("bdd_factories", bddStatistics.factories())
+        .put("bdd_created_nodes", bddStatistics.createdNodes())
+        .put("bdd_reclaimed_nodes", bddStatistics.reclaimedNodes())
+        .put("bdd_peak_nodes", bddStatistics.peakNodes());
+      Metrics.close(summary);
+    }
+  }
+
+  @SuppressWarnings("PMD.SystemPrintln")
+  private Integer callImpl() throws Exception {
     boolean enforceNativeMode = !nonNativeMode;
 
     if (enforceNativeMode && !ImageInfo.inImageCode()) {
@@ -28,7 +28,6 @@ import static owl.command.Mixins.Verifier;
 import static owl.thirdparty.picocli.CommandLine.Command;
 import static owl.thirdparty.picocli.CommandLine.Mixin;
 
-import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
@@ -50,13 +49,13 @@ import owl.automaton.acceptance.transformer.ZielonkaTreeTransformations;
 import owl.automaton.algorithm.simulations.BuchiSimulation;
 import owl.automaton.minimization.GfgCoBuchiMinimization;
 import owl.command.Mixins.AutomatonWriter;
-import owl.thirdparty.jhoafparser.consumer.HOAConsumerException;
 import owl.thirdparty.picocli.CommandLine;
 import owl.thirdparty.picocli.CommandLine.Option;
 import owl.translations.nba2ldba.NBA2LDBA;
 import owl.translations.nbadet.NbaDet;
 import owl.translations.nbadet.NbaDetConf;
 import owl.translations.nbadet.NbaLangInclusions;
+import owl.util.Metrics;
 
 @SuppressWarnings("PMD.ImmutableField")
 public class AutomatonConversionCommands {
@@ -77,7 +76,7 @@ public class AutomatonConversionCommands {
     private Diagnostics diagnostics = null;
 
     @Override
-    protected int run() throws IOException, HOAConsumerException {
+    protected int run() throws Exception {
       var conversion = conversion();
 
       String subcommand = getClass().getAnnotation(Command.class).name();
@@ -89,21 +88,34 @@ public class AutomatonConversionCommands {
         var automatonIterator = source.iterator();
 
         while (automatonIterator.hasNext()) {
-          var automaton1 = automatonIterator.next();
-
-          if (!acceptanceSimplifier.skipAcceptanceSimplifier) {
-            automaton1 = AcceptanceOptimizations.transform(automaton1);
-          }
-
-          diagnostics.start(String.format("%s (%s)", subcommand, rawArgs()), automaton1);
-          var automaton2 = conversion.apply(automaton1);
-          diagnostics.finish(automaton2);
-
-          if (allowSimplifierOnOutput() && !acceptanceSimplifier.skipAcceptanceSimplifier) {
-            automaton2 = AcceptanceOptimizations.transform(automaton2);
-          }
-
-          sink.accept(automaton2, String.format("Converted Automaton (index: %d)", counter));
+          var record = Metrics.record("automaton").put("index", counter);
+          int index = counter;
+
+          Metrics.callWith(record, () -> {
+            var automaton1 = Metrics.time("parse", automatonIterator::next);
+
+            if (!acceptanceSimplifier.skipAcceptanceSimplifier) {
+              var parsedAutomaton = automaton1;
+              automaton1 = Metrics.time("optimise",
+                () -> AcceptanceOptimizations.transform(parsedAutomaton));
+            }
+
+            var inputAutomaton = automaton1;
+            diagnostics.start(String.format("%s (%s)", subcommand, rawArgs()), automaton1);
+            var automaton2 = Metrics.time("translate", () -> conversion.apply(inputAutomaton));
+            diagnostics.finish(automaton2);
+
+            if (allowSimplifierOnOutput() && !acceptanceSimplifier.skipAcceptanceSimplifier) {
+              var convertedAutomaton = automaton2;
+              automaton2 = Metrics.time("optimise",
+                () -> AcceptanceOptimizations.transform(convertedAutomaton));
+            }
+
+            sink.accept(automaton2, String.format("Converted Automaton (index: %d)", index));
+            return null;
+          });
+
+          record.write();
           counter++;
         }
       }
@@ -138,6 +150,15 @@ public class AutomatonConversionCommands {
   static final class Aut2ParityCommand
     extends AbstractAutomaton2AutomatonCommand<EmersonLeiAcceptance, ParityAcceptance> {
 
+    @Option(
+      names = {"--lazy"},
+      description = "Write the states of the parity automaton while it is constructed instead of "
+        + "constructing the complete automaton first. Zielonka trees and alternating cycle "
+        + "decompositions are only computed for SCCs that are reached. This disables the "
+        + "simplification of the acceptance condition of the resulting automaton."
+    )
+    private boolean lazy = false;
+
     @Override
     protected Class<EmersonLeiAcceptance> acceptanceClass() {
       return EmersonLeiAcceptance.class;
@@ -155,6 +176,11 @@ public class AutomatonConversionCommands {
 
       return ZielonkaTreeTransformations.transform(automaton);
     }
+
+    @Override
+    protected boolean allowSimplifierOnOutput() {
+      return !lazy;
+    }
   }
 
   @Command(
@@ -26,32 +26,49 @@ import static owl.translations.LtlTranslationRepository.LtlToDelaTranslation;
 import static owl.translations.LtlTranslationRepository.LtlToDpaTranslation;
 import static owl.translations.LtlTranslationRepository.LtlToDraTranslation;
 import static owl.translations.LtlTranslationRepository.Option.COMPLETE;
+import static owl.translations.LtlTranslationRepository.Option.MERGE_BISIMILAR_STATES;
 import static owl.translations.LtlTranslationRepository.Option.SIMPLIFY_AUTOMATON;
 import static owl.translations.LtlTranslationRepository.Option.SIMPLIFY_FORMULA;
 import static owl.translations.LtlTranslationRepository.Option.USE_PORTFOLIO_FOR_SYNTACTIC_LTL_FRAGMENTS;
 import static owl.translations.LtlTranslationRepository.Option.X_DPA_USE_COMPLEMENT;
 import static owl.translations.LtlTranslationRepository.Option.X_DRA_NORMAL_FORM_USE_DUAL;
 
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import javax.annotation.Nullable;
 import owl.Bibliography;
+import owl.automaton.Automaton;
 import owl.automaton.acceptance.BuchiAcceptance;
 import owl.automaton.acceptance.EmersonLeiAcceptance;
 import owl.automaton.acceptance.GeneralizedBuchiAcceptance;
 import owl.automaton.acceptance.GeneralizedRabinAcceptance;
 import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.acceptance.RabinAcceptance;
+import owl.bdd.jbdd.JBddSupplier;
 import owl.command.Mixins.AutomatonWriter;
 import owl.ltl.LabelledFormula;
 import owl.thirdparty.picocli.CommandLine;
 import owl.thirdparty.picocli.CommandLine.Command;
 import owl.thirdparty.picocli.CommandLine.Mixin;
+import owl.thirdparty.picocli.CommandLine.Model.CommandSpec;
 import owl.thirdparty.picocli.CommandLine.Option;
+import owl.thirdparty.picocli.CommandLine.ParameterException;
+import owl.thirdparty.picocli.CommandLine.Spec;
 import owl.translations.LtlTranslationRepository;
 import owl.translations.LtlTranslationRepository.LtlToLdbaTranslation;
 import owl.translations.LtlTranslationRepository.LtlToNbaTranslation;
+import owl.translations.DeduplicatingTranslations;
+import owl.translations.TranslationCache;
+import owl.util.Metrics;
 
 @SuppressWarnings("PMD.ImmutableField")
 final class LtlTranslationCommands {
@@ -62,9 +79,14 @@ final class LtlTranslationCommands {
   private abstract static class AbstractLtl2AutomatonCommand
       <L extends A, A extends EmersonLeiAcceptance> extends AbstractOwlSubcommand {
 
+    private static final long DEDUPLICATION_CACHE_SIZE = 1024;
+
     protected static final String LIST_AVAILABLE_TRANSLATIONS = "The default translation is "
         + "${DEFAULT-VALUE} and the following translations are available: ${COMPLETION-CANDIDATES}.";
 
+    @Spec
+    private CommandSpec spec = null;
+
     @Mixin
     private FormulaReader formulaReader = null;
 
@@ -84,8 +106,57 @@ final class LtlTranslationCommands {
     )
     private boolean skipPortfolio = false;
 
+    @Option(
+        names = "--skip-merge-bisimilar-states",
+        description = "Do not merge bisimilar states of deterministic automata. Merging explores "
+            + "the complete automaton."
+    )
+    private boolean skipMergeBisimilarStates = false;
+
+    @Option(
+        names = {"-j", "--jobs"},
+        description = "Number of formulas that are translated concurrently. Each formula is "
+            + "translated with its own factories and the automata are written in the order of the "
+            + "input. At most twice this number of translated, but not yet written automata are "
+            + "kept in memory. The number must be positive. The default value is "
+            + "${DEFAULT-VALUE}.",
+        defaultValue = "1"
+    )
+    private int jobs = 1;
+
+    @Option(
+        names = "--cache-directory",
+        description = "Directory of a persistent translation cache. Results are keyed by the "
+            + "(simplified) formula up to renaming of atomic propositions, the translation, and "
+            + "its options. Automata obtained from the cache have integer states and do not "
+            + "carry state labels. By default no cache is used."
+    )
+    private String cacheDirectory = null;
+
+    @Option(
+        names = "--cache-size",
+        description = "Maximal size of the translation cache in megabytes. If the size is "
+            + "exceeded, the least recently used entries are evicted. The default value is "
+            + "${DEFAULT-VALUE}.",
+        defaultValue = "512"
+    )
+    private long cacheSize = 512;
+
+    @Option(
+        names = "--deduplicate",
+        description = "Translate formulas that are equal up to the naming and order of atomic "
+            + "propositions only once and relabel the automaton for the other formulas. "
+            + "Automata obtained this way have integer states and do not carry state labels."
+    )
+    private boolean deduplicate = false;
+
     @Override
     protected int run() throws Exception {
+      if (jobs < 1) {
+        throw new ParameterException(spec.commandLine(), String.format(
+            "Invalid value '%d' for option '--jobs': the number of jobs must be positive.", jobs));
+      }
+
       var translation = translation();
       var acceptanceClass = acceptanceClass();
 
@@ -99,6 +170,10 @@ final class LtlTranslationCommands {
         basicOptions.add(SIMPLIFY_AUTOMATON);
       }
 
+      if (!skipMergeBisimilarStates) {
+        basicOptions.add(MERGE_BISIMILAR_STATES);
+      }
+
       if (automatonWriter.complete) {
         basicOptions.add(COMPLETE);
       }
@@ -110,22 +185,152 @@ final class LtlTranslationCommands {
       basicOptions.addAll(extraOptions());
 
       var subcommand = getClass().getAnnotation(Command.class).name();
-      var translator = translation.translation(acceptanceClass, basicOptions, lookahead());
+      var translationKey = String.join(" ",
+          subcommand, translation.toString(), acceptanceClass.getSimpleName(),
+          lookahead().toString());
+      var baseTranslator = translation.translation(acceptanceClass, basicOptions, lookahead());
+
+      if (cacheDirectory != null) {
+        var cache = TranslationCache.of(Path.of(cacheDirectory), cacheSize * 1024 * 1024);
+        baseTranslator = cache.cached(
+            translationKey, basicOptions, acceptanceClass, baseTranslator);
+      }
+
+      Function<LabelledFormula, ? extends Automaton<?, ?>> translator = deduplicate
+          ? DeduplicatingTranslations.create(DEDUPLICATION_CACHE_SIZE).deduplicated(
+              translationKey, basicOptions, acceptanceClass, baseTranslator)
+          : baseTranslator;
 
       try (var source = formulaReader.source();
           var sink = automatonWriter.sink(subcommand, rawArgs())) {
 
         Iterator<LabelledFormula> formulaIterator = source.iterator();
 
-        while (formulaIterator.hasNext()) {
-          LabelledFormula formula = formulaIterator.next();
-          sink.accept(translator.apply(formula), "Automaton for " + formula);
+        if (jobs == 1) {
+          for (int index = 0; ; index++) {
+            var record = Metrics.record("formula").put("index", index);
+
+            boolean translated = Metrics.callWith(record, () -> {
+              var bddStatistics = JBddSupplier.statistics();
+              LabelledFormula formula = nextFormula(formulaIterator);
+
+              if (formula == null) {
+                return false;
+              }
+
+              sink.accept(translator.apply(formula), "Automaton for " + formula);
+
+              var newBddStatistics = JBddSupplier.statistics();
+              Metrics.put("bdd_created_nodes",
+                  newBddStatistics.createdNodes() - bddStatistics.createdNodes());
+              Metrics.put("bdd_reclaimed_nodes",
+                  newBddStatistics.reclaimedNodes() - bddStatistics.reclaimedNodes());
+              return true;
+            });
+
+            if (!translated) {
+              break;
+            }
+
+            record.write();
+          }
+        } else {
+          translateConcurrently(formulaIterator, translator, sink);
         }
       }
 
       return 0;
     }
 
+    // Returns the next formula or null, and records the time spent on reading and parsing it.
+    @Nullable
+    private static LabelledFormula nextFormula(Iterator<LabelledFormula> formulaIterator) {
+      long start = System.nanoTime();
+      LabelledFormula formula = formulaIterator.hasNext() ? formulaIterator.next() : null;
+      Metrics.addTime("parse", System.nanoTime() - start);
+
+      if (formula != null) {
+        Metrics.put("formula", formula);
+      }
+
+      return formula;
+    }
+
+    private void translateConcurrently(
+        Iterator<LabelledFormula> formulaIterator,
+        Function<LabelledFormula, ? extends Automaton<?, ?>> translator,
+        AutomatonWriter.Sink sink) throws Exception {
+
+      var executor = Executors.newFixedThreadPool(jobs);
+      // Futures are kept in the order of the input and thus act as a reorder buffer. The size of
+      // the buffer bounds the number of translated, but not yet written automata.
+      var pending = new ArrayDeque<PendingTranslation>();
+      int maxPending = 2 * jobs;
+
+      try {
+        for (int index = 0; ; index++) {
+          var record = Metrics.record("formula").put("index", index);
+          LabelledFormula formula = Metrics.getWith(record, () -> nextFormula(formulaIterator));
+
+          if (formula == null) {
+            break;
+          }
+
+          pending.add(new PendingTranslation(formula, record, executor.submit(
+              () -> Metrics.<Automaton<?, ?>>getWith(record, () -> {
+                Automaton<?, ?> automaton = translator.apply(formula);
+                // Force the exploration of the state space on the worker thread.
+                automaton.states();
+                return automaton;
+              }))));
+
+          if (pending.size() >= maxPending) {
+            writeNext(pending, sink);
+          }
+        }
+
+        while (!pending.isEmpty()) {
+          writeNext(pending, sink);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+
+    private static void writeNext(
+        ArrayDeque<PendingTranslation> pending, AutomatonWriter.Sink sink) throws Exception {
+
+      var head = pending.remove();
+      Automaton<?, ?> automaton;
+
+      try {
+        automaton = Uninterruptibles.getUninterruptibly(head.automaton());
+      } catch (ExecutionException ex) {
+        var cause = ex.getCause();
+
+        // Unpack exceptions and errors.
+        if (cause instanceof Exception) {
+          throw (Exception) cause;
+        }
+
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+
+        throw ex;
+      }
+
+      Metrics.callWith(head.record(), () -> {
+        sink.accept(automaton, "Automaton for " + head.formula());
+        return null;
+      });
+
+      head.record().write();
+    }
+
+    private record PendingTranslation(
+        LabelledFormula formula, Metrics.Record record, Future<Automaton<?, ?>> automaton) {}
+
     protected abstract LtlTranslationRepository.LtlTranslation<L, A> translation();
 
     protected abstract Class<? extends A> acceptanceClass();
@@ -33,6 +33,8 @@ import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
@@ -50,9 +52,15 @@ import owl.automaton.acceptance.OmegaAcceptanceCast;
 import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.algorithm.SccDecomposition;
 import owl.automaton.hoa.HoaWriter;
+import owl.automaton.symbolic.DFISymbolicDPASolver;
+import owl.automaton.symbolic.SymbolicControllerExtraction;
+import owl.automaton.symbolic.SymbolicDPASolver;
+import owl.collections.ImmutableBitSet;
 import owl.game.GameViews;
 import owl.game.PgSolverFormat;
+import owl.game.output.AigerPrinter;
 import owl.ltl.SyntacticFragments;
+import owl.translations.ltl2dpa.SymbolicDPAConstruction;
 
 @SuppressWarnings({"PMD.ImmutableField", "PMD.SystemPrintln"})
 final class MiscCommands {
@@ -1716,50 +1724,11 @@ final class MiscCommands {
     @ArgGroup(multiplicity = "1")
     private InputsOutputs inputsOutputs = null;
 
-    private static class InputsOutputs {
-      @Option(
-        names = {"-e", "--environment"},
-        description = "List of atomic propositions controlled by the environment."
-      )
-      private String[] environment;
-
-      @Option(
-        names = {"-s", "--system"},
-        description = "List of atomic propositions controlled by the system."
-      )
-      private String[] system;
-
-      @Option(
-        names = {"--environment-prefix"},
-        description = "Prefix of atomic propositions controlled by the environment."
-      )
-      private String environmentPrefix;
-
-      @Option(
-        names = {"--system-prefix"},
-        description = "Prefix of atomic propositions controlled by the system."
-      )
-      private String systemPrefix;
-    }
-
     @Override
     protected int run() throws IOException {
 
-      Predicate<String> environmentAtomicProposition;
-
-      if (inputsOutputs.environment != null) {
-        environmentAtomicProposition
-          = Arrays.asList(inputsOutputs.environment)::contains;
-      } else if (inputsOutputs.system != null) {
-        environmentAtomicProposition
-          = Predicate.not(Arrays.asList(inputsOutputs.system)::contains);
-      } else if (inputsOutputs.systemPrefix != null) {
-        environmentAtomicProposition
-          = Predicate.not(inputsOutputs.systemPrefix::startsWith);
-      } else {
-        environmentAtomicProposition
-          = inputsOutputs.environmentPrefix::startsWith;
-      }
+      Predicate<String> environmentAtomicProposition
+        = inputsOutputs.environmentAtomicProposition();
 
       try (var source = automatonReader.source(ParityAcceptance.class);
            var sink = new PrintWriter(gameFile == null
@@ -1788,4 +1757,122 @@ final class MiscCommands {
       return 0;
     }
   }
+
+  @Command(
+    name = "ltl2aig",
+    description =
+      "Synthesises a controller for an LTL specification whose atomic propositions are "
+        + "partitioned into inputs controlled by the environment and outputs controlled by the "
+        + "system. The specification is translated into a symbolic deterministic parity automaton "
+        + "that is solved as a game without constructing its states explicitly. This subcommand "
+        + "prints 'REALIZABLE' followed by a controller in the AIGER format or 'UNREALIZABLE' for "
+        + "each input formula."
+  )
+  static final class Ltl2AigCommand extends AbstractOwlSubcommand {
+
+    @Mixin
+    private Mixins.FormulaReader formulaReader = null;
+
+    @Option(
+      names = { "-o", "--output-file" },
+      description = "Output file (default: write to stdout)."
+    )
+    private Path outputFile = null;
+
+    @Option(
+      names = { "--binary" },
+      description = "Output the controller in the binary AIGER format."
+    )
+    private boolean binary = false;
+
+    @ArgGroup(multiplicity = "1")
+    private InputsOutputs inputsOutputs = null;
+
+    @Override
+    protected int run() throws IOException {
+
+      Predicate<String> environmentAtomicProposition
+        = inputsOutputs.environmentAtomicProposition();
+
+      try (var source = formulaReader.source();
+           var sink = new PrintWriter(outputFile == null
+             ? new BufferedWriter(new OutputStreamWriter(System.out))
+             : Files.newBufferedWriter(outputFile))) {
+
+        var formulaIterator = source.iterator();
+
+        while (formulaIterator.hasNext()) {
+          var formula = formulaIterator.next();
+          var dpa = SymbolicDPAConstruction.of().apply(formula);
+
+          BitSet controlledAps = new BitSet();
+          List<String> atomicPropositions = dpa.atomicPropositions();
+
+          for (int i = 0; i < atomicPropositions.size(); i++) {
+            if (!environmentAtomicProposition.test(atomicPropositions.get(i))) {
+              controlledAps.set(i);
+            }
+          }
+
+          var system = ImmutableBitSet.copyOf(controlledAps);
+          var solution = new DFISymbolicDPASolver().solve(dpa, system);
+
+          if (solution.winner() == SymbolicDPASolver.Solution.Winner.CONTROLLER) {
+            var printer = new AigerPrinter(binary);
+            SymbolicControllerExtraction.feedTo(dpa, system, solution.strategy(), printer);
+            sink.println("REALIZABLE");
+            printer.print(sink);
+          } else {
+            sink.println("UNREALIZABLE");
+          }
+
+          sink.flush();
+        }
+      }
+
+      return 0;
+    }
+  }
+
+  private static final class InputsOutputs {
+    @Option(
+      names = {"-e", "--environment"},
+      description = "List of atomic propositions controlled by the environment."
+    )
+    private String[] environment;
+
+    @Option(
+      names = {"-s", "--system"},
+      description = "List of atomic propositions controlled by the system."
+    )
+    private String[] system;
+
+    @Option(
+      names = {"--environment-prefix"},
+      description = "Prefix of atomic propositions controlled by the environment."
+    )
+    private String environmentPrefix;
+
+    @Option(
+      names = {"--system-prefix"},
+      description = "Prefix of atomic propositions controlled by the system."
+    )
+    private String systemPrefix;
+
+    private Predicate<String> environmentAtomicProposition() {
+      if (environment != null) {
+        return Arrays.asList(environment)::contains;
+      }
+
+      if (system != null) {
+        return Predicate.not(Arrays.asList(system)::contains);
+      }
+
+      if (systemPrefix != null) {
+        return atomicProposition -> !atomicProposition.startsWith(systemPrefix);
+      }
+
+      return atomicProposition -> atomicProposition.startsWith(environmentPrefix);
+    }
+  }
 }
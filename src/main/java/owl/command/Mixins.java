@@ -21,6 +21,8 @@ package owl.command;
 
 import static owl.thirdparty.picocli.CommandLine.ArgGroup;
 import static owl.thirdparty.picocli.CommandLine.Option;
+import static owl.thirdparty.picocli.CommandLine.ParameterException;
+import static owl.thirdparty.picocli.CommandLine.Spec;
 
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -51,6 +53,7 @@ import javax.swing.plaf.synth.SynthStyle;
 
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
+import owl.automaton.AbstractMemoizingAutomaton;
 import owl.automaton.Automaton;
 import owl.automaton.Views;
 import owl.automaton.acceptance.EmersonLeiAcceptance;
@@ -58,6 +61,8 @@ import owl.automaton.acceptance.OmegaAcceptanceCast;
 import owl.automaton.hoa.HoaReader;
 import owl.automaton.hoa.HoaWriter;
 import owl.bdd.FactorySupplier;
+import owl.bdd.jbdd.JBddConfiguration;
+import owl.bdd.jbdd.JBddSupplier;
 import owl.ltl.*;
 // import owl.ltl.LabelledFormula;
 
@@ -72,6 +77,8 @@ import owl.thirdparty.jhoafparser.consumer.HOAIntermediateStoreAndManipulate;
 import owl.thirdparty.jhoafparser.owl.extensions.HOAConsumerPrintFixed;
 import owl.thirdparty.jhoafparser.owl.extensions.ToStateAcceptanceFixed;
 import owl.thirdparty.jhoafparser.parser.generated.ParseException;
+import owl.thirdparty.picocli.CommandLine.Model.CommandSpec;
+import owl.util.Metrics;
 
 import java.io.File;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -141,6 +148,9 @@ public final class Mixins {
 
   static final class AutomatonWriter {
 
+    @Spec(Spec.Target.MIXEE)
+    private CommandSpec spec = null;
+
     @Option(
       names = { "-o", "--output-file" },
       description = "Output file (default: write to stdout). If '-' is specified, then the tool "
@@ -175,6 +185,14 @@ public final class Mixins {
     )
     private boolean stateLabels = false;
 
+    @Option(
+      names = {"--memoization-limit"},
+      description = "Keep at most the given number of edge trees in memory while writing an "
+        + "automaton that has not been explored yet. Evicted edge trees are recomputed on demand. "
+        + "This allows to output automata with transition relations that do not fit into memory."
+    )
+    private Integer memoizationLimit = null;
+
     class Sink implements AutoCloseable {
 
       private final BufferedWriter writer;
@@ -182,6 +200,12 @@ public final class Mixins {
       private final List<String> subcommandArgs;
 
       private Sink(String subcommand, List<String> subcommandArgs) throws IOException {
+        if (memoizationLimit != null && memoizationLimit < 1) {
+          throw new ParameterException(spec.commandLine(), String.format(
+            "Invalid value '%d' for option '--memoization-limit': the number of edge trees must "
+              + "be positive.", memoizationLimit));
+        }
+
         // Normalise for '-' representing output to stdout.
         if ("-".equals(automatonFile)) {
           automatonFile = null;
@@ -205,10 +229,16 @@ public final class Mixins {
           return;
         }
 
+        if (memoizationLimit != null
+          && automaton instanceof AbstractMemoizingAutomaton<?, ?> memoizingAutomaton) {
+          memoizingAutomaton.limitMemoizedEdgeTrees(memoizationLimit);
+        }
+
         if (complete && !automaton.is(Automaton.Property.COMPLETE)) {
           automaton = Views.complete(automaton);
         }
 
+        long start = System.nanoTime();
         var printer = new HOAConsumerPrintFixed(writer);
 
         // Replace this by a fixed version to preserve owl header extension in case of state
@@ -226,6 +256,16 @@ public final class Mixins {
           automatonName);
 
         writer.flush();
+
+        if (Metrics.isEnabled()) {
+          Metrics.addTime("serialise", System.nanoTime() - start);
+          Metrics.put("states", automaton.states().size());
+          Metrics.put("edges", edgeCount(automaton));
+        }
+      }
+
+      private static <S> long edgeCount(Automaton<S, ?> automaton) {
+        return automaton.states().stream().mapToLong(state -> automaton.edges(state).size()).sum();
       }
 
       @Override
@@ -1154,6 +1194,72 @@ public final class Mixins {
 
   }
 
+  static final class BddConfiguration {
+
+    @Spec(Spec.Target.MIXEE)
+    private CommandSpec spec = null;
+
+    @Option(
+      names = "--bdd-set-nodes",
+      description = "Initial node table size of the BDDs representing sets of valuations. "
+        + "Overrides the environment variable OWL_BDD_SET_NODES."
+    )
+    private Integer setNodes = null;
+
+    @Option(
+      names = "--bdd-set-cache-divider",
+      description = "Ratio between node table and operation cache size of the BDDs representing "
+        + "sets of valuations. Overrides the environment variable OWL_BDD_SET_CACHE_DIVIDER."
+    )
+    private Integer setCacheDivider = null;
+
+    @Option(
+      names = "--bdd-set-gc",
+      arity = "1",
+      description = "Whether unreferenced nodes of the BDDs representing sets of valuations are "
+        + "reclaimed ('true' or 'false'). Overrides the environment variable OWL_BDD_SET_GC."
+    )
+    private Boolean setGarbageCollection = null;
+
+    @Option(
+      names = "--bdd-formula-nodes",
+      description = "Initial node table size per atomic proposition of the BDDs representing "
+        + "formulas. Overrides the environment variable OWL_BDD_FORMULA_NODES."
+    )
+    private Integer formulaNodes = null;
+
+    @Option(
+      names = "--bdd-formula-cache-divider",
+      description = "Ratio between node table and operation cache size of the BDDs representing "
+        + "formulas. Overrides the environment variable OWL_BDD_FORMULA_CACHE_DIVIDER."
+    )
+    private Integer formulaCacheDivider = null;
+
+    @Option(
+      names = "--bdd-growth-factor",
+      description = "Factor by which full node tables of BDDs are enlarged. Overrides the "
+        + "environment variable OWL_BDD_GROWTH_FACTOR."
+    )
+    private Integer growthFactor = null;
+
+    void apply() {
+      try {
+        var environment = JBddConfiguration.fromEnvironment(System.getenv());
+        JBddConfiguration.setCurrent(new JBddConfiguration(
+          setNodes == null ? environment.setNodes() : setNodes,
+          setCacheDivider == null ? environment.setCacheDivider() : setCacheDivider,
+          setGarbageCollection == null
+            ? environment.setGarbageCollection()
+            : setGarbageCollection,
+          formulaNodes == null ? environment.formulaNodes() : formulaNodes,
+          formulaCacheDivider == null ? environment.formulaCacheDivider() : formulaCacheDivider,
+          growthFactor == null ? environment.growthFactor() : growthFactor));
+      } catch (IllegalArgumentException ex) {
+        throw new ParameterException(spec.commandLine(), ex.getMessage(), ex);
+      }
+    }
+  }
+
   @SuppressWarnings("PMD.SystemPrintln")
   static final class Diagnostics {
 
@@ -1194,18 +1300,27 @@ public final class Mixins {
     void finish(Automaton<?, ?> automaton) {
       if (printDiagnostics) {
         stopwatch.stop();
+        var bddStatistics = JBddSupplier.statistics();
         System.err.printf("""
               Output Automaton (before postprocessing):
                 States: %d
                 Acceptance Name: %s
                 Acceptance Sets: %d
               Runtime (without pre- and postprocessing): %d %s
+              BDD Factories: %d
+                Created Nodes: %d
+                Reclaimed Nodes: %d
+                Peak Nodes: %d
             """,
           automaton.states().size(),
           automaton.acceptance().name(),
           automaton.acceptance().acceptanceSets(),
           stopwatch.elapsed(timeUnit),
-          timeUnit);
+          timeUnit,
+          bddStatistics.factories(),
+          bddStatistics.createdNodes(),
+          bddStatistics.reclaimedNodes(),
+          bddStatistics.peakNodes());
       }
     }
   }
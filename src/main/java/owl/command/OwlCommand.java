@@ -76,6 +76,7 @@ import owl.thirdparty.picocli.CommandLine.Model.CommandSpec;
            MiscCommands.AutInspectionCommand.class,
            AutomatonConversionCommands.AutUtilities.class,
            MiscCommands.Automaton2GameCommand.class,
+           MiscCommands.Ltl2AigCommand.class,
          })
 @SuppressWarnings("PMD.SystemPrintln")
 public final class OwlCommand extends AbstractOwlCommand {
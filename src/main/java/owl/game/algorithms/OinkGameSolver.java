@@ -32,12 +32,11 @@ import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.BitSet;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -47,6 +46,7 @@ import owl.automaton.AnnotatedState;
 import owl.automaton.Automaton;
 import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.edge.Edge;
+import owl.collections.Numbering;
 import owl.game.Game;
 import owl.game.GameViews;
 
@@ -74,11 +74,9 @@ public final class OinkGameSolver implements ParityGameSolver {
         && Files.isExecutable(path.resolve(OINK_EXECUTABLE_NAME)));
   }
 
-  public static <S> Map<Integer, S> toOinkInstance(
+  public static <S> List<S> toOinkInstance(
     Game<S, ? extends ParityAcceptance> game, PrintWriter writer) {
-    Map<PriorityState<S>, Integer> oinkNumbering = new HashMap<>();
-
-    Map<Integer, S> reverseMapping = new HashMap<>();
+    Numbering<PriorityState<S>> oinkNumbering = new Numbering<>();
 
     if (game.initialStates().size() != 1) {
       throw new IllegalArgumentException("Game must have exactly one initial state.");
@@ -90,8 +88,7 @@ public final class OinkGameSolver implements ParityGameSolver {
       throw new IllegalArgumentException("Game acceptance must be of type MAX_EVEN.");
     }
 
-    oinkNumbering.put(PriorityState.of(initialState, 0), 0);
-    reverseMapping.put(0, initialState);
+    oinkNumbering.lookup(PriorityState.of(initialState, 0));
 
     Set<S> reached = new HashSet<>(List.of(initialState));
     Queue<S> queue = new ArrayDeque<>(reached);
@@ -107,11 +104,7 @@ public final class OinkGameSolver implements ParityGameSolver {
       for (Edge<S> edge : edges) {
         S successor = edge.successor();
         int statePriority = edge.colours().last().orElse(-1);
-        PriorityState<S> oinkSuccessor = PriorityState.of(successor, statePriority);
-
-        int id = oinkNumbering.size();
-        oinkNumbering.putIfAbsent(oinkSuccessor, id);
-        reverseMapping.put(id, successor);
+        oinkNumbering.lookup(PriorityState.of(successor, statePriority));
 
         if (reached.add(successor)) {
           queue.add(successor);
@@ -123,7 +116,11 @@ public final class OinkGameSolver implements ParityGameSolver {
     writer.print(oinkNumbering.size());
     writer.println(";");
 
-    oinkNumbering.forEach((pair, id) -> {
+    List<S> reverseMapping = new ArrayList<>(oinkNumbering.size());
+
+    for (int id = 0, s = oinkNumbering.size(); id < s; id++) {
+      var pair = oinkNumbering.lookup(id);
+      reverseMapping.add(pair.state());
       writer.print(id);
       writer.print(' ');
       writer.print(pair.priority());
@@ -142,7 +139,7 @@ public final class OinkGameSolver implements ParityGameSolver {
         Edge<S> edge = it.next();
         S successor = edge.successor();
         int statePriority = edge.colours().last().orElse(-1);
-        int successorIndex = oinkNumbering.get(PriorityState.of(successor, statePriority));
+        int successorIndex = oinkNumbering.indexOf(PriorityState.of(successor, statePriority));
         if (printed.get(successorIndex)) {
           if (successorIndex < 0) {
             throw new OinkExecutionException("Illegal successor index.");
@@ -161,7 +158,8 @@ public final class OinkGameSolver implements ParityGameSolver {
       writer.print(pair.priority());
       writer.print(")\"");
       writer.println(';');
-    });
+    }
+
     writer.flush();
     return reverseMapping;
   }
@@ -192,7 +190,7 @@ public final class OinkGameSolver implements ParityGameSolver {
     StringWriter gameRepresentationWriter = new StringWriter();
     PrintWriter represantationWriter = new PrintWriter(gameRepresentationWriter);
 
-    Map<Integer, S> mapping = toOinkInstance(game, represantationWriter);
+    List<S> mapping = toOinkInstance(game, represantationWriter);
 
     ProcessBuilder oinkProcessBuilder = new ProcessBuilder("oink", "-o", "/dev/stdout");
     Process oinkProcess;
@@ -254,7 +252,7 @@ public final class OinkGameSolver implements ParityGameSolver {
   }
 
   private <S> WinningRegions<S> parseSolution(BufferedReader solution,
-                                              Map<Integer, S> mapping) throws IOException {
+                                              List<S> mapping) throws IOException {
     // we can ignore the first line as it has no real informational value to us
     solution.readLine();
 
@@ -283,7 +281,7 @@ public final class OinkGameSolver implements ParityGameSolver {
       int winner = Integer.parseInt(elements[1]);
 
       if (0 == winner) {
-        if (!mapping.containsKey(node)) {
+        if (node < 0 || node >= mapping.size()) {
           throw new OinkExecutionException("Illegal node in solution.");
         }
         evenRegion.add(mapping.get(node));
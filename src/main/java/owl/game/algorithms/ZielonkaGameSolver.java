@@ -30,13 +30,33 @@ import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.edge.Edge;
 import owl.game.Game;
 import owl.game.GameViews;
+import owl.util.FlightRecorderEvents;
 
 public final class ZielonkaGameSolver implements ParityGameSolver {
 
   // The convention here is that player 2 wants to satisfy the parity condition
   // that is, get a minimal colour appearing infinitely often to be accepting.
   // Also, player 1 chooses actions BEFORE player 2 does
-  private static <S> WinningRegions<S> recursiveZielonka(Game<S, ? extends ParityAcceptance> game) {
+  private static <S> WinningRegions<S> recursiveZielonka(
+    Game<S, ? extends ParityAcceptance> game, int depth) {
+
+    var event = new FlightRecorderEvents.ZielonkaGameSolverRecursion();
+    event.begin();
+
+    try {
+      return recursiveZielonkaImpl(game, depth);
+    } finally {
+      if (event.shouldCommit()) {
+        event.depth = depth;
+        event.states = game.states().size();
+        event.commit();
+      }
+    }
+  }
+
+  private static <S> WinningRegions<S> recursiveZielonkaImpl(
+    Game<S, ? extends ParityAcceptance> game, int depth) {
+
     Set<S> states = game.states();
     ParityAcceptance acceptance = game.acceptance();
     boolean max = acceptance.parity().max();
@@ -97,7 +117,7 @@ public final class ZielonkaGameSolver implements ParityGameSolver {
 
     var subGame = GameViews.filter(game,
       losingSet::contains, hasExtremalColour.negate());
-    WinningRegions<S> subWinning = recursiveZielonka(subGame);
+    WinningRegions<S> subWinning = recursiveZielonka(subGame, depth + 1);
 
     // if in the sub-game our horse wins everywhere, then he's the winner
     if (subWinning.winningRegion(ourHorse).containsAll(subGame.states())) {
@@ -110,14 +130,14 @@ public final class ZielonkaGameSolver implements ParityGameSolver {
 
     Set<S> difference = Sets.difference(states, opponentAttractor);
     WinningRegions<S> newSubWinning =
-      recursiveZielonka(GameViews.filter(game, difference::contains));
+      recursiveZielonka(GameViews.filter(game, difference::contains), depth + 1);
     newSubWinning.addAll(opponentAttractor, ourHorse.opponent());
 
     return newSubWinning;
   }
 
   public static <S> boolean zielonkaRealizability(Game<S, ? extends ParityAcceptance> game) {
-    return recursiveZielonka(GameViews.replaceInitialStates(game, game.states()))
+    return recursiveZielonka(GameViews.replaceInitialStates(game, game.states()), 0)
       .player2.contains(game.initialState());
   }
 
@@ -128,6 +148,6 @@ public final class ZielonkaGameSolver implements ParityGameSolver {
 
   @Override
   public <S> WinningRegions<S> solve(Game<S, ? extends ParityAcceptance> game) {
-    return ZielonkaGameSolver.recursiveZielonka(game);
+    return ZielonkaGameSolver.recursiveZielonka(game, 0);
   }
 }
@@ -71,26 +71,23 @@ public final class AigFactory {
   }
 
   private LabelledAig createNode(LabelledAig left, LabelledAig right) {
-    LabelledAig realLeft;
-    if (left.isNegated() && left.equals(getTrue())) {
-      realLeft = getFalse();
-    } else if (left.isNegated() && left.equals(getFalse())) {
-      realLeft = getTrue();
-    } else {
-      realLeft = left;
+    LabelledAig trueConstant = getTrue();
+    LabelledAig falseConstant = getFalse();
+
+    if (left.equals(falseConstant) || right.equals(falseConstant)) {
+      return falseConstant;
+    }
+
+    if (left.equals(trueConstant)) {
+      return right;
     }
 
-    LabelledAig realRight;
-    if (right.isNegated() && right.equals(getTrue())) {
-      realRight = getFalse();
-    } else if (right.isNegated() && right.equals(getFalse())) {
-      realRight = getTrue();
-    } else {
-      realRight = right;
+    if (right.equals(trueConstant)) {
+      return left;
     }
 
-    return LabelledAig.of(makeUnique(Aig.node(realLeft.aig(), realLeft.isNegated(),
-      realRight.aig(), realRight.isNegated())));
+    return LabelledAig.of(makeUnique(Aig.node(left.aig(), left.isNegated(),
+      right.aig(), right.isNegated())));
   }
 
   private Aig makeUnique(Aig object) {
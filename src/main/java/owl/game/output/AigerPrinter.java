@@ -154,12 +154,17 @@ public class AigerPrinter implements AigConsumer {
       varIndex += 2;
     }
 
+    // All leaves have to be indexed before any circuit is visited, since the next-state function
+    // of a latch may depend on later latches.
     for (int i = 1; i <= latchNames.size(); i++) {
       index.put(Aig.leaf(i + inputNames.size()), varIndex);
-      maxIndex = visitAig(index, maxIndex, latches.get(i - 1).aig());
       varIndex += 2;
     }
 
+    for (LabelledAig latch : latches) {
+      maxIndex = visitAig(index, maxIndex, latch.aig());
+    }
+
     // add the outputs too
     for (LabelledAig output : outputs) {
       maxIndex = visitAig(index, maxIndex, output.aig());
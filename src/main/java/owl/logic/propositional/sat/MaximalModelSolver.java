@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.logic.propositional.sat;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import de.tum.in.jbdd.Bdd;
+import de.tum.in.jbdd.BddFactory;
+import de.tum.in.jbdd.ImmutableBddConfiguration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import owl.collections.ImmutableBitSet;
+import owl.logic.propositional.PropositionalFormula;
+
+/**
+ * Computes maximal models of a fixed propositional formula for many upper bounds.
+ *
+ * <p>In contrast to {@link Solver#maximalModels(PropositionalFormula, java.util.Set)}, the formula
+ * is translated only once into a BDD that is kept for the lifetime of this object. A query for an
+ * upper bound restricts this BDD by setting all variables outside of the upper bound to false and
+ * then directly reads off the maximal models without enumerating models with a SAT solver. Results
+ * are cached by upper bound. This is intended for the construction of Zielonka trees and DAGs,
+ * which issue one query per node for the same acceptance condition.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+public final class MaximalModelSolver {
+
+  private final Bdd bdd;
+  private final int variables;
+  private final int[] nodes;
+  private final List<Map<ImmutableBitSet, List<ImmutableBitSet>>> cache;
+
+  /**
+   * Construct a solver for the formula {@code formula} and the side constraint {@code constraint}.
+   *
+   * @param formula the formula. Variables must be non-negative.
+   * @param constraint a side constraint that every model needs to satisfy. Variables must be
+   *     non-negative.
+   */
+  public MaximalModelSolver(
+      PropositionalFormula<Integer> formula, PropositionalFormula<Integer> constraint) {
+
+    int largestVariable = -1;
+
+    for (int variable : formula.variables()) {
+      checkArgument(variable >= 0, "Variables must be non-negative.");
+      largestVariable = Math.max(largestVariable, variable);
+    }
+
+    for (int variable : constraint.variables()) {
+      checkArgument(variable >= 0, "Variables must be non-negative.");
+      largestVariable = Math.max(largestVariable, variable);
+    }
+
+    var configuration = ImmutableBddConfiguration.builder()
+        .logStatisticsOnShutdown(false)
+        .build();
+
+    this.bdd = BddFactory.buildBddRecursive(1_000, configuration);
+    this.variables = largestVariable + 1;
+    this.bdd.createVariables(variables);
+
+    int formulaNode = translate(formula);
+    int negatedFormulaNode = bdd.reference(bdd.not(formulaNode));
+    int constraintNode = translate(constraint);
+
+    // nodes[0] encodes !formula & constraint and nodes[1] encodes formula & constraint.
+    this.nodes = new int[] {
+        bdd.reference(bdd.and(negatedFormulaNode, constraintNode)),
+        bdd.reference(bdd.and(formulaNode, constraintNode))
+    };
+
+    bdd.dereference(formulaNode);
+    bdd.dereference(negatedFormulaNode);
+    bdd.dereference(constraintNode);
+
+    this.cache = List.of(new HashMap<>(), new HashMap<>());
+  }
+
+  /**
+   * Computes the maximal subsets of {@code upperBound} that satisfy the constraint and on which the
+   * formula evaluates to {@code value}.
+   *
+   * @param upperBound the upper bound.
+   * @param value the required value of the formula.
+   * @return the maximal models sorted by {@link ImmutableBitSet#compareTo(ImmutableBitSet)}.
+   */
+  public List<ImmutableBitSet> maximalModels(ImmutableBitSet upperBound, boolean value) {
+    var valueCache = cache.get(value ? 1 : 0);
+    var maximalModels = valueCache.get(upperBound);
+
+    if (maximalModels != null) {
+      return maximalModels;
+    }
+
+    var upperBoundBitSet = upperBound.copyInto(new BitSet());
+    var bitSets = maximalModels(
+        nodes[value ? 1 : 0], 0, upperBoundBitSet, new HashMap<>());
+
+    // Variables not occurring in the formula and the constraint are not restricted and thus
+    // contained in all maximal models.
+    BitSet unrestricted = (BitSet) upperBoundBitSet.clone();
+    unrestricted.clear(0, variables);
+
+    var models = new ImmutableBitSet[bitSets.size()];
+
+    for (int i = 0; i < models.length; i++) {
+      var model = (BitSet) bitSets.get(i).clone();
+      model.or(unrestricted);
+      models[i] = ImmutableBitSet.copyOf(model);
+    }
+
+    Arrays.sort(models);
+    maximalModels = List.of(models);
+    valueCache.put(upperBound, maximalModels);
+    return maximalModels;
+  }
+
+  // Computes the maximal models of node over the variables [variable, variables). Variables
+  // outside the upper bound are fixed to false. The memo is keyed by node and variable.
+  private List<BitSet> maximalModels(
+      int node, int variable, BitSet upperBound, Map<Long, List<BitSet>> memo) {
+
+    if (node == bdd.falseNode()) {
+      return List.of();
+    }
+
+    if (variable == variables) {
+      assert node == bdd.trueNode();
+      return List.of(new BitSet());
+    }
+
+    long key = ((long) node << 32) | variable;
+    var maximalModels = memo.get(key);
+
+    if (maximalModels != null) {
+      return maximalModels;
+    }
+
+    int low;
+    int high;
+
+    if (bdd.isNodeRoot(node) || bdd.variable(node) > variable) {
+      low = node;
+      high = node;
+    } else {
+      low = bdd.low(node);
+      high = bdd.high(node);
+    }
+
+    if (upperBound.get(variable)) {
+      var highModels = maximalModels(high, variable + 1, upperBound, memo);
+      var lowModels = maximalModels(low, variable + 1, upperBound, memo);
+      maximalModels = new ArrayList<>(highModels.size() + lowModels.size());
+
+      for (BitSet highModel : highModels) {
+        BitSet model = (BitSet) highModel.clone();
+        model.set(variable);
+        maximalModels.add(model);
+      }
+
+      // A model without the variable is maximal, if it is maximal for the low cofactor and it is
+      // not contained in a model of the high cofactor. It suffices to check the maximal models of
+      // the high cofactor.
+      for (BitSet lowModel : lowModels) {
+        if (!containedInAny(lowModel, highModels)) {
+          maximalModels.add(lowModel);
+        }
+      }
+    } else {
+      maximalModels = maximalModels(low, variable + 1, upperBound, memo);
+    }
+
+    memo.put(key, maximalModels);
+    return maximalModels;
+  }
+
+  private static boolean containedInAny(BitSet set, List<BitSet> sets) {
+    for (BitSet superSet : sets) {
+      BitSet difference = (BitSet) set.clone();
+      difference.andNot(superSet);
+
+      if (difference.isEmpty()) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private int translate(PropositionalFormula<Integer> formula) {
+    if (formula instanceof PropositionalFormula.Variable<Integer> variable) {
+      return bdd.variableNode(variable.variable());
+    }
+
+    if (formula instanceof PropositionalFormula.Negation<Integer> negation) {
+      int operand = translate(negation.operand());
+      int node = bdd.reference(bdd.not(operand));
+      bdd.dereference(operand);
+      return node;
+    }
+
+    if (formula instanceof PropositionalFormula.Biconditional<Integer> biconditional) {
+      int left = translate(biconditional.leftOperand());
+      int right = translate(biconditional.rightOperand());
+      return bdd.consume(bdd.equivalence(left, right), left, right);
+    }
+
+    if (formula instanceof PropositionalFormula.Conjunction<Integer> conjunction) {
+      int x = bdd.trueNode();
+
+      for (var conjunct : conjunction.conjuncts()) {
+        int y = translate(conjunct);
+        x = bdd.consume(bdd.and(x, y), x, y);
+      }
+
+      return x;
+    }
+
+    assert formula instanceof PropositionalFormula.Disjunction;
+    int x = bdd.falseNode();
+
+    for (var disjunct : ((PropositionalFormula.Disjunction<Integer>) formula).disjuncts()) {
+      int y = translate(disjunct);
+      x = bdd.consume(bdd.or(x, y), x, y);
+    }
+
+    return x;
+  }
+}
@@ -52,6 +52,8 @@ import owl.logic.propositional.PropositionalFormula.Conjunction;
 import owl.logic.propositional.PropositionalFormula.Disjunction;
 import owl.logic.propositional.PropositionalFormula.Negation;
 import owl.logic.propositional.PropositionalFormula.Variable;
+import owl.util.FlightRecorderEvents;
+import owl.util.Metrics;
 
 /**
  * Repository of for SAT-solver implementations for propositional formulas.
@@ -322,6 +324,9 @@ public enum Solver {
         }
       }
 
+      var event = new FlightRecorderEvents.KissatProcess();
+      event.begin();
+
       try {
         Process kissat = null;
         IOException firstIoException = null;
@@ -357,6 +362,12 @@ public enum Solver {
           throw firstIoException;
         }
 
+        if (event.isEnabled()) {
+          event.command = kissat.info().command().orElse("kissat");
+          event.variables = largestVariable;
+          event.clauses = clauses.length;
+        }
+
         try (var reader = new BufferedReader(new InputStreamReader(kissat.getInputStream()))) {
           
           // Restrict lifetime of writer.
@@ -392,6 +403,8 @@ public enum Solver {
         }
       } catch (IOException ioException) {
         throw new UncheckedIOException(ioException);
+      } finally {
+        event.commit();
       }
     }
 
@@ -448,10 +461,12 @@ public enum Solver {
   public static final Solver DEFAULT_MAXIMAL_MODELS = JBDD;
 
   public <V> Optional<Set<V>> model(PropositionalFormula<V> formula) {
+    countCall("model");
     return Optional.ofNullable(modelNnfFormula(formula.nnf()));
   }
 
   public <V> Optional<Set<V>> model(List<Clause<V>> clauses) {
+    countCall("model");
     int clausesSize = clauses.size();
     var intClauses = new int[clausesSize][];
     var numbering = new Numbering<V>(clausesSize);
@@ -473,7 +488,7 @@ public enum Solver {
       intClauses[j] = intClause;
     }
 
-    var model = modelImpl(intClauses);
+    var model = solve(intClauses);
 
     if (model == null) {
       return Optional.empty();
@@ -484,9 +499,32 @@ public enum Solver {
     return Optional.of(mappedModel);
   }
 
+  @Nullable
+  private BitSet solve(int[][] clauses) {
+    var event = new FlightRecorderEvents.SolverInvocation();
+    event.begin();
+
+    BitSet model = modelImpl(clauses);
+
+    if (event.shouldCommit()) {
+      event.solver = name();
+      event.clauses = clauses.length;
+      event.satisfiable = model != null;
+      event.commit();
+    }
+
+    return model;
+  }
+
   @Nullable
   protected abstract BitSet modelImpl(int[][] clauses);
 
+  private void countCall(String method) {
+    if (Metrics.isEnabled()) {
+      Metrics.increment("solver." + name() + '.' + method);
+    }
+  }
+
   public record Clause<V>(List<? extends V> positiveLiterals, List<? extends V> negativeLiterals) {
 
     public Clause {
@@ -653,7 +691,7 @@ public enum Solver {
 
     ConjunctiveNormalForm<V> cnf = new ConjunctiveNormalForm<>(nnfFormula);
     @Nullable
-    BitSet model = modelImpl(cnf.clauses.toArray(int[][]::new));
+    BitSet model = solve(cnf.clauses.toArray(int[][]::new));
 
     if (model == null) {
       return null;
@@ -669,7 +707,20 @@ public enum Solver {
   }
 
   public final <V> List<Set<V>> maximalModels(PropositionalFormula<V> formula, Set<V> upperBound) {
-    return List.copyOf(maximalModelsNnfFormula(formula.nnf(), upperBound));
+    countCall("maximalModels");
+
+    var event = new FlightRecorderEvents.MaximalModelsComputation();
+    event.begin();
+
+    List<Set<V>> maximalModels = List.copyOf(maximalModelsNnfFormula(formula.nnf(), upperBound));
+
+    if (event.shouldCommit()) {
+      event.solver = name();
+      event.maximalModels = maximalModels.size();
+      event.commit();
+    }
+
+    return maximalModels;
   }
 
   private <V> List<HashSet<V>> maximalModelsNnfFormula(
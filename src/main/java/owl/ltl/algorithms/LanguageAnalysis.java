@@ -19,18 +19,50 @@
 
 package owl.ltl.algorithms;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Predicate;
 import java.util.stream.IntStream;
 import owl.automaton.acceptance.GeneralizedBuchiAcceptance;
 import owl.automaton.algorithm.LanguageEmptiness;
-import owl.ltl.Biconditional;
+import owl.ltl.Conjunction;
 import owl.ltl.Disjunction;
 import owl.ltl.Formula;
 import owl.ltl.LabelledFormula;
+import owl.ltl.util.FormulaCanonicalisation;
 import owl.translations.LtlTranslationRepository;
 
+/**
+ * Satisfiability, universality, and equivalence checks for LTL formulas.
+ *
+ * <p>Disjunctions are checked disjunct by disjunct and conjunctions are split into groups of
+ * conjuncts that do not share atomic propositions. Each remaining formula is translated to a
+ * non-deterministic generalised Büchi automaton that is explored on-the-fly until an accepting
+ * lasso is found. Results are memoized per {@link FormulaCanonicalisation.Signature} of the
+ * simplified formula, since satisfiability does not depend on the names of the atomic
+ * propositions.
+ *
+ * <p>The methods taking an {@link ExecutorService} check the disjuncts and the groups of
+ * conjuncts of the top-level formula concurrently.
+ */
 public final class LanguageAnalysis {
 
+  private static final int CACHE_SIZE = 4096;
+
+  private static final Cache<String, Boolean> SATISFIABILITY_CACHE
+    = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+
   private LanguageAnalysis() {}
 
   public static boolean isSatisfiable(Formula formula) {
@@ -38,27 +70,144 @@ public final class LanguageAnalysis {
       return formula.operands.stream().anyMatch(LanguageAnalysis::isSatisfiable);
     }
 
-    var labelledFormula = attachDummyAlphabet(formula);
-    var translation = LtlTranslationRepository.defaultTranslation(
-      EnumSet.of(
-        LtlTranslationRepository.Option.SIMPLIFY_FORMULA,
-        LtlTranslationRepository.Option.USE_PORTFOLIO_FOR_SYNTACTIC_LTL_FRAGMENTS),
-      LtlTranslationRepository.BranchingMode.NON_DETERMINISTIC,
-      GeneralizedBuchiAcceptance.class);
+    if (formula instanceof Conjunction conjunction) {
+      var groups = independentConjuncts(conjunction);
+
+      if (groups.size() > 1) {
+        return groups.stream().allMatch(LanguageAnalysis::isSatisfiable);
+      }
+    }
 
-    return !LanguageEmptiness.isEmpty(translation.apply(labelledFormula));
+    return isSatisfiableMemoized(formula);
+  }
+
+  public static boolean isSatisfiable(Formula formula, ExecutorService executor) {
+    if (formula instanceof Disjunction) {
+      return anyMatch(formula.operands, LanguageAnalysis::isSatisfiable, executor);
+    }
+
+    if (formula instanceof Conjunction conjunction) {
+      var groups = independentConjuncts(conjunction);
+
+      if (groups.size() > 1) {
+        return !anyMatch(groups, LanguageAnalysis::isUnsatisfiable, executor);
+      }
+    }
+
+    return isSatisfiableMemoized(formula);
   }
 
   public static boolean isUnsatisfiable(Formula formula) {
     return !isSatisfiable(formula);
   }
 
+  public static boolean isUnsatisfiable(Formula formula, ExecutorService executor) {
+    return !isSatisfiable(formula, executor);
+  }
+
   public static boolean isUniversal(Formula formula) {
     return isUnsatisfiable(formula.not());
   }
 
+  public static boolean isUniversal(Formula formula, ExecutorService executor) {
+    return isUnsatisfiable(formula.not(), executor);
+  }
+
   public static boolean isEqual(Formula formula1, Formula formula2) {
-    return !isSatisfiable(Biconditional.of(formula1, formula2.not()));
+    return isUnsatisfiable(difference(formula1, formula2));
+  }
+
+  public static boolean isEqual(Formula formula1, Formula formula2, ExecutorService executor) {
+    return isUnsatisfiable(difference(formula1, formula2), executor);
+  }
+
+  // The symmetric difference as a disjunction such that both directions are checked separately.
+  private static Formula difference(Formula formula1, Formula formula2) {
+    return Disjunction.of(
+      Conjunction.of(formula1, formula2.not()),
+      Conjunction.of(formula1.not(), formula2));
+  }
+
+  private static boolean isSatisfiableMemoized(Formula formula) {
+    var signature = FormulaCanonicalisation.signature(attachDummyAlphabet(formula), true);
+    Boolean satisfiable = SATISFIABILITY_CACHE.getIfPresent(signature.key);
+
+    if (satisfiable == null) {
+      // The formula has already been simplified while computing the signature. The translation
+      // is not post-processed and thus the automaton is only explored until an accepting lasso
+      // has been found.
+      var translation = LtlTranslationRepository.defaultTranslation(
+        EnumSet.of(LtlTranslationRepository.Option.USE_PORTFOLIO_FOR_SYNTACTIC_LTL_FRAGMENTS),
+        LtlTranslationRepository.BranchingMode.NON_DETERMINISTIC,
+        GeneralizedBuchiAcceptance.class);
+
+      satisfiable = !LanguageEmptiness.isEmpty(translation.apply(signature.formula));
+      SATISFIABILITY_CACHE.put(signature.key, satisfiable);
+    }
+
+    return satisfiable;
+  }
+
+  // Group the conjuncts into conjunctions that do not share atomic propositions. Such a
+  // conjunction is satisfiable if and only if every group is satisfiable.
+  private static List<Formula> independentConjuncts(Conjunction conjunction) {
+    List<Formula> groups = new ArrayList<>();
+    List<BitSet> groupAtomicPropositions = new ArrayList<>();
+
+    for (Formula conjunct : conjunction.operands) {
+      BitSet atomicPropositions = conjunct.atomicPropositions(true);
+      List<Formula> group = new ArrayList<>();
+      group.add(conjunct);
+
+      for (int i = groups.size() - 1; i >= 0; i--) {
+        if (groupAtomicPropositions.get(i).intersects(atomicPropositions)) {
+          atomicPropositions.or(groupAtomicPropositions.remove(i));
+          group.add(groups.remove(i));
+        }
+      }
+
+      groups.add(Conjunction.of(group));
+      groupAtomicPropositions.add(atomicPropositions);
+    }
+
+    return groups;
+  }
+
+  private static boolean anyMatch(
+    List<Formula> formulas, Predicate<Formula> predicate, ExecutorService executor) {
+
+    BlockingQueue<Future<Boolean>> completed = new LinkedBlockingQueue<>();
+    var completionService = new ExecutorCompletionService<>(executor, completed);
+    List<Future<Boolean>> futures = new ArrayList<>(formulas.size());
+
+    try {
+      for (Formula formula : formulas) {
+        futures.add(completionService.submit(() -> predicate.test(formula)));
+      }
+
+      for (int i = 0; i < futures.size(); i++) {
+        if (Uninterruptibles.getUninterruptibly(Uninterruptibles.takeUninterruptibly(completed))) {
+          return true;
+        }
+      }
+
+      return false;
+    } catch (ExecutionException ex) {
+      var cause = ex.getCause();
+
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+
+      if (cause instanceof Error error) {
+        throw error;
+      }
+
+      throw new IllegalStateException(cause);
+    } finally {
+      // Stop the remaining checks as soon as the result is known.
+      futures.forEach(future -> future.cancel(true));
+    }
   }
 
   private static LabelledFormula attachDummyAlphabet(Formula formula) {
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import javax.annotation.Nullable;
 import owl.ltl.Biconditional;
 import owl.ltl.BooleanConstant;
 import owl.ltl.Conjunction;
@@ -47,9 +48,23 @@ public class PropositionalSimplifier extends Converter {
 
   private static final boolean DISABLE_EXPENSIVE_ASSERT = true;
 
+  @Nullable
+  private final SubformulaCache<Formula> cache;
+
   // TODO: Construct BDD and check support. If elements are not present, replace them by false.
   protected PropositionalSimplifier() {
     super(SyntacticFragment.ALL);
+    this.cache = null;
+  }
+
+  PropositionalSimplifier(SubformulaCache<Formula> cache) {
+    super(SyntacticFragment.ALL);
+    this.cache = cache;
+  }
+
+  @Override
+  public Formula apply(Formula formula) {
+    return cache == null ? formula.accept(this) : cache.apply(formula, this);
   }
 
   @Override
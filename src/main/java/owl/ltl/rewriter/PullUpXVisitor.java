@@ -21,6 +21,7 @@ package owl.ltl.rewriter;
 
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 import owl.ltl.Biconditional;
 import owl.ltl.BooleanConstant;
 import owl.ltl.Conjunction;
@@ -38,14 +39,25 @@ import owl.ltl.visitors.Visitor;
 
 final class PullUpXVisitor implements Visitor<PullUpXVisitor.XFormula> {
 
-  static final PullUpXVisitor INSTANCE = new PullUpXVisitor();
+  static final PullUpXVisitor INSTANCE = new PullUpXVisitor(null);
 
-  private PullUpXVisitor() {}
+  // XFormulas are modified by the callers of apply, hence the cache copies them.
+  @Nullable
+  private final SubformulaCache<XFormula> cache;
+
+  PullUpXVisitor(@Nullable SubformulaCache<XFormula> cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public XFormula apply(Formula formula) {
+    return cache == null ? formula.accept(this) : cache.apply(formula, this);
+  }
 
   @Override
   public XFormula visit(Biconditional biconditional) {
-    XFormula right = biconditional.rightOperand().accept(this);
-    XFormula left = biconditional.leftOperand().accept(this);
+    XFormula right = apply(biconditional.rightOperand());
+    XFormula left = apply(biconditional.leftOperand());
     left.formula = Biconditional.of(left.toFormula(right.depth), right.toFormula(left.depth));
     left.depth = Math.min(left.depth, right.depth);
     return left;
@@ -59,7 +71,7 @@ final class PullUpXVisitor implements Visitor<PullUpXVisitor.XFormula> {
   @Override
   public XFormula visit(Conjunction conjunction) {
     var children = conjunction.operands.stream()
-      .map(c -> c.accept(this)).toList();
+      .map(this::apply).toList();
     int depth = children.stream().mapToInt(c -> c.depth).min().orElse(0);
     return new XFormula(depth, Conjunction.of(children.stream().map(c -> c.toFormula(depth))));
   }
@@ -67,7 +79,7 @@ final class PullUpXVisitor implements Visitor<PullUpXVisitor.XFormula> {
   @Override
   public XFormula visit(Disjunction disjunction) {
     var children = disjunction.operands.stream()
-      .map(c -> c.accept(this)).toList();
+      .map(this::apply).toList();
     int depth = children.stream().mapToInt(c -> c.depth).min().orElse(0);
     return new XFormula(depth, Disjunction.of(children.stream().map(c -> c.toFormula(depth))));
   }
@@ -109,15 +121,15 @@ final class PullUpXVisitor implements Visitor<PullUpXVisitor.XFormula> {
 
   @Override
   public XFormula visit(XOperator xOperator) {
-    XFormula r = xOperator.operand().accept(this);
+    XFormula r = apply(xOperator.operand());
     r.depth++;
     return r;
   }
 
   private XFormula visit(Formula.BinaryTemporalOperator operator,
     BiFunction<Formula, Formula, Formula> constructor) {
-    XFormula right = operator.rightOperand().accept(this);
-    XFormula left = operator.leftOperand().accept(this);
+    XFormula right = apply(operator.rightOperand());
+    XFormula left = apply(operator.leftOperand());
     left.formula = constructor.apply(left.toFormula(right.depth), right.toFormula(left.depth));
     left.depth = Math.min(left.depth, right.depth);
     return left;
@@ -125,7 +137,7 @@ final class PullUpXVisitor implements Visitor<PullUpXVisitor.XFormula> {
 
   private XFormula visit(Formula.UnaryTemporalOperator operator,
     Function<Formula, Formula> constructor) {
-    XFormula formula = operator.operand().accept(this);
+    XFormula formula = apply(operator.operand());
     formula.formula = constructor.apply(formula.formula);
     return formula;
   }
@@ -153,5 +165,9 @@ final class PullUpXVisitor implements Visitor<PullUpXVisitor.XFormula> {
     Formula toFormula() {
       return toFormula(0);
     }
+
+    XFormula copy() {
+      return new XFormula(depth, formula);
+    }
   }
 }
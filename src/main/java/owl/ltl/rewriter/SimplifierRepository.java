@@ -47,16 +47,7 @@ public enum SimplifierRepository {
           .apply(formula);
 
       case SYNTACTIC_FIXPOINT:
-        Formula before = null;
-        Formula after = formula.substitute(Formula::nnf);
-
-        for (int i = 0; i < 100 && !after.equals(before); i++) {
-          before = after.accept(PropositionalSimplifier.INSTANCE);
-          after = SyntacticSimplifier.INSTANCE.apply(before)
-            .accept(PullUpXVisitor.INSTANCE).toFormula();
-        }
-
-        return after;
+        return SyntacticFixpointSimplifier.simplify(formula);
 
       case PULL_UP_X:
         return formula.accept(PullUpXVisitor.INSTANCE).toFormula();
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.ltl.rewriter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import owl.ltl.Formula;
+import owl.ltl.visitors.Visitor;
+
+/**
+ * Memoizes the results of a visitor per subformula. A visitor using the cache overrides
+ * {@link Visitor#apply(Formula)} by {@link #apply(Formula, Visitor)} and recurses through
+ * {@code apply}. Thus a subformula that has been visited before is looked up instead of traversed
+ * again. This is only sound if the result of the visitor only depends on the subformula. The cache
+ * can be shared between threads.
+ *
+ * @param <R> the result type of the visitor.
+ */
+final class SubformulaCache<R> {
+
+  private final Map<Formula, R> cache = new ConcurrentHashMap<>();
+  private final UnaryOperator<R> copy;
+
+  SubformulaCache() {
+    this(UnaryOperator.identity());
+  }
+
+  /**
+   * Create a cache for mutable results.
+   *
+   * @param copy a function copying a result. Only copies are stored and handed out.
+   */
+  SubformulaCache(UnaryOperator<R> copy) {
+    this.copy = copy;
+  }
+
+  R apply(Formula formula, Visitor<R> visitor) {
+    R result = cache.get(formula);
+
+    if (result == null) {
+      // The visitor recurses into this cache, hence computeIfAbsent cannot be used.
+      result = formula.accept(visitor);
+      cache.put(formula, copy.apply(result));
+      return result;
+    }
+
+    return copy.apply(result);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.ltl.rewriter;
+
+import owl.ltl.Conjunction;
+import owl.ltl.Formula;
+import owl.ltl.rewriter.PullUpXVisitor.XFormula;
+
+/**
+ * Computes the fixpoint of {@link PropositionalSimplifier}, {@link SyntacticSimplifier}, and
+ * {@link PullUpXVisitor}. Each pass recurses through a {@link SubformulaCache} that lives for one
+ * simplification. A subformula that a pass has already visited, in this or an earlier round, is
+ * looked up instead of traversed again. The passes and the rounds are those of the plain loop and
+ * thus the result is the same.
+ *
+ * <p>For large conjunctions the fixpoint of each conjunct is computed in parallel first. These
+ * results are discarded; they only fill the caches for the rounds over the whole formula.
+ */
+final class SyntacticFixpointSimplifier {
+
+  private static final int MAX_ROUNDS = 100;
+  private static final int PARALLEL_CONJUNCTS_THRESHOLD = 16;
+
+  private final PropositionalSimplifier propositionalSimplifier
+    = new PropositionalSimplifier(new SubformulaCache<>());
+  private final SyntacticSimplifier syntacticSimplifier
+    = new SyntacticSimplifier(new SubformulaCache<>());
+  private final PullUpXVisitor pullUpXVisitor
+    = new PullUpXVisitor(new SubformulaCache<>(XFormula::copy));
+
+  private SyntacticFixpointSimplifier() {}
+
+  static Formula simplify(Formula formula) {
+    var simplifier = new SyntacticFixpointSimplifier();
+    Formula nnf = formula.substitute(Formula::nnf);
+
+    if (nnf instanceof Conjunction && nnf.operands.size() >= PARALLEL_CONJUNCTS_THRESHOLD) {
+      nnf.operands.parallelStream().forEach(simplifier::fixpoint);
+    }
+
+    return simplifier.fixpoint(nnf);
+  }
+
+  private Formula fixpoint(Formula formula) {
+    Formula before = null;
+    Formula after = formula;
+
+    for (int i = 0; i < MAX_ROUNDS && !after.equals(before); i++) {
+      before = propositionalSimplifier.apply(after);
+      after = pullUpXVisitor.apply(syntacticSimplifier.apply(before)).toFormula();
+    }
+
+    return after;
+  }
+}
@@ -28,6 +28,7 @@ import java.util.TreeSet;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import owl.collections.Collections3;
 import owl.ltl.Biconditional;
 import owl.ltl.BooleanConstant;
@@ -48,14 +49,24 @@ import owl.ltl.visitors.Visitor;
 
 public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperator<Formula> {
 
-  static final SyntacticSimplifier INSTANCE = new SyntacticSimplifier();
+  static final SyntacticSimplifier INSTANCE = new SyntacticSimplifier(null);
 
-  private SyntacticSimplifier() {}
+  @Nullable
+  private final SubformulaCache<Formula> cache;
+
+  SyntacticSimplifier(@Nullable SubformulaCache<Formula> cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public Formula apply(Formula formula) {
+    return cache == null ? formula.accept(this) : cache.apply(formula, this);
+  }
 
   @Override
   public Formula visit(Biconditional biconditional) {
     return Biconditional
-      .of(biconditional.leftOperand().accept(this), biconditional.rightOperand().accept(this));
+      .of(apply(biconditional.leftOperand()), apply(biconditional.rightOperand()));
   }
 
   @Override
@@ -70,12 +81,12 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
 
   @Override
   public Formula visit(Conjunction conjunction) {
-    return visitConjunction(conjunction.map(x -> x.accept(this)), true);
+    return visitConjunction(conjunction.map(this::apply), true);
   }
 
   @Override
   public Formula visit(Disjunction disjunction) {
-    var newDisjunction = new TreeSet<>(disjunction.map(x -> x.accept(this)));
+    var newDisjunction = new TreeSet<>(disjunction.map(this::apply));
 
     // Short-circuit disjunction if it contains x and !x.
     if (newDisjunction.stream().anyMatch(x -> newDisjunction.contains(x.not()))) {
@@ -152,7 +163,7 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
       operand = ((FOperator) formula).operand();
     }
 
-    operand = operand.accept(this);
+    operand = apply(operand);
 
     if (operand.isPureEventual() || operand.isSuspendable()) {
       return operand;
@@ -179,11 +190,11 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
 
       if (!suspendable.isEmpty()) {
         suspendable.add(FOperator.of(Conjunction.of(others)));
-        return Conjunction.of(suspendable).accept(this);
+        return apply(Conjunction.of(suspendable));
       }
 
       if (others.stream().allMatch(Formula::isPureUniversal)) {
-        return Conjunction.of(others.stream().map(FOperator::of)).accept(this);
+        return apply(Conjunction.of(others.stream().map(FOperator::of)));
       }
     }
 
@@ -202,7 +213,7 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
 
   @Override
   public Formula visit(Negation negation) {
-    return negation.operand().not().accept(this);
+    return apply(negation.operand().not());
   }
 
   @Override
@@ -216,7 +227,7 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
       operand = ((GOperator) formula).operand();
     }
 
-    operand = operand.accept(this);
+    operand = apply(operand);
 
     if (operand.isPureUniversal() || operand.isSuspendable()) {
       return operand;
@@ -243,11 +254,11 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
 
       if (!suspendable.isEmpty()) {
         suspendable.add(GOperator.of(Disjunction.of(others)));
-        return Disjunction.of(suspendable).accept(this);
+        return apply(Disjunction.of(suspendable));
       }
 
       if (others.stream().allMatch(Formula::isPureEventual)) {
-        return Disjunction.of(others.stream().map(GOperator::of)).accept(this);
+        return apply(Disjunction.of(others.stream().map(GOperator::of)));
       }
     }
 
@@ -267,8 +278,8 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
 
   @Override
   public Formula visit(MOperator mOperator) {
-    Formula left = mOperator.leftOperand().accept(this);
-    Formula right = mOperator.rightOperand().accept(this);
+    Formula left = apply(mOperator.leftOperand());
+    Formula right = apply(mOperator.rightOperand());
 
     if (left.equals(right.not())) {
       return BooleanConstant.FALSE;
@@ -307,8 +318,8 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
 
   @Override
   public Formula visit(ROperator rOperator) {
-    Formula left = rOperator.leftOperand().accept(this);
-    Formula right = rOperator.rightOperand().accept(this);
+    Formula left = apply(rOperator.leftOperand());
+    Formula right = apply(rOperator.rightOperand());
 
     if (left.equals(right.not())) {
       return GOperator.of(right);
@@ -352,8 +363,8 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
 
   @Override
   public Formula visit(UOperator uOperator) {
-    Formula left = uOperator.leftOperand().accept(this);
-    Formula right = uOperator.rightOperand().accept(this);
+    Formula left = apply(uOperator.leftOperand());
+    Formula right = apply(uOperator.rightOperand());
 
     if (left.equals(right.not())) {
       return FOperator.of(right);
@@ -392,8 +403,8 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
 
   @Override
   public Formula visit(WOperator wOperator) {
-    Formula left = wOperator.leftOperand().accept(this);
-    Formula right = wOperator.rightOperand().accept(this);
+    Formula left = apply(wOperator.leftOperand());
+    Formula right = apply(wOperator.rightOperand());
 
     if (left.equals(right.not())) {
       return BooleanConstant.TRUE;
@@ -432,7 +443,7 @@ public final class SyntacticSimplifier implements Visitor<Formula>, UnaryOperato
 
   @Override
   public Formula visit(XOperator xOperator) {
-    Formula operand = xOperator.operand().accept(this);
+    Formula operand = apply(xOperator.operand());
 
     if (operand.isSuspendable()) {
       return operand;
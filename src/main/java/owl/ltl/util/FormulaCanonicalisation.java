@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.ltl.util;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.ImmutableIntArray;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.Nullable;
+import owl.ltl.Formula;
+import owl.ltl.LabelledFormula;
+import owl.ltl.Literal;
+import owl.ltl.SyntacticFragment;
+import owl.ltl.rewriter.LiteralMapper;
+import owl.ltl.rewriter.SimplifierRepository;
+import owl.ltl.visitors.Converter;
+import owl.ltl.visitors.PrintVisitor;
+
+/**
+ * Computes canonical signatures of formulas such that two formulas obtain the same signature, if
+ * they are equal up to the naming and order of atomic propositions.
+ *
+ * <p>Atomic propositions are first ordered by an invariant that collects the paths of all
+ * occurrences from the root of the syntax tree. Atomic propositions with the same invariant are
+ * then ordered such that the printed relabelled formula is lexicographically minimal. If there are
+ * too many candidate orders, the order of the atomic propositions in the labelled formula is used
+ * to break ties. In this case the signature is still sound, i.e., equal signatures imply
+ * isomorphic formulas, but some isomorphic formulas might obtain different signatures.
+ */
+public final class FormulaCanonicalisation {
+
+  private static final int MAX_CANDIDATES = 720;
+
+  private FormulaCanonicalisation() {}
+
+  /**
+   * Compute the signature of the formula.
+   *
+   * @param labelledFormula the formula.
+   * @param simplify simplify the formula with {@link SimplifierRepository#SYNTACTIC_FIXPOINT}
+   *     before computing the signature.
+   * @return the signature.
+   */
+  public static Signature signature(LabelledFormula labelledFormula, boolean simplify) {
+    var formula = simplify
+        ? SimplifierRepository.SYNTACTIC_FIXPOINT.apply(labelledFormula)
+        : labelledFormula;
+
+    var shiftedFormula = LiteralMapper.shiftLiterals(formula);
+    var shiftedAtomicPropositions = shiftedFormula.formula.atomicPropositions();
+    int size = shiftedAtomicPropositions.size();
+
+    // Map shifted atomic propositions back to the original indices. Simplification does not
+    // reorder atomic propositions and thus the indices of the simplified formula are valid.
+    int[] shiftedToOriginal = new int[size];
+
+    for (int i = 0, s = shiftedFormula.mapping.length(); i < s; i++) {
+      int shiftedAtom = shiftedFormula.mapping.get(i);
+
+      if (shiftedAtom != LiteralMapper.UNDEFINED) {
+        shiftedToOriginal[shiftedAtom] = i;
+      }
+    }
+
+    // Compute invariants and order atomic propositions by them.
+    String[] invariants = invariants(shiftedFormula.formula.formula(), size);
+    Integer[] order = new Integer[size];
+    Arrays.setAll(order, i -> i);
+    Arrays.sort(order, Comparator.comparing((Integer i) -> invariants[i]));
+
+    List<int[]> classes = new ArrayList<>();
+    long candidates = 1;
+
+    for (int i = 0; i < size;) {
+      int j = i + 1;
+
+      while (j < size && invariants[order[j]].equals(invariants[order[i]])) {
+        j++;
+      }
+
+      int[] equivalenceClass = new int[j - i];
+
+      for (int k = i; k < j; k++) {
+        equivalenceClass[k - i] = order[k];
+      }
+
+      classes.add(equivalenceClass);
+
+      for (int k = 2; k <= j - i && candidates <= MAX_CANDIDATES; k++) {
+        candidates = candidates * k;
+      }
+
+      i = j;
+    }
+
+    // shiftedToCanonical[a] is the canonical index of the shifted atomic proposition a.
+    int[] shiftedToCanonical = new int[size];
+
+    for (int i = 0; i < size; i++) {
+      shiftedToCanonical[order[i]] = i;
+    }
+
+    var shifted = shiftedFormula.formula.formula();
+    String key = print(shifted, shiftedToCanonical);
+
+    if (candidates > 1 && candidates <= MAX_CANDIDATES) {
+      var search = new MinimalRelabellingSearch(shifted, classes, size);
+      search.search(0, 0);
+      key = search.bestKey;
+      shiftedToCanonical = search.bestMapping;
+    }
+
+    int[] canonicalToOriginal = new int[size];
+
+    for (int i = 0; i < size; i++) {
+      canonicalToOriginal[shiftedToCanonical[i]] = shiftedToOriginal[i];
+    }
+
+    return new Signature(
+        LabelledFormula.of(relabel(shifted, shiftedToCanonical), canonicalAtomicPropositions(size)),
+        ImmutableIntArray.copyOf(canonicalToOriginal),
+        key);
+  }
+
+  /**
+   * Returns the atomic propositions {@code p0, p1, ...} used by canonical formulas.
+   */
+  public static List<String> canonicalAtomicPropositions(int size) {
+    List<String> atomicPropositions = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      atomicPropositions.add("p" + i);
+    }
+
+    return atomicPropositions;
+  }
+
+  private static String[] invariants(Formula formula, int size) {
+    List<List<String>> occurrences = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      occurrences.add(new ArrayList<>());
+    }
+
+    collectOccurrences(formula, new StringBuilder(), occurrences);
+
+    String[] invariants = new String[size];
+
+    for (int i = 0; i < size; i++) {
+      var atomOccurrences = occurrences.get(i);
+      atomOccurrences.sort(Comparator.naturalOrder());
+      invariants[i] = String.join(";", atomOccurrences);
+    }
+
+    return invariants;
+  }
+
+  private static void collectOccurrences(
+      Formula formula, StringBuilder path, List<List<String>> occurrences) {
+
+    if (formula instanceof Literal literal) {
+      occurrences.get(literal.getAtom()).add(literal.isNegated() ? path + "!" : path.toString());
+      return;
+    }
+
+    int length = path.length();
+    path.append(formula.getClass().getSimpleName());
+    boolean ordered = !(formula instanceof Formula.NaryPropositionalOperator);
+
+    for (int i = 0, s = formula.operands.size(); i < s; i++) {
+      if (ordered) {
+        path.append(i);
+      }
+
+      path.append('/');
+      collectOccurrences(formula.operands.get(i), path, occurrences);
+      path.setLength(length + formula.getClass().getSimpleName().length());
+    }
+
+    path.setLength(length);
+  }
+
+  private static Formula relabel(Formula formula, int[] mapping) {
+    return formula.accept(new Converter(SyntacticFragment.ALL) {
+      @Override
+      public Formula visit(Literal literal) {
+        return Literal.of(mapping[literal.getAtom()], literal.isNegated());
+      }
+    });
+  }
+
+  private static String print(Formula formula, int[] mapping) {
+    return PrintVisitor.toString(LabelledFormula.of(
+        relabel(formula, mapping), canonicalAtomicPropositions(mapping.length)), true);
+  }
+
+  private static final class MinimalRelabellingSearch {
+    private final Formula formula;
+    private final List<int[]> classes;
+    private final int[] offsets;
+    private final int[] mapping;
+    private final boolean[] used;
+
+    @Nullable
+    private String bestKey;
+    private int[] bestMapping;
+
+    private MinimalRelabellingSearch(Formula formula, List<int[]> classes, int size) {
+      this.formula = formula;
+      this.classes = classes;
+      this.offsets = new int[classes.size()];
+      this.mapping = new int[size];
+      this.used = new boolean[size];
+
+      for (int i = 1; i < offsets.length; i++) {
+        offsets[i] = offsets[i - 1] + classes.get(i - 1).length;
+      }
+    }
+
+    // Enumerate all mappings that assign the canonical indices
+    // [offsets[i], offsets[i] + |classes[i]|) to the members of classes[i].
+    private void search(int classIndex, int position) {
+      if (classIndex == classes.size()) {
+        String key = print(formula, mapping);
+
+        if (bestKey == null || key.compareTo(bestKey) < 0) {
+          bestKey = key;
+          bestMapping = mapping.clone();
+        }
+
+        return;
+      }
+
+      int[] equivalenceClass = classes.get(classIndex);
+
+      if (position == equivalenceClass.length) {
+        search(classIndex + 1, 0);
+        return;
+      }
+
+      for (int atom : equivalenceClass) {
+        if (!used[atom]) {
+          used[atom] = true;
+          mapping[atom] = offsets[classIndex] + position;
+          search(classIndex, position + 1);
+          used[atom] = false;
+        }
+      }
+    }
+  }
+
+  /**
+   * The canonical signature of a formula.
+   */
+  public static final class Signature {
+
+    /**
+     * The canonical formula over the atomic propositions {@code p0, p1, ...}.
+     */
+    public final LabelledFormula formula;
+
+    /**
+     * Maps the index of a canonical atomic proposition to the index of the atomic proposition of
+     * the original labelled formula.
+     */
+    public final ImmutableIntArray mapping;
+
+    /**
+     * A stable string representation of the canonical formula.
+     */
+    public final String key;
+
+    private Signature(LabelledFormula formula, ImmutableIntArray mapping, String key) {
+      this.formula = formula;
+      this.mapping = mapping;
+      this.key = key;
+    }
+
+    public HashCode hash() {
+      return Hashing.sha256().hashString(key, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Signature that && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return key;
+    }
+  }
+}
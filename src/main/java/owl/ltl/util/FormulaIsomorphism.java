@@ -19,34 +19,53 @@
 
 package owl.ltl.util;
 
-import com.google.common.collect.Collections2;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import javax.annotation.Nullable;
-import owl.collections.Collections3;
-import owl.ltl.Biconditional;
-import owl.ltl.BooleanConstant;
-import owl.ltl.Conjunction;
-import owl.ltl.Disjunction;
-import owl.ltl.FOperator;
 import owl.ltl.Formula;
-import owl.ltl.GOperator;
 import owl.ltl.Literal;
-import owl.ltl.MOperator;
-import owl.ltl.ROperator;
-import owl.ltl.UOperator;
-import owl.ltl.WOperator;
-import owl.ltl.XOperator;
-import owl.ltl.visitors.BinaryVisitor;
+import owl.ltl.SyntacticFragment;
+import owl.ltl.visitors.Converter;
 
+/**
+ * Computes isomorphisms between formulas, i.e., bijections between the atomic propositions of two
+ * formulas such that relabelling the first formula yields the second formula up to the order of
+ * the operands of conjunctions and disjunctions.
+ *
+ * <p>Atomic propositions are coloured by iterated colour refinement: the colour of an atomic
+ * proposition is repeatedly refined by the hashes of the subformulas that contain its occurrences.
+ * An isomorphism maps atomic propositions to atomic propositions of the same colour. Hence all
+ * atomic propositions that obtain a unique colour are fixed directly, and only atomic propositions
+ * that share a colour are individualised and refined in a backtracking search. Since hash
+ * collisions only coarsen the colouring, every candidate mapping is validated.
+ *
+ * <p>Among all isomorphisms the search returns the one that comes first in the order of
+ * {@link com.google.common.collect.Collections2#permutations(java.util.Collection)} of the
+ * atomic propositions of the second formula. This is the mapping that an exhaustive search over
+ * all permutations returns. If a formula has more than {@value #MAX_ISOMORPHISMS} automorphisms,
+ * the search stops early and returns the first isomorphism in this order among those that have
+ * been enumerated.
+ */
 public final class FormulaIsomorphism {
 
+  private static final int MAX_ISOMORPHISMS = 720;
+
   private FormulaIsomorphism() {}
 
-  @SuppressWarnings("PMD.ReturnEmptyArrayRatherThanNull")
   @Nullable
   public static int[] compute(Formula formula1, Formula formula2) {
+    return compute(formula1, formula2, () -> {});
+  }
+
+  /**
+   * Computes an isomorphism and notifies {@code searchNodeVisited} about every node of the search
+   * tree that is visited.
+   */
+  @SuppressWarnings("PMD.ReturnEmptyArrayRatherThanNull")
+  @Nullable
+  static int[] compute(Formula formula1, Formula formula2, Runnable searchNodeVisited) {
     BitSet atoms1 = formula1.atomicPropositions(true);
     BitSet atoms2 = formula2.atomicPropositions(true);
 
@@ -58,167 +77,415 @@ public final class FormulaIsomorphism {
       return null;
     }
 
-    ValidationVisitor preValidationVisitor = new ValidationVisitor(null);
+    var tree1 = new Tree(formula1);
+    var tree2 = new Tree(formula2);
+    long[] colours1 = new long[atoms1.length()];
+    long[] colours2 = new long[atoms2.length()];
 
-    if (!formula1.accept(preValidationVisitor, formula2)) {
+    // Compare the shape of the formulas ignoring the atomic propositions.
+    if (tree1.rootHash(colours1) != tree2.rootHash(colours2)) {
       return null;
     }
 
-    List<Integer> atomsList1 = atoms1.stream().boxed().toList();
-    List<Integer> atomsList2 = atoms2.stream().boxed().toList();
+    int[] atomsList1 = atoms1.stream().toArray();
+    int[] atomsList2 = atoms2.stream().toArray();
 
+    // The identity permutation is the first permutation. Check it directly, since it is the
+    // common case for formulas with many automorphisms, e.g., the formula itself.
     int[] mapping = new int[atoms1.length()];
     Arrays.fill(mapping, -1);
-    ValidationVisitor validationVisitor = new ValidationVisitor(mapping);
 
-    for (List<Integer> atomsList2Perm : Collections2.permutations(atomsList2)) {
-      // Initialise Mapping
-      Collections3.forEachPair(atomsList1, atomsList2Perm, (x, y) -> mapping[x] = y);
+    for (int i = 0; i < atomsList1.length; i++) {
+      mapping[atomsList1[i]] = atomsList2[i];
+    }
 
-      // Check mapping
-      if (formula1.accept(validationVisitor, formula2)) {
-        return mapping;
-      }
+    if (isIsomorphism(formula1, formula2, mapping)) {
+      return mapping;
+    }
+
+    var search = new Search(
+      formula1, formula2, tree1, tree2, atomsList1, atomsList2, searchNodeVisited);
+
+    if (search.refine(colours1, colours2)) {
+      search.search(colours1, colours2, 0);
     }
 
-    return null;
+    return search.bestMapping;
   }
 
-  private static final class ValidationVisitor implements BinaryVisitor<Formula, Boolean> {
+  private static boolean isIsomorphism(Formula formula1, Formula formula2, int[] mapping) {
+    return formula1.accept(new Converter(SyntacticFragment.ALL) {
+      @Override
+      public Formula visit(Literal literal) {
+        return Literal.of(mapping[literal.getAtom()], literal.isNegated());
+      }
+    }).equals(formula2);
+  }
+
+  private static long mix(long value) {
+    long hash = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+    hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return hash ^ (hash >>> 33);
+  }
+
+  private static long combine(long hash, long value) {
+    return mix(hash * 31 + value);
+  }
+
+  private static final class Search {
+    private final Formula formula1;
+    private final Formula formula2;
+    private final Tree tree1;
+    private final Tree tree2;
+    private final int[] atomsList1;
+    private final int[] atomsList2;
+    private final int[] indexInAtomsList2;
+    private final Runnable searchNodeVisited;
+
+    private int isomorphisms;
     @Nullable
-    private final int[] mapping;
+    private int[] bestMapping;
+    @Nullable
+    private int[] bestOffsets;
+
+    private Search(Formula formula1, Formula formula2, Tree tree1, Tree tree2,
+      int[] atomsList1, int[] atomsList2, Runnable searchNodeVisited) {
+      this.formula1 = formula1;
+      this.formula2 = formula2;
+      this.tree1 = tree1;
+      this.tree2 = tree2;
+      this.atomsList1 = atomsList1;
+      this.atomsList2 = atomsList2;
+      this.searchNodeVisited = searchNodeVisited;
+      this.indexInAtomsList2 = new int[atomsList2.length == 0
+        ? 0 : atomsList2[atomsList2.length - 1] + 1];
+
+      for (int i = 0; i < atomsList2.length; i++) {
+        indexInAtomsList2[atomsList2[i]] = i;
+      }
+    }
+
+    // Refine both colourings in place until the number of colours is stable. Returns false, if
+    // the colourings are not compatible, i.e., there is no colour-preserving bijection.
+    private boolean refine(long[] colours1, long[] colours2) {
+      int classes = classes(colours1);
+
+      while (true) {
+        if (!Arrays.equals(sortedColours(colours1, atomsList1),
+          sortedColours(colours2, atomsList2))) {
+          return false;
+        }
+
+        long[] refinedColours1 = tree1.refine(colours1);
+        long[] refinedColours2 = tree2.refine(colours2);
+        System.arraycopy(refinedColours1, 0, colours1, 0, colours1.length);
+        System.arraycopy(refinedColours2, 0, colours2, 0, colours2.length);
 
-    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
-    private ValidationVisitor(@Nullable int[] mapping) {
-      this.mapping = mapping;
+        int refinedClasses = classes(colours1);
+
+        if (refinedClasses == classes) {
+          return Arrays.equals(sortedColours(colours1, atomsList1),
+            sortedColours(colours2, atomsList2));
+        }
+
+        classes = refinedClasses;
+      }
     }
 
-    @Override
-    public Boolean visit(Biconditional biconditional, Formula formula) {
-      if (!(formula instanceof Biconditional)) {
-        return Boolean.FALSE;
+    private void search(long[] colours1, long[] colours2, int depth) {
+      searchNodeVisited.run();
+
+      if (isomorphisms >= MAX_ISOMORPHISMS) {
+        return;
       }
 
-      return biconditional.leftOperand().accept(this, ((Biconditional) formula).leftOperand())
-        && biconditional.rightOperand().accept(this, ((Biconditional) formula).rightOperand());
-    }
+      // Select the smallest atomic proposition with a non-unique colour.
+      int atom = -1;
 
-    @Override
-    public Boolean visit(BooleanConstant booleanConstant, Formula formula) {
-      return booleanConstant.equals(formula);
-    }
+      for (int atom1 : atomsList1) {
+        for (int otherAtom1 : atomsList1) {
+          if (atom1 != otherAtom1 && colours1[atom1] == colours1[otherAtom1]) {
+            atom = atom1;
+            break;
+          }
+        }
 
-    @Override
-    public Boolean visit(Conjunction conjunction, Formula formula) {
-      return visitNaryPropositionalOperator(conjunction, formula);
-    }
+        if (atom >= 0) {
+          break;
+        }
+      }
 
-    @Override
-    public Boolean visit(Disjunction disjunction, Formula formula) {
-      return visitNaryPropositionalOperator(disjunction, formula);
-    }
+      // The colouring is discrete and determines the mapping.
+      if (atom < 0) {
+        int[] mapping = new int[colours1.length];
+        Arrays.fill(mapping, -1);
 
-    @Override
-    public Boolean visit(FOperator fOperator, Formula formula) {
-      return visitTemporal(fOperator, formula);
-    }
+        for (int atom1 : atomsList1) {
+          for (int atom2 : atomsList2) {
+            if (colours1[atom1] == colours2[atom2]) {
+              mapping[atom1] = atom2;
+            }
+          }
+        }
+
+        if (isIsomorphism(formula1, formula2, mapping)) {
+          isomorphisms++;
+          int[] offsets = permutationOffsets(mapping);
 
-    @Override
-    public Boolean visit(GOperator gOperator, Formula formula) {
-      return visitTemporal(gOperator, formula);
+          if (bestOffsets == null || Arrays.compare(offsets, bestOffsets) < 0) {
+            bestMapping = mapping;
+            bestOffsets = offsets;
+          }
+        }
+
+        return;
+      }
+
+      long colour = colours1[atom];
+      long individualisedColour = combine(colour, -(depth + 1));
+
+      for (int candidate : atomsList2) {
+        if (colours2[candidate] != colour) {
+          continue;
+        }
+
+        long[] individualisedColours1 = colours1.clone();
+        long[] individualisedColours2 = colours2.clone();
+        individualisedColours1[atom] = individualisedColour;
+        individualisedColours2[candidate] = individualisedColour;
+
+        if (refine(individualisedColours1, individualisedColours2)) {
+          search(individualisedColours1, individualisedColours2, depth + 1);
+        }
+      }
     }
 
-    @Override
-    public Boolean visit(Literal literal, Formula formula) {
-      if (!(formula instanceof Literal otherLiteral)) {
-        return Boolean.FALSE;
+    // The permutations of Collections2.permutations are generated by the Steinhaus-Johnson-Trotter
+    // algorithm. The rank of a permutation is a mixed-radix number with the digits
+    // offsets[1], ..., offsets[n - 1], where offsets[k] is the position of the k-th element among
+    // the first k + 1 elements counted from the end or the start depending on the parity of the
+    // rank of the first k elements. Thus permutations are ordered by the lexicographic order of
+    // their offsets.
+    private int[] permutationOffsets(int[] mapping) {
+      int size = atomsList1.length;
+      int[] position = new int[size];
+
+      for (int i = 0; i < size; i++) {
+        position[indexInAtomsList2[mapping[atomsList1[i]]]] = i;
       }
 
-      if (literal.isNegated() ^ otherLiteral.isNegated()) {
-        return Boolean.FALSE;
+      int[] offsets = new int[size];
+      boolean oddRank = false;
+
+      for (int k = 1; k < size; k++) {
+        int before = 0;
+
+        for (int j = 0; j < k; j++) {
+          if (position[j] < position[k]) {
+            before++;
+          }
+        }
+
+        offsets[k] = oddRank ? before : k - before;
+        oddRank = ((oddRank ? k + 1 : 0) + offsets[k]) % 2 == 1;
       }
 
-      return mapping == null ? Boolean.TRUE : mapping[literal.getAtom()] == otherLiteral.getAtom();
+      return offsets;
     }
 
-    @Override
-    public Boolean visit(MOperator mOperator, Formula formula) {
-      return visitTemporal(mOperator, formula);
-    }
+    private static long[] sortedColours(long[] colours, int[] atoms) {
+      long[] sortedColours = new long[atoms.length];
 
-    @Override
-    public Boolean visit(UOperator uOperator, Formula formula) {
-      return visitTemporal(uOperator, formula);
-    }
+      for (int i = 0; i < atoms.length; i++) {
+        sortedColours[i] = colours[atoms[i]];
+      }
 
-    @Override
-    public Boolean visit(ROperator rOperator, Formula formula) {
-      return visitTemporal(rOperator, formula);
+      Arrays.sort(sortedColours);
+      return sortedColours;
     }
 
-    @Override
-    public Boolean visit(WOperator wOperator, Formula formula) {
-      return visitTemporal(wOperator, formula);
-    }
+    private int classes(long[] colours) {
+      long[] sortedColours = sortedColours(colours, atomsList1);
+      int classes = sortedColours.length == 0 ? 0 : 1;
 
-    @Override
-    public Boolean visit(XOperator xOperator, Formula formula) {
-      return visitTemporal(xOperator, formula);
+      for (int i = 1; i < sortedColours.length; i++) {
+        if (sortedColours[i] != sortedColours[i - 1]) {
+          classes++;
+        }
+      }
+
+      return classes;
     }
+  }
 
-    private Boolean visitTemporal(Formula.TemporalOperator formula1, Formula formula2) {
-      if (!formula1.getClass().isInstance(formula2)) {
-        return Boolean.FALSE;
+  // The syntax tree of a formula in post-order.
+  private static final class Tree {
+    private final long[] kinds;
+    private final int[][] children;
+    private final boolean[] ordered;
+    private final int[] parents;
+    private final int[] childIndices;
+    private final int[] atoms;
+    private final List<int[]> literalsByAtom;
+
+    private Tree(Formula formula) {
+      List<Long> kindsList = new ArrayList<>();
+      List<int[]> childrenList = new ArrayList<>();
+      List<Integer> atomsList = new ArrayList<>();
+      List<Boolean> orderedList = new ArrayList<>();
+      build(formula, kindsList, childrenList, atomsList, orderedList);
+
+      int size = kindsList.size();
+      kinds = new long[size];
+      children = childrenList.toArray(int[][]::new);
+      ordered = new boolean[size];
+      parents = new int[size];
+      childIndices = new int[size];
+      atoms = new int[size];
+      Arrays.fill(parents, -1);
+
+      int largestAtom = -1;
+
+      for (int node = 0; node < size; node++) {
+        kinds[node] = kindsList.get(node);
+        atoms[node] = atomsList.get(node);
+        largestAtom = Math.max(largestAtom, atoms[node]);
+        ordered[node] = orderedList.get(node);
+
+        for (int i = 0; i < children[node].length; i++) {
+          parents[children[node][i]] = node;
+          childIndices[children[node][i]] = i;
+        }
       }
 
-      if (formula1.height() != formula2.height()) {
-        return Boolean.FALSE;
+      int[] occurrences = new int[largestAtom + 1];
+
+      for (int atom : atoms) {
+        if (atom >= 0) {
+          occurrences[atom]++;
+        }
       }
 
-      List<Formula> children1 = formula1.operands;
-      List<Formula> children2 = formula2.operands;
+      literalsByAtom = new ArrayList<>(largestAtom + 1);
 
-      assert children1.size() == children2.size();
+      for (int atom = 0; atom <= largestAtom; atom++) {
+        literalsByAtom.add(new int[occurrences[atom]]);
+        occurrences[atom] = 0;
+      }
 
-      for (int i = 0; i < children1.size(); i++) {
-        if (!children1.get(i).accept(this, children2.get(i))) {
-          return false;
+      for (int node = 0; node < size; node++) {
+        if (atoms[node] >= 0) {
+          literalsByAtom.get(atoms[node])[occurrences[atoms[node]]++] = node;
         }
       }
-
-      return true;
     }
 
-    private Boolean visitNaryPropositionalOperator(Formula formula1, Formula formula2) {
-      if (!formula1.getClass().isInstance(formula2)) {
-        return Boolean.FALSE;
+    private static int build(Formula formula, List<Long> kindsList, List<int[]> childrenList,
+      List<Integer> atomsList, List<Boolean> orderedList) {
+
+      int[] childNodes = new int[formula.operands.size()];
+
+      for (int i = 0; i < childNodes.length; i++) {
+        childNodes[i] = build(
+          formula.operands.get(i), kindsList, childrenList, atomsList, orderedList);
       }
 
-      if (formula1.height() != formula2.height()) {
-        return Boolean.FALSE;
+      int node = kindsList.size();
+
+      if (formula instanceof Literal literal) {
+        kindsList.add(kind(Literal.class, literal.isNegated() ? 1 : 0));
+        atomsList.add(literal.getAtom());
+      } else {
+        kindsList.add(kind(formula.getClass(), 0));
+        atomsList.add(-1);
       }
 
-      List<Formula> children1 = formula1.operands;
-      List<Formula> children2 = formula2.operands;
+      childrenList.add(childNodes);
+      // The operands of conjunctions and disjunctions are compared as sets.
+      orderedList.add(!(formula instanceof Formula.NaryPropositionalOperator));
+      return node;
+    }
 
-      if (children1.size() != children2.size()) {
-        return Boolean.FALSE;
+    private static long kind(Class<?> clazz, int extra) {
+      return mix(clazz.getName().hashCode() * 2L + extra);
+    }
+
+    private long[] nodeHashes(long[] colours) {
+      long[] hashes = new long[kinds.length];
+
+      for (int node = 0; node < kinds.length; node++) {
+        long hash = kinds[node];
+
+        if (atoms[node] >= 0) {
+          hash = combine(hash, colours[atoms[node]]);
+        } else if (ordered[node]) {
+          for (int child : children[node]) {
+            hash = combine(hash, hashes[child]);
+          }
+        } else {
+          long[] childHashes = new long[children[node].length];
+
+          for (int i = 0; i < childHashes.length; i++) {
+            childHashes[i] = hashes[children[node][i]];
+          }
+
+          Arrays.sort(childHashes);
+
+          for (long childHash : childHashes) {
+            hash = combine(hash, childHash);
+          }
+        }
+
+        hashes[node] = hash;
       }
 
-      for (List<Formula> children2Permutation : Collections2.permutations(children2)) {
-        int i = 0;
-        for (; i < children1.size(); i++) {
-          if (!children1.get(i).accept(this, children2Permutation.get(i))) {
-            break;
+      return hashes;
+    }
+
+    private long rootHash(long[] colours) {
+      long[] hashes = nodeHashes(colours);
+      return hashes[hashes.length - 1];
+    }
+
+    // The refined colour of an atomic proposition is determined by its colour and the multiset of
+    // the paths from its occurrences to the root, where each node on the path is represented by
+    // the hash of its subformula.
+    private long[] refine(long[] colours) {
+      long[] hashes = nodeHashes(colours);
+      long[] refinedColours = colours.clone();
+
+      for (int atom = 0; atom < literalsByAtom.size() && atom < colours.length; atom++) {
+        int[] literals = literalsByAtom.get(atom);
+
+        if (literals.length == 0) {
+          continue;
+        }
+
+        long[] paths = new long[literals.length];
+
+        for (int i = 0; i < literals.length; i++) {
+          long path = hashes[literals[i]];
+
+          for (int node = literals[i]; parents[node] >= 0; node = parents[node]) {
+            int parent = parents[node];
+            path = combine(
+              combine(path, hashes[parent]), ordered[parent] ? childIndices[node] : -1);
           }
+
+          paths[i] = path;
         }
 
-        if (i == children1.size()) {
-          return Boolean.TRUE;
+        Arrays.sort(paths);
+        long refinedColour = colours[atom];
+
+        for (long path : paths) {
+          refinedColour = combine(refinedColour, path);
         }
+
+        refinedColours[atom] = refinedColour;
       }
 
-      return Boolean.FALSE;
+      return refinedColours;
     }
   }
 }
@@ -53,8 +53,8 @@ public abstract class Converter implements Visitor<Formula>, UnaryOperator<Formu
   public Formula visit(Biconditional biconditional) {
     checkSupportedCase(Biconditional.class);
     return Biconditional.of(
-      biconditional.leftOperand().accept(this),
-      biconditional.rightOperand().accept(this));
+      apply(biconditional.leftOperand()),
+      apply(biconditional.rightOperand()));
   }
 
   @Override
@@ -66,25 +66,25 @@ public abstract class Converter implements Visitor<Formula>, UnaryOperator<Formu
   @Override
   public Formula visit(Conjunction conjunction) {
     checkSupportedCase(Conjunction.class);
-    return Conjunction.of(conjunction.map(c -> c.accept(this)));
+    return Conjunction.of(conjunction.map(this::apply));
   }
 
   @Override
   public Formula visit(Disjunction disjunction) {
     checkSupportedCase(Disjunction.class);
-    return Disjunction.of(disjunction.map(c -> c.accept(this)));
+    return Disjunction.of(disjunction.map(this::apply));
   }
 
   @Override
   public Formula visit(FOperator fOperator) {
     checkSupportedCase(FOperator.class);
-    return FOperator.of(fOperator.operand().accept(this));
+    return FOperator.of(apply(fOperator.operand()));
   }
 
   @Override
   public Formula visit(GOperator gOperator) {
     checkSupportedCase(GOperator.class);
-    return GOperator.of(gOperator.operand().accept(this));
+    return GOperator.of(apply(gOperator.operand()));
   }
 
   @Override
@@ -97,40 +97,40 @@ public abstract class Converter implements Visitor<Formula>, UnaryOperator<Formu
   public Formula visit(MOperator mOperator) {
     checkSupportedCase(MOperator.class);
     return MOperator
-      .of(mOperator.leftOperand().accept(this), mOperator.rightOperand().accept(this));
+      .of(apply(mOperator.leftOperand()), apply(mOperator.rightOperand()));
   }
 
   @Override
   public Formula visit(ROperator rOperator) {
     checkSupportedCase(ROperator.class);
     return ROperator
-      .of(rOperator.leftOperand().accept(this), rOperator.rightOperand().accept(this));
+      .of(apply(rOperator.leftOperand()), apply(rOperator.rightOperand()));
   }
 
   @Override
   public Formula visit(UOperator uOperator) {
     checkSupportedCase(UOperator.class);
     return UOperator
-      .of(uOperator.leftOperand().accept(this), uOperator.rightOperand().accept(this));
+      .of(apply(uOperator.leftOperand()), apply(uOperator.rightOperand()));
   }
 
   @Override
   public Formula visit(WOperator wOperator) {
     checkSupportedCase(WOperator.class);
     return WOperator
-      .of(wOperator.leftOperand().accept(this), wOperator.rightOperand().accept(this));
+      .of(apply(wOperator.leftOperand()), apply(wOperator.rightOperand()));
   }
 
   @Override
   public Formula visit(XOperator xOperator) {
     checkSupportedCase(XOperator.class);
-    return XOperator.of(xOperator.operand().accept(this));
+    return XOperator.of(apply(xOperator.operand()));
   }
 
   @Override
   public Formula visit(Negation negation) {
     checkSupportedCase(Negation.class);
-    return new Negation(negation.operand().accept(this));
+    return new Negation(apply(negation.operand()));
   }
 
   private void checkSupportedCase(Class<? extends Formula> clazz) {
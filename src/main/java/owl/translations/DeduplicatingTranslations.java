@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.translations;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import owl.automaton.AbstractMemoizingAutomaton;
+import owl.automaton.Automaton;
+import owl.automaton.acceptance.EmersonLeiAcceptance;
+import owl.automaton.acceptance.OmegaAcceptanceCast;
+import owl.automaton.edge.Edge;
+import owl.bdd.BddSet;
+import owl.bdd.MtBdd;
+import owl.collections.Collections3;
+import owl.collections.Numbering;
+import owl.ltl.LabelledFormula;
+import owl.ltl.util.FormulaCanonicalisation;
+
+/**
+ * An in-memory store of translated formulas that translates each class of formulas that are
+ * equal up to the naming and order of atomic propositions only once. Formulas are grouped by
+ * their {@link FormulaCanonicalisation.Signature}. The canonical formula of a class is translated
+ * and the resulting automaton is relabelled for every member of the class.
+ *
+ * <p>The translation of the canonical formula is stored as an immutable copy with integer states
+ * that does not refer to any BDD factory. Every relabelled automaton uses its own factory, hence
+ * the store can be used by several threads. State labels of the canonical automaton are not
+ * preserved.
+ */
+public final class DeduplicatingTranslations {
+
+  private final Cache<String, CanonicalAutomaton> automata;
+
+  private DeduplicatingTranslations(long maximumSize) {
+    this.automata = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  /**
+   * Create a new store.
+   *
+   * @param maximumSize the maximal number of canonical automata that are kept in memory. If
+   *     the bound is exceeded, the least recently used automata are dropped.
+   * @return the store.
+   */
+  public static DeduplicatingTranslations create(long maximumSize) {
+    checkArgument(maximumSize > 0, "maximumSize must be positive.");
+    return new DeduplicatingTranslations(maximumSize);
+  }
+
+  /**
+   * Wrap a translation such that formulas with the same signature are only translated once.
+   *
+   * @param translationKey a description of the translation, e.g., its name and the acceptance
+   *     condition. It must distinguish all translations that produce different automata.
+   * @param translationOptions the options passed to the translation.
+   * @param acceptanceClass the acceptance condition class of the translation.
+   * @param translation the translation.
+   * @return the deduplicating translation.
+   */
+  public <A extends EmersonLeiAcceptance> Function<LabelledFormula, Automaton<?, ? extends A>>
+  deduplicated(
+      String translationKey,
+      Set<LtlTranslationRepository.Option> translationOptions,
+      Class<? extends A> acceptanceClass,
+      Function<LabelledFormula, ? extends Automaton<?, ? extends A>> translation) {
+
+    boolean simplifyFormula
+        = translationOptions.contains(LtlTranslationRepository.Option.SIMPLIFY_FORMULA);
+    String optionsKey = translationKey + ' ' + new TreeSet<>(translationOptions);
+
+    return labelledFormula -> {
+      var signature = FormulaCanonicalisation.signature(labelledFormula, simplifyFormula);
+      CanonicalAutomaton canonicalAutomaton;
+
+      try {
+        canonicalAutomaton = automata.get(optionsKey + '\n' + signature.key,
+            () -> CanonicalAutomaton.of(translation.apply(signature.formula)));
+      } catch (ExecutionException | UncheckedExecutionException | ExecutionError ex) {
+        var cause = ex.getCause();
+
+        if (cause instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+
+        if (cause instanceof Error error) {
+          throw error;
+        }
+
+        throw new IllegalStateException(cause);
+      }
+
+      return OmegaAcceptanceCast.cast(
+          canonicalAutomaton.relabel(labelledFormula.atomicPropositions(), signature.mapping::get),
+          acceptanceClass);
+    };
+  }
+
+  /**
+   * A translated canonical formula. The edge trees are immutable and do not refer to the BDD
+   * factory of the translation, thus they can be read concurrently.
+   */
+  private record CanonicalAutomaton(
+      Set<Integer> initialStates,
+      EmersonLeiAcceptance acceptance,
+      List<MtBdd<Edge<Integer>>> edgeTrees) {
+
+    private static <S> CanonicalAutomaton of(Automaton<S, ?> automaton) {
+      var numbering = new Numbering<S>();
+      var initialStates = new HashSet<Integer>();
+      automaton.initialStates().forEach(state -> initialStates.add(numbering.lookup(state)));
+
+      List<MtBdd<Edge<Integer>>> edgeTrees = new ArrayList<>();
+
+      // The numbering grows while the edge trees are renamed.
+      for (int i = 0; i < numbering.size(); i++) {
+        edgeTrees.add(automaton.edgeTree(numbering.lookup(i)).map(edges ->
+            Collections3.transformSet(edges, edge -> edge.mapSuccessor(numbering::lookup))));
+      }
+
+      return new CanonicalAutomaton(
+          Set.copyOf(initialStates), automaton.acceptance(), List.copyOf(edgeTrees));
+    }
+
+    private Automaton<Integer, EmersonLeiAcceptance> relabel(
+        List<String> atomicPropositions, IntUnaryOperator mapping) {
+
+      // The default constructor creates a new factory for each relabelled automaton.
+      return new AbstractMemoizingAutomaton.EdgeMapImplementation<>(
+          atomicPropositions, initialStates, acceptance) {
+
+        @Override
+        protected Map<Edge<Integer>, BddSet> edgeMapImpl(Integer state) {
+          return edgeTrees.get(state).inverse(factory, mapping);
+        }
+      };
+    }
+  }
+}
@@ -50,6 +50,7 @@ import owl.automaton.acceptance.ParityAcceptance;
 import owl.automaton.acceptance.RabinAcceptance;
 import owl.automaton.acceptance.degeneralization.RabinDegeneralization;
 import owl.automaton.acceptance.optimization.AcceptanceOptimizations;
+import owl.automaton.minimization.BisimulationMinimization;
 import owl.cinterface.CInterface;
 import owl.ltl.LabelledFormula;
 import owl.ltl.rewriter.SimplifierRepository;
@@ -68,6 +69,7 @@ import owl.translations.ltl2ldba.SymmetricLDBAConstruction;
 import owl.translations.ltl2nba.SymmetricNBAConstruction;
 import owl.translations.rabinizer.RabinizerBuilder;
 import owl.translations.rabinizer.RabinizerConfiguration;
+import owl.util.Metrics;
 import owl.util.ParallelEvaluation;
 
 /**
@@ -309,7 +311,22 @@ public final class LtlTranslationRepository {
     X_DPA_USE_COMPLEMENT,
 
     @CEnumConstant("OWL_X_DRA_NORMAL_FORM_USE_DUAL")
-    X_DRA_NORMAL_FORM_USE_DUAL;
+    X_DRA_NORMAL_FORM_USE_DUAL,
+
+    /**
+     * Translate formulas that are equal up to the naming and order of atomic propositions only
+     * once and relabel the automaton. This option is only honoured by the C interface and is not
+     * part of the default options.
+     */
+    @CEnumConstant("OWL_X_DEDUPLICATE_ISOMORPHIC_FORMULAS")
+    X_DEDUPLICATE_ISOMORPHIC_FORMULAS,
+
+    /**
+     * Merge bisimilar states of deterministic automata. Note that this causes a full exploration
+     * of the automaton.
+     */
+    @CEnumConstant("OWL_MERGE_BISIMILAR_STATES")
+    MERGE_BISIMILAR_STATES;
 
     @CEnumValue
     public native int getCValue();
@@ -320,6 +337,7 @@ public final class LtlTranslationRepository {
     public static Set<Option> defaultOptions() {
       var defaultOptions = EnumSet.allOf(Option.class);
       defaultOptions.remove(COMPLETE);
+      defaultOptions.remove(X_DEDUPLICATE_ISOMORPHIC_FORMULAS);
       return defaultOptions;
     }
   }
@@ -920,6 +938,8 @@ public final class LtlTranslationRepository {
     boolean simplifyFormula = translationOptions.contains(Option.SIMPLIFY_FORMULA);
     boolean simplifyAutomaton = translationOptions.contains(Option.SIMPLIFY_AUTOMATON);
     boolean completeAutomaton = translationOptions.contains(Option.COMPLETE);
+    boolean mergeBisimilarStates = branchingMode == BranchingMode.DETERMINISTIC
+        && translationOptions.contains(Option.MERGE_BISIMILAR_STATES);
 
     Function<LabelledFormula, ? extends Automaton<?, ? extends A>> wrappedFunction;
 
@@ -929,19 +949,33 @@ public final class LtlTranslationRepository {
           ? new NonDeterministicConstructionsPortfolio<>(acceptanceCondition)
           : new DeterministicConstructionsPortfolio<>(acceptanceCondition);
 
-      wrappedFunction = labelledFormula ->
-          portfolio.apply(labelledFormula).orElseGet(() -> function.apply(labelledFormula));
+      wrappedFunction = labelledFormula -> {
+        var portfolioResult = portfolio.apply(labelledFormula);
+        Metrics.put("portfolio", portfolioResult.isPresent());
+        return portfolioResult.isPresent()
+            ? portfolioResult.get()
+            : function.apply(labelledFormula);
+      };
     } else {
       wrappedFunction = function;
     }
 
     return unprocessedFormula -> {
       var formula = simplifyFormula
-          ? SimplifierRepository.SYNTACTIC_FIXPOINT.apply(unprocessedFormula)
+          ? Metrics.time("simplify",
+              () -> SimplifierRepository.SYNTACTIC_FIXPOINT.apply(unprocessedFormula))
           : unprocessedFormula;
-      var automaton = simplifyAutomaton
-          ? AcceptanceOptimizations.transform(wrappedFunction.apply(formula))
-          : wrappedFunction.apply(formula);
+      Automaton<?, ? extends A> translatedAutomaton
+          = Metrics.time("translate", () -> wrappedFunction.apply(formula));
+      Automaton<?, ? extends A> automaton = simplifyAutomaton
+          ? Metrics.time("optimise", () -> AcceptanceOptimizations.transform(translatedAutomaton))
+          : translatedAutomaton;
+
+      if (mergeBisimilarStates) {
+        Automaton<?, ? extends A> unminimizedAutomaton = automaton;
+        automaton = Metrics.time("optimise",
+            () -> BisimulationMinimization.minimize(unminimizedAutomaton));
+      }
 
       if (completeAutomaton) {
         if (automaton.acceptance() instanceof AllAcceptance
@@ -973,6 +1007,8 @@ public final class LtlTranslationRepository {
     boolean simplifyFormula = translationOptions.contains(Option.SIMPLIFY_FORMULA);
     boolean simplifyAutomaton = translationOptions.contains(Option.SIMPLIFY_AUTOMATON);
     boolean completeAutomaton = translationOptions.contains(Option.COMPLETE);
+    boolean mergeBisimilarStates = branchingMode == BranchingMode.DETERMINISTIC
+        && translationOptions.contains(Option.MERGE_BISIMILAR_STATES);
 
     var portfolio = branchingMode == BranchingMode.NON_DETERMINISTIC
         ? new NonDeterministicConstructionsPortfolio<>(acceptanceCondition)
@@ -980,18 +1016,27 @@ public final class LtlTranslationRepository {
 
     return unprocessedFormula -> {
       var formula = simplifyFormula
-          ? SimplifierRepository.SYNTACTIC_FIXPOINT.apply(unprocessedFormula)
+          ? Metrics.time("simplify",
+              () -> SimplifierRepository.SYNTACTIC_FIXPOINT.apply(unprocessedFormula))
           : unprocessedFormula;
-      var automatonOptional = portfolio.apply(formula);
+      var automatonOptional = Metrics.time("translate", () -> portfolio.apply(formula));
+      Metrics.put("portfolio", automatonOptional.isPresent());
 
       if (automatonOptional.isEmpty()) {
         return Optional.empty();
       }
 
-      var automaton = simplifyAutomaton
-          ? AcceptanceOptimizations.transform(automatonOptional.get())
+      Automaton<?, ? extends A> automaton = simplifyAutomaton
+          ? Metrics.time("optimise",
+              () -> AcceptanceOptimizations.transform(automatonOptional.get()))
           : automatonOptional.get();
 
+      if (mergeBisimilarStates) {
+        Automaton<?, ? extends A> unminimizedAutomaton = automaton;
+        automaton = Metrics.time("optimise",
+            () -> BisimulationMinimization.minimize(unminimizedAutomaton));
+      }
+
       if (completeAutomaton) {
         if (automaton.acceptance() instanceof AllAcceptance
             && acceptanceCondition.equals(GeneralizedBuchiAcceptance.class)) {
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.translations;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import owl.automaton.Automaton;
+import owl.automaton.acceptance.EmersonLeiAcceptance;
+import owl.automaton.acceptance.OmegaAcceptanceCast;
+import owl.automaton.hoa.HoaReader;
+import owl.automaton.hoa.HoaWriter;
+import owl.bdd.FactorySupplier;
+import owl.collections.Pair;
+import owl.ltl.LabelledFormula;
+import owl.ltl.util.FormulaCanonicalisation;
+import owl.thirdparty.jhoafparser.consumer.HOAConsumerException;
+import owl.thirdparty.jhoafparser.owl.extensions.HOAConsumerPrintFixed;
+import owl.thirdparty.jhoafparser.parser.generated.ParseException;
+
+/**
+ * A persistent, content-addressed cache for the results of LTL translations.
+ *
+ * <p>Entries are keyed by the {@link FormulaCanonicalisation.Signature} of the (optionally
+ * simplified) formula, together with a description of the translation and its options. Thus two
+ * formulas that only differ in the names and order of the atomic propositions share the same
+ * entry. Values are stored in the HOA format
+ * and the atomic propositions are renamed back when an entry is read. Since the cached automaton
+ * is re-read from its HOA representation, states are integers and state labels are not preserved.
+ *
+ * <p>The total size of the cache directory is bounded. If the bound is exceeded, the least
+ * recently used entries are evicted. The last-modified time of an entry is used to track its
+ * last use. Malformed entries are treated as misses and overwritten.
+ */
+public final class TranslationCache {
+
+  private static final Logger logger = Logger.getLogger(TranslationCache.class.getName());
+
+  private static final String FILE_SUFFIX = ".hoa";
+
+  private final Path directory;
+  private final long maximumSize;
+
+  private TranslationCache(Path directory, long maximumSize) {
+    this.directory = directory;
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Open (and create if necessary) a translation cache in the given directory.
+   *
+   * @param directory the cache directory.
+   * @param maximumSize the maximal size of the cache in bytes.
+   * @return the cache.
+   * @throws IOException if the directory cannot be created.
+   */
+  public static TranslationCache of(Path directory, long maximumSize) throws IOException {
+    checkArgument(maximumSize > 0, "maximumSize must be positive.");
+    Files.createDirectories(directory);
+    return new TranslationCache(directory, maximumSize);
+  }
+
+  /**
+   * Wrap a translation such that results are looked up in and stored in the cache.
+   *
+   * @param translationKey a description of the translation, e.g., its name and the acceptance
+   *     condition. It must distinguish all translations that produce different automata.
+   * @param translationOptions the options passed to the translation.
+   * @param acceptanceClass the acceptance condition class of the translation.
+   * @param translation the translation.
+   * @return the cached translation.
+   */
+  public <A extends EmersonLeiAcceptance> Function<LabelledFormula, Automaton<?, ? extends A>>
+  cached(
+      String translationKey,
+      Set<LtlTranslationRepository.Option> translationOptions,
+      Class<? extends A> acceptanceClass,
+      Function<LabelledFormula, ? extends Automaton<?, ? extends A>> translation) {
+
+    boolean simplifyFormula
+        = translationOptions.contains(LtlTranslationRepository.Option.SIMPLIFY_FORMULA);
+    String optionsKey = translationKey + ' ' + new TreeSet<>(translationOptions);
+
+    return labelledFormula -> {
+      var signature = FormulaCanonicalisation.signature(labelledFormula, simplifyFormula);
+      String key = optionsKey + '\n' + signature.key;
+      var atomicPropositions = labelledFormula.atomicPropositions();
+      List<String> usedAtomicPropositions = new ArrayList<>(signature.mapping.length());
+      signature.mapping.forEach(i -> usedAtomicPropositions.add(atomicPropositions.get(i)));
+
+      String hoa = lookup(key).orElse(null);
+
+      if (hoa != null) {
+        try {
+          return OmegaAcceptanceCast.cast(
+              read(hoa, usedAtomicPropositions, atomicPropositions),
+              acceptanceClass);
+        } catch (ParseException | IllegalArgumentException ex) {
+          // A corrupt entry is treated as a miss and replaced by the recomputed result.
+          logger.log(Level.WARNING, "Ignoring malformed cache entry " + file(key) + '.', ex);
+        }
+      }
+
+      hoa = toHoa(translation.apply(signature.formula));
+      store(key, hoa);
+
+      try {
+        return OmegaAcceptanceCast.cast(
+            read(hoa, usedAtomicPropositions, atomicPropositions),
+            acceptanceClass);
+      } catch (ParseException ex) {
+        throw new IllegalStateException("Cannot read written cache entry.", ex);
+      }
+    };
+  }
+
+  private Optional<String> lookup(String key) {
+    Path file = file(key);
+
+    try {
+      String content = Files.readString(file, StandardCharsets.UTF_8);
+      int separator = content.indexOf('\0');
+
+      // Guard against hash collisions and truncated files.
+      if (separator < 0 || !key.equals(content.substring(0, separator))) {
+        return Optional.empty();
+      }
+
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+      return Optional.of(content.substring(separator + 1));
+    } catch (NoSuchFileException ex) {
+      return Optional.empty();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private void store(String key, String hoa) {
+    Path file = file(key);
+
+    try {
+      // Write to a temporary file first such that concurrent readers never observe a partially
+      // written entry.
+      Path temporaryFile = Files.createTempFile(directory, "entry", ".tmp");
+      Files.writeString(temporaryFile, key + '\0' + hoa, StandardCharsets.UTF_8);
+
+      try {
+        Files.move(temporaryFile, file,
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException ex) {
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      evict();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private synchronized void evict() throws IOException {
+    List<Pair<Path, FileTime>> entries = new ArrayList<>();
+    long totalSize = 0;
+
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        if (!file.getFileName().toString().endsWith(FILE_SUFFIX)) {
+          continue;
+        }
+
+        try {
+          totalSize += Files.size(file);
+          entries.add(Pair.of(file, Files.getLastModifiedTime(file)));
+        } catch (NoSuchFileException ex) {
+          // The entry has been evicted concurrently.
+        }
+      }
+    }
+
+    if (totalSize <= maximumSize) {
+      return;
+    }
+
+    entries.sort(Comparator.comparing(Pair::snd));
+
+    for (var entry : entries) {
+      if (totalSize <= maximumSize) {
+        break;
+      }
+
+      try {
+        long size = Files.size(entry.fst());
+        Files.delete(entry.fst());
+        totalSize -= size;
+      } catch (NoSuchFileException ex) {
+        // The entry has been evicted concurrently.
+      }
+    }
+  }
+
+  private Path file(String key) {
+    return directory.resolve(
+        Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + FILE_SUFFIX);
+  }
+
+  private static String toHoa(Automaton<?, ?> automaton) {
+    var writer = new StringWriter();
+
+    try {
+      HoaWriter.write(automaton, new HOAConsumerPrintFixed(writer), false);
+    } catch (HOAConsumerException ex) {
+      throw new HoaWriter.UncheckedHoaConsumerException(ex);
+    }
+
+    return writer.toString();
+  }
+
+  private static Automaton<Integer, ?> read(
+      String hoa, List<String> usedAtomicPropositions, List<String> atomicPropositions)
+      throws ParseException {
+
+    // Rename the canonical atomic propositions 'p0', 'p1', ... to the original names.
+    StringBuilder apHeader = new StringBuilder("AP: ").append(usedAtomicPropositions.size());
+
+    for (String atomicProposition : usedAtomicPropositions) {
+      apHeader.append(' ').append(quote(atomicProposition));
+    }
+
+    int start = hoa.indexOf("\nAP: ") + 1;
+    checkArgument(start > 0, "Malformed cache entry.");
+    int end = hoa.indexOf('\n', start);
+    String renamedHoa = hoa.substring(0, start) + apHeader + hoa.substring(end);
+
+    return HoaReader.read(renamedHoa,
+        FactorySupplier.defaultSupplier()::getBddSetFactory, atomicPropositions);
+  }
+
+  private static String quote(String string) {
+    return '"' + string.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+}
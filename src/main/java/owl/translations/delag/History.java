@@ -21,16 +21,17 @@ package owl.translations.delag;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.primitives.ImmutableLongArray;
 import java.util.BitSet;
-import java.util.HashMap;
-import java.util.Map;
 import javax.annotation.Nullable;
 import owl.ltl.Literal;
 
 final class History {
 
-  private static final Map<ImmutableLongArray, ImmutableLongArray> uniqueHistory = new HashMap<>();
+  // Thread-safe, since translations might run concurrently.
+  private static final Interner<ImmutableLongArray> uniqueHistory = Interners.newWeakInterner();
   private final ImmutableLongArray longs;
 
   History() {
@@ -46,15 +47,7 @@ final class History {
   }
 
   private static ImmutableLongArray makeUnique(long[] history) {
-    ImmutableLongArray array = ImmutableLongArray.copyOf(history);
-    ImmutableLongArray uniqueElement = uniqueHistory.get(array);
-
-    if (uniqueElement != null) {
-      return uniqueElement;
-    }
-
-    uniqueHistory.put(array, array);
-    return array;
+    return uniqueHistory.intern(ImmutableLongArray.copyOf(history));
   }
 
   static History stepHistory(@Nullable History past, BitSet present, History mask) {
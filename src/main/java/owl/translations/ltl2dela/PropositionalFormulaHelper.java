@@ -63,7 +63,7 @@ public final class PropositionalFormulaHelper {
     }
 
     Bdd bdd = BddFactory.buildBddRecursive(1000, ImmutableBddConfiguration.builder().build());
-    bdd.createVariables(variableMap.asMap().size() + 1);
+    bdd.createVariables(variableMap.size() + 1);
 
     int formulaNode = translateBdd(formula, bdd, variableMap);
     int refinedFormulaNode = translateBdd(refinedFormula, bdd, variableMap);
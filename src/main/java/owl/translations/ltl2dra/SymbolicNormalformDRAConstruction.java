@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import owl.automaton.symbolic.SymbolicAutomaton;
+import owl.automaton.symbolic.SymbolicAutomatonEncoder;
 import owl.automaton.symbolic.SymbolicBooleanOperations;
 import owl.bdd.BddSetFactory;
 import owl.bdd.EquivalenceClassFactory;
@@ -42,7 +43,7 @@ import owl.translations.canonical.DeterministicConstructions;
 public class SymbolicNormalformDRAConstruction extends AbstractNormalformDRAConstruction
   implements Function<LabelledFormula, SymbolicAutomaton<?>> {
 
-  private final BddSetFactory factory;
+  private final SymbolicAutomatonEncoder encoder;
 
   public SymbolicNormalformDRAConstruction(BddSetFactory factory) {
     this(true, factory);
@@ -50,7 +51,7 @@ public class SymbolicNormalformDRAConstruction extends AbstractNormalformDRACons
 
   public SymbolicNormalformDRAConstruction(boolean useDualConstruction, BddSetFactory factory) {
     super(useDualConstruction);
-    this.factory = factory;
+    this.encoder = SymbolicAutomatonEncoder.of(factory);
   }
 
   @Override
@@ -83,10 +84,10 @@ public class SymbolicNormalformDRAConstruction extends AbstractNormalformDRACons
       if (coSafetySafetyIndex == null) {
         coSafetySafetyIndex = automata.size();
         coSafetySafetyIndices.put(sigma2, coSafetySafetyIndex);
-        automata.add(SymbolicAutomaton.of(
+        automata.add(encoder.encode(
           DeterministicConstructions.CoSafetySafetyRoundRobin.of(
             explicitFactories, sigma2.formula(), true, false
-          ), factory, labelledFormula.atomicPropositions()));
+          ), labelledFormula.atomicPropositions()));
       }
 
       var safetyCoSafetyIndex = safetyCoSafetyIndices.get(pi2);
@@ -94,10 +95,10 @@ public class SymbolicNormalformDRAConstruction extends AbstractNormalformDRACons
       if (safetyCoSafetyIndex == null) {
         safetyCoSafetyIndex = automata.size();
         safetyCoSafetyIndices.put(pi2, safetyCoSafetyIndex);
-        automata.add(SymbolicAutomaton.of(
+        automata.add(encoder.encode(
           DeterministicConstructions.SafetyCoSafetyRoundRobin.of(
             explicitFactories, pi2.formula(), true, false
-          ), factory, labelledFormula.atomicPropositions()));
+          ), labelledFormula.atomicPropositions()));
       }
 
       disjuncts.add(Conjunction.of(
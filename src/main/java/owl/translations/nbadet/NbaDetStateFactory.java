@@ -22,7 +22,6 @@ package owl.translations.nbadet;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
@@ -31,6 +30,8 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import owl.automaton.edge.Edge;
 import owl.collections.BitSet2;
+import owl.collections.IntArrayList;
+import owl.collections.IntIntMap;
 import owl.collections.Numbering;
 import owl.collections.Pair;
 
@@ -434,7 +435,7 @@ final class NbaDetStateFactory<S> {
 
   public void normalizeRanks() {
     //collect currently used ranks
-    var used = new ArrayList<Integer>();
+    var used = new IntArrayList();
     aSccs.ifPresent(bitSetIntegerPair -> used.add(bitSetIntegerPair.snd()));
     for (final var sl : dSccs) {
       for (final var p : sl.slice()) {
@@ -448,16 +449,17 @@ final class NbaDetStateFactory<S> {
     }
 
     //get new numbering
-    Collections.sort(used);
-    var rankMap = new HashMap<Integer, Integer>();
+    used.sort();
+    var rankMap = new IntIntMap(used.size());
     for (int i = 0; i < used.size(); i++) {
-      rankMap.put(used.get(i), i);
+      rankMap.put(used.get(i), i, -1);
     }
 
     //apply new ranks
-    aSccs = aSccs.map(p -> p.mapSnd(rankMap::get));
-    mapSlicesInplace(dSccs, sl -> sl.map(p -> p.mapSnd(rankMap::get)));
-    mapSlicesInplace(mSccs, sl -> sl.map(p -> p.mapSnd(rankMap::get)));
+    Function<Integer, Integer> newRank = rank -> rankMap.get(rank, -1);
+    aSccs = aSccs.map(p -> p.mapSnd(newRank));
+    mapSlicesInplace(dSccs, sl -> sl.map(p -> p.mapSnd(newRank)));
+    mapSlicesInplace(mSccs, sl -> sl.map(p -> p.mapSnd(newRank)));
   }
 
 
@@ -32,6 +32,7 @@ import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -118,7 +119,8 @@ public final class RabinizerBuilder {
   }
 
   private static BddSet[][] computeMonitorPriorities(MonitorAutomaton[] monitors,
-    List<MonitorState> monitorStates, GSet activeSet) {
+    List<MonitorState> monitorStates, GSet activeSet,
+    Map<Automaton<MonitorState, ParityAcceptance>, Map<MonitorState, BddSet[]>> cache) {
     int monitorCount = monitors.length;
     BddSet[][] monitorPriorities = new BddSet[monitorCount][];
     for (int relevantIndex = 0; relevantIndex < monitorStates.size(); relevantIndex++) {
@@ -127,29 +129,39 @@ public final class RabinizerBuilder {
       // Get the corresponding monitor for this gSet.
       Automaton<MonitorState, ParityAcceptance> monitor =
         monitors[relevantIndex].getAutomaton(activeSet);
-      int monitorAcceptanceSets = monitor.acceptance().acceptanceSets();
 
-      // Cache the priorities of the edge
-      BddSet[] edgePriorities = new BddSet[monitorAcceptanceSets];
+      // The priorities only depend on the monitor and its state. Since the same monitor states
+      // occur in many product states, they are computed only once.
+      monitorPriorities[relevantIndex] = cache
+        .computeIfAbsent(monitor, x -> new HashMap<>())
+        .computeIfAbsent(monitorState, x -> computeEdgePriorities(monitor, monitorState));
+    }
+    return monitorPriorities;
+  }
 
-      monitor.edgeMap(monitorState).forEach((edge, valuations) -> {
-        var colours = edge.colours();
+  private static BddSet[] computeEdgePriorities(
+    Automaton<MonitorState, ParityAcceptance> monitor, MonitorState monitorState) {
+    int monitorAcceptanceSets = monitor.acceptance().acceptanceSets();
 
-        var priority = colours.first();
+    // Cache the priorities of the edge
+    BddSet[] edgePriorities = new BddSet[monitorAcceptanceSets];
 
-        if (priority.isEmpty()) {
-          return;
-        }
+    monitor.edgeMap(monitorState).forEach((edge, valuations) -> {
+      var colours = edge.colours();
 
-        assert priority.equals(colours.last());
-        edgePriorities[priority.getAsInt()] = edgePriorities[priority.getAsInt()] == null
-          ? valuations
-          : valuations.union(edgePriorities[priority.getAsInt()]);
-      });
+      var priority = colours.first();
 
-      monitorPriorities[relevantIndex] = edgePriorities;
-    }
-    return monitorPriorities;
+      if (priority.isEmpty()) {
+        return;
+      }
+
+      assert priority.equals(colours.last());
+      edgePriorities[priority.getAsInt()] = edgePriorities[priority.getAsInt()] == null
+        ? valuations
+        : valuations.union(edgePriorities[priority.getAsInt()]);
+    });
+
+    return edgePriorities;
   }
 
   private static boolean isSuspendableScc(Set<EquivalenceClass> scc,
@@ -325,10 +337,12 @@ public final class RabinizerBuilder {
     MutableAutomaton<RabinizerState, GeneralizedRabinAcceptance> rabinizerAutomaton =
       HashMapAutomaton.create(eqFactory.atomicPropositions(), vsFactory, builder.build());
 
-    // Process each subset separately
-    // TODO Parallel
+    // Process each subset separately. The SCCs are processed sequentially, since all monitors and
+    // product states share the (not thread-safe) BDD factories.
     List<Set<EquivalenceClass>> partition = masterSccPartition.sccs;
     Multimap<EquivalenceClass, RabinizerState> statesPerClass = HashMultimap.create();
+    Map<Automaton<MonitorState, ParityAcceptance>, Map<MonitorState, BddSet[]>>
+      monitorPrioritiesCache = new IdentityHashMap<>();
 
     for (int sccIndex = 0; sccIndex < partition.size(); sccIndex++) {
       // Preliminary work: Only some sub-formulas are relevant a particular SCC (consider again
@@ -411,7 +425,8 @@ public final class RabinizerBuilder {
           // simply has to find a j such that priorities[i][j] contains the valuation. Note that
           // thus it is guaranteed that for each i priorities[i][j] are disjoint for all j.
           BddSet[][] monitorPriorities =
-            computeMonitorPriorities(sccMonitors, state.monitorStates(), activeSubFormulasSet);
+            computeMonitorPriorities(sccMonitors, state.monitorStates(), activeSubFormulasSet,
+              monitorPrioritiesCache);
 
           // Iterate over all possible rankings
           Iterator<List<Integer>> rankingIterator = activeSet.rankings.iterator();
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for the expensive internals of Owl.
+ *
+ * <p>All events are disabled by default, even if a recording with the default settings is
+ * running. If an event is disabled, {@link Event#begin()}, {@link Event#shouldCommit()} and
+ * {@link Event#commit()} return immediately and the event object is usually removed by escape
+ * analysis. Thus fields of events should only be computed after {@link Event#shouldCommit()}
+ * returned {@code true}. The events are enabled per recording, e.g.:
+ *
+ * <pre>
+ *   java -XX:StartFlightRecording:filename=owl.jfr,+owl.EdgeTreeComputation#enabled=true ...
+ * </pre>
+ *
+ * <p>or for all events by a settings file created with {@code jfr configure}.
+ */
+public final class FlightRecorderEvents {
+
+  private static final String CATEGORY = "Owl";
+
+  private FlightRecorderEvents() {}
+
+  @Name("owl.EdgeTreeComputation")
+  @Label("Edge Tree Computation")
+  @Description("Computation of an edge tree that was not memoized.")
+  @Category({CATEGORY, "Automaton"})
+  @Enabled(false)
+  @StackTrace(false)
+  public static final class EdgeTreeComputation extends Event {
+
+    @Label("Automaton Class")
+    public Class<?> automatonClass;
+
+    @Label("Edges")
+    public int edges;
+
+    @Label("Recomputed")
+    @Description("The edge tree was computed before, but has been evicted from the memoization.")
+    public boolean recomputed;
+  }
+
+  @Name("owl.EquivalenceClassConstruction")
+  @Label("Equivalence Class Construction")
+  @Description("Construction of an equivalence class from a formula.")
+  @Category({CATEGORY, "BDD"})
+  @Enabled(false)
+  @StackTrace(false)
+  public static final class EquivalenceClassConstruction extends Event {
+
+    @Label("Temporal Operators")
+    @Description("Number of temporal operators that are represented by BDD variables.")
+    public int temporalOperators;
+
+    @Label("New Temporal Operators")
+    @Description("Number of BDD variables created for previously unknown temporal operators.")
+    public int newTemporalOperators;
+  }
+
+  @Name("owl.TemporalStepTreeComputation")
+  @Label("Temporal Step Tree Computation")
+  @Description("Computation of the temporal step tree of an equivalence class.")
+  @Category({CATEGORY, "BDD"})
+  @Enabled(false)
+  @StackTrace(false)
+  public static final class TemporalStepTreeComputation extends Event {
+
+    @Label("Representative")
+    public String representative;
+  }
+
+  @Name("owl.SolverInvocation")
+  @Label("SAT Solver Invocation")
+  @Category({CATEGORY, "SAT"})
+  @Enabled(false)
+  @StackTrace(false)
+  public static final class SolverInvocation extends Event {
+
+    @Label("Solver")
+    public String solver;
+
+    @Label("Clauses")
+    public int clauses;
+
+    @Label("Satisfiable")
+    public boolean satisfiable;
+  }
+
+  @Name("owl.MaximalModelsComputation")
+  @Label("Maximal Models Computation")
+  @Category({CATEGORY, "SAT"})
+  @Enabled(false)
+  @StackTrace(false)
+  public static final class MaximalModelsComputation extends Event {
+
+    @Label("Solver")
+    public String solver;
+
+    @Label("Maximal Models")
+    public int maximalModels;
+  }
+
+  @Name("owl.KissatProcess")
+  @Label("Kissat Process")
+  @Description("Lifetime of an external kissat process, including writing the CNF.")
+  @Category({CATEGORY, "SAT"})
+  @Enabled(false)
+  @StackTrace(false)
+  public static final class KissatProcess extends Event {
+
+    @Label("Command")
+    public String command;
+
+    @Label("Variables")
+    public int variables;
+
+    @Label("Clauses")
+    public int clauses;
+  }
+
+  @Name("owl.AlternatingCycleDecompositionConstruction")
+  @Label("Alternating Cycle Decomposition Construction")
+  @Description("Construction of the alternating cycle decompositions of the SCCs of a set of "
+    + "states.")
+  @Category({CATEGORY, "Acceptance"})
+  @Enabled(false)
+  @StackTrace(false)
+  public static final class AlternatingCycleDecompositionConstruction extends Event {
+
+    @Label("States")
+    public int states;
+
+    @Label("SCCs")
+    @Description("Number of non-transient SCCs, i.e., the number of decompositions.")
+    public int sccs;
+
+    @Label("Height")
+    @Description("Maximal height of the decompositions.")
+    public int height;
+  }
+
+  @Name("owl.ZielonkaGameSolverRecursion")
+  @Label("Zielonka Game Solver Recursion")
+  @Description("A recursive call of Zielonka's algorithm for parity games.")
+  @Category({CATEGORY, "Game"})
+  @Enabled(false)
+  @StackTrace(false)
+  public static final class ZielonkaGameSolverRecursion extends Event {
+
+    @Label("Depth")
+    public int depth;
+
+    @Label("States")
+    public int states;
+  }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.util;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Collects metrics of a run of Owl and writes them as JSON lines, i.e., one JSON object per line.
+ *
+ * <p>Metrics are disabled by default and every method returns immediately in this case. When
+ * enabled, a {@link Record} is bound to the current thread and receives the timings, counters and
+ * values reported by the code running on this thread. Counters are additionally summed up over
+ * the whole run and are written by {@link #close(Record)}.
+ */
+public final class Metrics {
+
+  @Nullable
+  private static volatile Writer writer = null;
+
+  private static final ThreadLocal<Record> CURRENT_RECORD = new ThreadLocal<>();
+  private static final Map<String, LongAdder> TOTAL_COUNTERS = new ConcurrentHashMap<>();
+
+  private Metrics() {}
+
+  public static boolean isEnabled() {
+    return writer != null;
+  }
+
+  /**
+   * Enable metrics and write all records to the given writer.
+   *
+   * @param output the destination of the records.
+   */
+  public static synchronized void open(Writer output) {
+    checkState(writer == null, "Metrics are already enabled.");
+    TOTAL_COUNTERS.clear();
+    writer = Objects.requireNonNull(output);
+  }
+
+  /**
+   * Write the given summary record together with the counters summed up over the whole run and
+   * disable metrics. The writer is flushed, but not closed.
+   *
+   * @param summary the summary record, e.g., containing the runtime.
+   */
+  public static synchronized void close(Record summary) {
+    Writer output = writer;
+
+    if (output == null) {
+      return;
+    }
+
+    TOTAL_COUNTERS.forEach((key, value) -> summary.setCounter(key, value.sum()));
+    summary.write();
+    writer = null;
+  }
+
+  /**
+   * Create a new record. The record is not bound to any thread.
+   *
+   * @param type the type of the record, e.g., "formula" or "summary".
+   * @return a new record.
+   */
+  public static Record record(String type) {
+    return new Record(type);
+  }
+
+  /**
+   * Run the computation with the record bound to the current thread. Afterwards the previous
+   * binding is restored.
+   *
+   * @param record the record. If it is null, the current binding is kept.
+   * @param computation the computation.
+   * @return the result of the computation.
+   * @throws Exception if the computation throws an exception.
+   */
+  public static <T> T callWith(@Nullable Record record, Callable<T> computation)
+    throws Exception {
+
+    Record previousRecord = CURRENT_RECORD.get();
+
+    if (record != null) {
+      CURRENT_RECORD.set(record);
+    }
+
+    try {
+      return computation.call();
+    } finally {
+      if (previousRecord == null) {
+        CURRENT_RECORD.remove();
+      } else {
+        CURRENT_RECORD.set(previousRecord);
+      }
+    }
+  }
+
+  /**
+   * Run the computation with the record bound to the current thread, see
+   * {@link #callWith(Record, Callable)}.
+   */
+  public static <T> T getWith(@Nullable Record record, Supplier<T> computation) {
+    try {
+      return callWith(record, computation::get);
+    } catch (RuntimeException ex) {
+      throw ex;
+    } catch (Exception ex) {
+      // Suppliers do not throw checked exceptions.
+      throw new AssertionError(ex);
+    }
+  }
+
+  /**
+   * Wrap the computation such that it reports to the record that is bound to the current thread,
+   * even if the computation is executed on another thread.
+   */
+  public static <T> Callable<T> propagate(Callable<T> computation) {
+    Record record = CURRENT_RECORD.get();
+
+    if (record == null) {
+      return computation;
+    }
+
+    return () -> callWith(record, computation);
+  }
+
+  /**
+   * Run the given computation and add its runtime to the given stage of the current record.
+   */
+  public static <T> T time(String stage, Supplier<T> computation) {
+    Record record = isEnabled() ? CURRENT_RECORD.get() : null;
+
+    if (record == null) {
+      return computation.get();
+    }
+
+    long start = System.nanoTime();
+
+    try {
+      return computation.get();
+    } finally {
+      record.addTime(stage, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Add the runtime to the given stage of the current record.
+   */
+  public static void addTime(String stage, long nanoseconds) {
+    Record record = isEnabled() ? CURRENT_RECORD.get() : null;
+
+    if (record != null) {
+      record.addTime(stage, nanoseconds);
+    }
+  }
+
+  /**
+   * Increment a counter of the current record and of the whole run.
+   */
+  public static void increment(String counter) {
+    if (!isEnabled()) {
+      return;
+    }
+
+    TOTAL_COUNTERS.computeIfAbsent(counter, x -> new LongAdder()).increment();
+    Record record = CURRENT_RECORD.get();
+
+    if (record != null) {
+      record.increment(counter);
+    }
+  }
+
+  /**
+   * Set a value of the current record.
+   */
+  public static void put(String key, Object value) {
+    Record record = isEnabled() ? CURRENT_RECORD.get() : null;
+
+    if (record != null) {
+      record.put(key, value);
+    }
+  }
+
+  /**
+   * A set of metrics that is written as a single JSON object. The object has the fields "type",
+   * "timings_ns" containing the runtime of each stage in nanoseconds, "counters", and the fields
+   * set by {@link #put(String, Object)} in the order of their first insertion. Records can be
+   * updated concurrently.
+   */
+  public static final class Record {
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    private final Map<String, Long> timings = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+
+    private Record(String type) {
+      values.put("type", type);
+    }
+
+    public synchronized Record put(String key, Object value) {
+      values.put(key, value);
+      return this;
+    }
+
+    public synchronized void addTime(String stage, long nanoseconds) {
+      timings.merge(stage, nanoseconds, Long::sum);
+    }
+
+    /**
+     * Run the computation with this record bound to the current thread and add its runtime to
+     * the given stage.
+     */
+    public <T> T time(String stage, Supplier<T> computation) {
+      return getWith(this, () -> Metrics.time(stage, computation));
+    }
+
+    private synchronized void increment(String counter) {
+      counters.merge(counter, 1L, Long::sum);
+    }
+
+    private synchronized void setCounter(String counter, long value) {
+      counters.put(counter, value);
+    }
+
+    /**
+     * Write this record, if metrics are enabled.
+     */
+    public void write() {
+      Writer output = writer;
+
+      if (output == null) {
+        return;
+      }
+
+      String line = toJson();
+
+      synchronized (Metrics.class) {
+        try {
+          output.write(line);
+          output.write('\n');
+          output.flush();
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      }
+    }
+
+    public synchronized String toJson() {
+      Map<String, Object> object = new LinkedHashMap<>(values);
+
+      if (!timings.isEmpty()) {
+        object.put("timings_ns", timings);
+      }
+
+      if (!counters.isEmpty()) {
+        object.put("counters", counters);
+      }
+
+      var builder = new StringBuilder();
+      appendJson(builder, object);
+      return builder.toString();
+    }
+
+    private static void appendJson(StringBuilder builder, @Nullable Object value) {
+      if (value == null) {
+        builder.append("null");
+      } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long) {
+        builder.append(value);
+      } else if (value instanceof Number number) {
+        double doubleValue = number.doubleValue();
+        builder.append(Double.isFinite(doubleValue) ? Double.toString(doubleValue) : "null");
+      } else if (value instanceof Iterable<?> iterable) {
+        builder.append('[');
+        boolean first = true;
+
+        for (Object element : iterable) {
+          if (!first) {
+            builder.append(',');
+          }
+
+          first = false;
+          appendJson(builder, element);
+        }
+
+        builder.append(']');
+      } else if (value instanceof Map<?, ?> map) {
+        builder.append('{');
+        boolean first = true;
+
+        for (var entry : map.entrySet()) {
+          if (!first) {
+            builder.append(',');
+          }
+
+          first = false;
+          appendString(builder, entry.getKey().toString());
+          builder.append(':');
+          appendJson(builder, entry.getValue());
+        }
+
+        builder.append('}');
+      } else {
+        appendString(builder, value.toString());
+      }
+    }
+
+    private static void appendString(StringBuilder builder, String string) {
+      builder.append('"');
+
+      for (int i = 0, s = string.length(); i < s; i++) {
+        char c = string.charAt(i);
+
+        switch (c) {
+          case '"' -> builder.append("\\\"");
+          case '\\' -> builder.append("\\\\");
+          case '\n' -> builder.append("\\n");
+          case '\r' -> builder.append("\\r");
+          case '\t' -> builder.append("\\t");
+          default -> {
+            if (c < 0x20) {
+              builder.append(String.format("\\u%04x", (int) c));
+            } else {
+              builder.append(c);
+            }
+          }
+        }
+      }
+
+      builder.append('"');
+    }
+  }
+}
@@ -45,22 +45,28 @@ public final class ParallelEvaluation {
 
     // All suppliers, except the first one, are executed by the executor, i.e., on another thread.
     for (int i = 1, s = suppliers.size(); i < s; i++) {
-      futures.add(executorService.submit(suppliers.get(i)::get));
+      futures.add(executorService.submit(Metrics.propagate(suppliers.get(i)::get)));
     }
 
     List<T> results = new ArrayList<>();
-    suppliers.get(0).get().ifPresent(results::add);
+    List<Boolean> outcomes = new ArrayList<>();
+    var firstResult = suppliers.get(0).get();
+    firstResult.ifPresent(results::add);
+    outcomes.add(firstResult.isPresent());
 
     // Retrieve results.
     for (Future<Optional<? extends T>> future : futures) {
       try {
-        Uninterruptibles.getUninterruptibly(future).ifPresent(results::add);
+        var result = Uninterruptibles.getUninterruptibly(future);
+        result.ifPresent(results::add);
+        outcomes.add(result.isPresent());
       } catch (ExecutionException e) {
         throw new RuntimeException(e);
       }
     }
 
     executorService.shutdownNow();
+    Metrics.put("parallel_outcomes", outcomes);
     return results;
   }
 
@@ -72,12 +78,17 @@ public final class ParallelEvaluation {
     }
 
     var smallestAutomaton = automata.get(0);
+    int smallestIndex = 0;
     int smallestSize = smallestAutomaton.states().size();
     int smallestAcceptanceSets = smallestAutomaton.acceptance().acceptanceSets();
+    List<Integer> sizes = new ArrayList<>(automata.size());
+    sizes.add(smallestSize);
 
-    for (var automaton : automata.subList(1, automata.size())) {
+    for (int i = 1, s = automata.size(); i < s; i++) {
+      var automaton = automata.get(i);
       int automatonSize = automaton.states().size();
       int automatonAcceptanceSize = automaton.acceptance().acceptanceSets();
+      sizes.add(automatonSize);
 
       if (smallestSize < automatonSize) {
         continue;
@@ -89,10 +100,13 @@ public final class ParallelEvaluation {
 
       // Current automaton is smaller than the so-far found smallest automaton.
       smallestAutomaton = automaton;
+      smallestIndex = i;
       smallestSize = automatonSize;
       smallestAcceptanceSets = automatonAcceptanceSize;
     }
 
+    Metrics.put("parallel_sizes", sizes);
+    Metrics.put("parallel_selected", smallestIndex);
     return smallestAutomaton;
   }
 
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2016 - 2021  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import owl.automaton.acceptance.AllAcceptance;
+import owl.automaton.edge.Edge;
+import owl.bdd.MtBdd;
+
+class AbstractMemoizingAutomatonTest {
+
+  private static final int SIZE = 100;
+
+  @Test
+  void testLimitMemoizedEdgeTrees() {
+    var automaton = new CycleAutomaton();
+    assertTrue(automaton.limitMemoizedEdgeTrees(10));
+
+    assertEquals(SIZE, automaton.states().size());
+    assertEquals(SIZE, automaton.invocations);
+    assertTrue(automaton.is(Automaton.Property.DETERMINISTIC));
+    assertTrue(automaton.is(Automaton.Property.COMPLETE));
+
+    // Evicted edge trees are recomputed.
+    int invocations = automaton.invocations;
+    assertEquals(Set.of(Edge.of(1)), automaton.edges(0));
+    assertEquals(invocations + 1, automaton.invocations);
+
+    // Recently used edge trees are memoized.
+    assertEquals(Set.of(Edge.of(1)), automaton.edges(0));
+    assertEquals(invocations + 1, automaton.invocations);
+  }
+
+  @Test
+  void testLimitMemoizedEdgeTreesAfterExploration() {
+    var automaton = new CycleAutomaton();
+    automaton.states();
+
+    assertFalse(automaton.limitMemoizedEdgeTrees(10));
+    assertEquals(Set.of(Edge.of(1)), automaton.edges(0));
+    assertEquals(SIZE, automaton.invocations);
+  }
+
+  @Test
+  void testLimitMemoizedEdgeTreesAfterPartialExploration() {
+    var automaton = new CycleAutomaton();
+
+    for (int i = 0; i < 20; i++) {
+      automaton.edges(i);
+    }
+
+    assertTrue(automaton.limitMemoizedEdgeTrees(10));
+    assertEquals(SIZE, automaton.states().size());
+    assertEquals(SIZE, automaton.invocations);
+
+    // Edge trees memoized before the limit was set are evicted as well.
+    assertFalse(automaton.edgeTreePrecomputed(0));
+    assertTrue(automaton.edgeTreePrecomputed(SIZE - 1));
+
+    assertEquals(Set.of(Edge.of(1)), automaton.edges(0));
+    assertEquals(SIZE + 1, automaton.invocations);
+    assertTrue(automaton.edgeTreePrecomputed(0));
+  }
+
+  private static final class CycleAutomaton
+    extends AbstractMemoizingAutomaton.EdgeTreeImplementation<Integer, AllAcceptance> {
+
+    private int invocations = 0;
+
+    private CycleAutomaton() {
+      super(List.of(), Set.of(0), AllAcceptance.INSTANCE);
+    }
+
+    @Override
+    protected MtBdd<Edge<Integer>> edgeTreeImpl(Integer state) {
+      invocations++;
+      return MtBdd.of(Edge.of((state + 1) % SIZE));
+    }
+  }
+}
@@ -19,12 +19,25 @@
 
 package owl.automaton;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import owl.automaton.acceptance.BuchiAcceptance;
+import owl.automaton.acceptance.EmersonLeiAcceptance;
 import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.algorithm.LanguageContainment;
 import owl.automaton.algorithm.LanguageEmptiness;
+import owl.automaton.edge.Edge;
+import owl.bdd.BddSet;
+import owl.bdd.BddSetFactory;
+import owl.bdd.MtBdd;
+import owl.ltl.parser.LtlParser;
+import owl.translations.LtlTranslationRepository.LtlToDpaTranslation;
+import owl.translations.LtlTranslationRepository.Option;
 
 class BooleanOperationsTest {
 
@@ -48,4 +61,111 @@ class BooleanOperationsTest {
     Assertions.assertEquals(1, complementComplementAutomaton.states().size());
     Assertions.assertTrue(LanguageEmptiness.isEmpty(complementComplementAutomaton));
   }
-}
\ No newline at end of file
+
+  @Test
+  void deterministicUnionWideAlphabet() {
+    List<String> atomicPropositions = new ArrayList<>();
+
+    for (int i = 0; i < 24; i++) {
+      atomicPropositions.add("a" + i);
+    }
+
+    var translation = LtlToDpaTranslation.SLM21.translation(
+      ParityAcceptance.class, Option.defaultOptions());
+    var formula1 = LtlParser.parse("G F (a0 | a23)", atomicPropositions);
+    var formula2 = LtlParser.parse("F G (a1 & a22)", atomicPropositions);
+    var automaton1 = new CountingAutomaton<>(translation.apply(formula1));
+    var automaton2 = new CountingAutomaton<>(translation.apply(formula2));
+
+    var union = BooleanOperations.deterministicUnion(automaton1, automaton2);
+    automaton1.resetCounters();
+    automaton2.resetCounters();
+
+    // The edge trees of the union are computed symbolically: each state of the union queries the
+    // edge tree of each component once and no single valuation is queried.
+    int unionStates = union.states().size();
+    Assertions.assertEquals(0, automaton1.valuationQueries + automaton2.valuationQueries);
+    Assertions.assertTrue(automaton1.edgeTreeQueries <= unionStates);
+    Assertions.assertTrue(automaton2.edgeTreeQueries <= unionStates);
+    Assertions.assertTrue(union.is(Automaton.Property.DETERMINISTIC));
+    Assertions.assertTrue(union.is(Automaton.Property.COMPLETE));
+    Assertions.assertTrue(LanguageContainment.languageEquivalent(
+      union, translation.apply(LtlParser.parse("G F (a0 | a23) | F G (a1 & a22)",
+        atomicPropositions))));
+
+    var mapUnion = unionWithItself(automaton1);
+    automaton1.resetCounters();
+
+    int mapUnionStates = mapUnion.states().size();
+    Assertions.assertEquals(0, automaton1.valuationQueries);
+    Assertions.assertTrue(automaton1.edgeTreeQueries <= 2 * mapUnionStates);
+    Assertions.assertTrue(mapUnion.is(Automaton.Property.DETERMINISTIC));
+    Assertions.assertTrue(mapUnion.is(Automaton.Property.COMPLETE));
+    Assertions.assertTrue(LanguageContainment.languageEquivalent(
+      mapUnion, translation.apply(formula1)));
+  }
+
+  private static <S> Automaton<?, ?> unionWithItself(Automaton<S, ?> automaton) {
+    return BooleanOperations.deterministicUnion(List.of(automaton, automaton));
+  }
+
+  private static final class CountingAutomaton<S, A extends EmersonLeiAcceptance>
+    implements Automaton<S, A> {
+
+    private final Automaton<S, A> automaton;
+    private int edgeTreeQueries = 0;
+    private int valuationQueries = 0;
+
+    private CountingAutomaton(Automaton<S, A> automaton) {
+      this.automaton = automaton;
+    }
+
+    private void resetCounters() {
+      edgeTreeQueries = 0;
+      valuationQueries = 0;
+    }
+
+    @Override
+    public A acceptance() {
+      return automaton.acceptance();
+    }
+
+    @Override
+    public List<String> atomicPropositions() {
+      return automaton.atomicPropositions();
+    }
+
+    @Override
+    public BddSetFactory factory() {
+      return automaton.factory();
+    }
+
+    @Override
+    public Set<S> initialStates() {
+      return automaton.initialStates();
+    }
+
+    @Override
+    public Set<S> states() {
+      return automaton.states();
+    }
+
+    @Override
+    public Set<Edge<S>> edges(S state, BitSet valuation) {
+      valuationQueries++;
+      return automaton.edges(state, valuation);
+    }
+
+    @Override
+    public Map<Edge<S>, BddSet> edgeMap(S state) {
+      edgeTreeQueries++;
+      return automaton.edgeMap(state);
+    }
+
+    @Override
+    public MtBdd<Edge<S>> edgeTree(S state) {
+      edgeTreeQueries++;
+      return automaton.edgeTree(state);
+    }
+  }
+}
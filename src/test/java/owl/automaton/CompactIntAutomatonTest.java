@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2016 - 2021  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import owl.automaton.edge.Edge;
+import owl.automaton.hoa.HoaReader;
+import owl.collections.BitSet2;
+import owl.thirdparty.jhoafparser.parser.generated.ParseException;
+
+class CompactIntAutomatonTest {
+
+  private static final String AUTOMATON = """
+    HOA: v1
+    States: 3
+    Start: 0
+    AP: 2 "a" "b"
+    acc-name: parity min odd 3
+    Acceptance: 3 Fin(0) & (Inf(1) | Fin(2))
+    --BODY--
+    State: 0
+    [!0 & !1] 1 {2}
+    [0] 0
+    [0 | 1] 2 {0 1}
+    State: 1
+    [0 & !1] 0 {0 1}
+    [!0 & 1] 1
+    State: 2
+    [t] 2 {1}
+    --END--""";
+
+  @Test
+  void testCopyOf() throws ParseException {
+    var automaton = HoaReader.read(AUTOMATON);
+    var compactAutomaton = CompactIntAutomaton.copyOf(automaton);
+
+    assertEquals(automaton.acceptance(), compactAutomaton.acceptance());
+    assertEquals(automaton.atomicPropositions(), compactAutomaton.atomicPropositions());
+    assertEquals(automaton.initialStates(), compactAutomaton.initialStates());
+    assertEquals(automaton.states(), compactAutomaton.states());
+
+    for (int state : automaton.states()) {
+      assertEquals(automaton.edges(state), compactAutomaton.edges(state));
+      assertEquals(automaton.edgeMap(state), compactAutomaton.edgeMap(state));
+      assertEquals(automaton.successors(state), compactAutomaton.successors(state));
+
+      for (BitSet valuation : BitSet2.powerSet(2)) {
+        assertEquals(
+          automaton.edges(state, valuation), compactAutomaton.edges(state, valuation));
+        assertEquals(
+          automaton.edges(state, valuation), compactAutomaton.edgeTree(state).get(valuation));
+      }
+    }
+
+    for (var property : Automaton.Property.values()) {
+      assertEquals(automaton.is(property), compactAutomaton.is(property));
+    }
+
+    assertArrayEquals(new int[] {0, 1, 2}, compactAutomaton.successorIds(0));
+    assertThrows(IllegalArgumentException.class, () -> compactAutomaton.edges(3));
+  }
+
+  @Test
+  void testLabelsAreShared() throws ParseException {
+    var compactAutomaton = CompactIntAutomaton.copyOf(HoaReader.read("""
+      HOA: v1
+      States: 2
+      Start: 0
+      AP: 1 "a"
+      acc-name: Buchi
+      Acceptance: 1 Inf(0)
+      --BODY--
+      State: 0
+      [0] 1 {0}
+      [!0] 0
+      State: 1
+      [0] 0
+      [!0] 1 {0}
+      --END--"""));
+
+    assertSame(
+      compactAutomaton.edgeMap(0).get(Edge.of(1, 0)),
+      compactAutomaton.edgeMap(1).get(Edge.of(0)));
+  }
+
+  @Test
+  void testReadLargeAutomaton() throws ParseException {
+    int size = 5000;
+    var hoa = new StringBuilder(String.format("""
+      HOA: v1
+      States: %d
+      Start: 0
+      AP: 1 "a"
+      acc-name: Buchi
+      Acceptance: 1 Inf(0)
+      --BODY--
+      """, size + 1));
+
+    for (int i = 0; i < size; i++) {
+      hoa.append(String.format("State: %d%n[0] %d {0}%n[!0] 0%n", i, (i + 1) % size));
+    }
+
+    // This state is not reachable.
+    hoa.append(String.format("State: %d%n[t] 0%n--END--", size));
+
+    var automaton = HoaReader.read(hoa.toString());
+    assertTrue(automaton instanceof CompactIntAutomaton);
+    assertEquals(size, automaton.states().size());
+    assertEquals(Set.of(0), automaton.initialStates());
+
+    for (int i = 0; i < size; i++) {
+      assertEquals(Set.of(Edge.of((i + 1) % size, 0)), automaton.edges(i, BitSet2.of(0)));
+      assertEquals(Set.of(Edge.of(0)), automaton.edgeTree(i).get(new BitSet()));
+    }
+  }
+}
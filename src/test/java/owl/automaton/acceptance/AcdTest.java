@@ -27,21 +27,34 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.OptionalInt;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import owl.automaton.AbstractMemoizingAutomaton;
 import owl.automaton.Automaton;
 import owl.automaton.AutomatonUtil;
+import owl.automaton.HashMapAutomaton;
+import owl.automaton.SuccessorFunction;
 import owl.automaton.Views;
+import owl.automaton.acceptance.transformer.ZielonkaDag;
 import owl.automaton.acceptance.transformer.ZielonkaTreeTransformations;
 import owl.automaton.acceptance.transformer.ZielonkaTreeTransformations.AlternatingCycleDecomposition;
 import owl.automaton.algorithm.LanguageContainment;
+import owl.automaton.algorithm.SccDecomposition;
+import owl.automaton.edge.Edge;
 import owl.automaton.hoa.HoaReader;
 import owl.bdd.FactorySupplier;
+import owl.collections.ImmutableBitSet;
 import owl.ltl.LabelledFormula;
 import owl.ltl.parser.LtlParser;
 import owl.translations.LtlTranslationRepository;
@@ -117,6 +130,100 @@ public class AcdTest {
     }
   }
 
+  @Test
+  void testPropertiesAreInherited() {
+    var delw = LTL_TO_DELW.apply(LtlParser.parse("F G a | G F b & X (c U d)"));
+    var dpw = ZielonkaTreeTransformations.transform(delw);
+
+    var properties = List.of(Automaton.Property.COMPLETE,
+      Automaton.Property.SEMI_DETERMINISTIC, Automaton.Property.DETERMINISTIC);
+
+    // The properties are decided before the parity automaton is explored.
+    var inheritedProperties = properties.stream().map(dpw::is).toList();
+    var exploredDpw = HashMapAutomaton.copyOf(dpw);
+    assertEquals(properties.stream().map(exploredDpw::is).toList(), inheritedProperties);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "G F a | G F b | X X c",
+    "!(F G a | F b | X X c & F G (b | X X d))",
+    "F G c & G F a | G F b | X X c & F G (a U b) & a M (a W b) | G (X X a)",
+    "((G F a) & (G F b)) <-> G F c"
+  })
+  void testChildrenMatchSccDecomposition(String formula) {
+    var automaton = Views.dropStateLabels(LTL_TO_DELW.apply(LtlParser.parse(formula)));
+    var dag = new ZielonkaDag(automaton.acceptance().booleanExpression());
+
+    for (var acd : AlternatingCycleDecomposition.of(automaton)) {
+      assertChildrenMatchSccDecomposition(automaton.acceptance(), dag, acd);
+    }
+
+    var dpw = ZielonkaTreeTransformations.transform(automaton);
+    assertTrue(LanguageContainment.contains(automaton, dpw));
+    assertTrue(LanguageContainment.contains(dpw, automaton));
+  }
+
+  // Compare the children with the SCCs of the subgraphs of the maximal models, computed by
+  // SccDecomposition.
+  private static <S> void assertChildrenMatchSccDecomposition(
+    EmersonLeiAcceptance alpha, ZielonkaDag dag, AlternatingCycleDecomposition<S> acd) {
+
+    var expectedChildren = new HashSet<Map.Entry<ImmutableBitSet, Map<S, Set<Edge<S>>>>>();
+    expectedChildren(alpha, dag, acd.colours(), acd.edges(), expectedChildren);
+
+    var children = new HashSet<Map.Entry<ImmutableBitSet, Map<S, Set<Edge<S>>>>>();
+    acd.children().forEach(child -> children.add(Map.entry(child.colours(), child.edges())));
+
+    assertEquals(expectedChildren, children);
+    acd.children().forEach(child -> assertChildrenMatchSccDecomposition(alpha, dag, child));
+  }
+
+  private static <S> void expectedChildren(
+    EmersonLeiAcceptance alpha,
+    ZielonkaDag dag,
+    ImmutableBitSet colours,
+    Map<S, Set<Edge<S>>> edges,
+    Set<Map.Entry<ImmutableBitSet, Map<S, Set<Edge<S>>>>> children) {
+
+    if (alpha.booleanExpression().isTrue()) {
+      return;
+    }
+
+    for (ImmutableBitSet childColours : dag.children(colours)) {
+      SuccessorFunction<S> successorFunction = state -> edges.get(state).stream()
+        .filter(edge -> childColours.containsAll(edge.colours()))
+        .map(Edge::successor)
+        .collect(Collectors.toSet());
+
+      for (Set<S> childScc
+        : SccDecomposition.of(edges.keySet(), successorFunction).sccsWithoutTransient()) {
+
+        Map<S, Set<Edge<S>>> childEdges = new HashMap<>();
+        var coloursOfChildScc = ImmutableBitSet.of();
+
+        for (S state : childScc) {
+          Set<Edge<S>> stateEdges = edges.get(state).stream()
+            .filter(edge -> childScc.contains(edge.successor())
+              && childColours.containsAll(edge.colours()))
+            .collect(Collectors.toUnmodifiableSet());
+          childEdges.put(state, stateEdges);
+
+          for (Edge<S> edge : stateEdges) {
+            coloursOfChildScc = coloursOfChildScc.union(edge.colours());
+          }
+        }
+
+        if (alpha.booleanExpression().evaluate(coloursOfChildScc)
+          == alpha.booleanExpression().evaluate(childColours)) {
+          children.add(Map.entry(coloursOfChildScc, Map.copyOf(childEdges)));
+        } else {
+          expectedChildren(alpha, dag, coloursOfChildScc, childEdges, children);
+        }
+      }
+    }
+  }
+
   static boolean hasParityShape(
     List<? extends AlternatingCycleDecomposition<?>> acdList) {
     return acdList.stream().allMatch(AcdTest::hasParityShape);
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.acceptance.optimization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import owl.automaton.Automaton;
+import owl.automaton.HashMapAutomaton;
+import owl.automaton.MutableAutomaton;
+import owl.automaton.acceptance.GeneralizedCoBuchiAcceptance;
+import owl.automaton.acceptance.GeneralizedRabinAcceptance;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.acceptance.RabinAcceptance;
+import owl.automaton.edge.Edge;
+import owl.ltl.parser.LtlParser;
+import owl.translations.LtlTranslationRepository.LtlToDraTranslation;
+import owl.translations.LtlTranslationRepository.Option;
+
+class AcceptanceOptimizationsTest {
+
+  @Test
+  void testRemoveDeadStatesParity() {
+    var automaton = HashMapAutomaton.<String, ParityAcceptance>create(
+      List.of("a"), new ParityAcceptance(3, ParityAcceptance.Parity.MIN_EVEN));
+    var factory = automaton.factory();
+
+    // The SCC {"2", "3"} only has accepting cycles that also visit the smaller colour 1.
+    automaton.addInitialState("1");
+    automaton.addEdge("1", factory.of(0), Edge.of("1", 0));
+    automaton.addEdge("1", factory.of(0).complement(), Edge.of("2"));
+    automaton.addEdge("2", factory.of(true), Edge.of("3", 1));
+    automaton.addEdge("3", factory.of(true), Edge.of("2", 2));
+    automaton.trim();
+
+    AcceptanceOptimizations.removeDeadStates(automaton);
+    assertEquals(Set.of("1"), automaton.states());
+  }
+
+  @Test
+  void testRemoveDeadStatesRabin() {
+    var automaton = HashMapAutomaton.<String, RabinAcceptance>create(
+      List.of("a"), RabinAcceptance.of(1));
+    var factory = automaton.factory();
+
+    // Removing the Fin-edge of the SCC {"2", "3"} breaks all cycles. The SCC {"4", "5"} has a
+    // cycle visiting the Inf-set that avoids the Fin-edge.
+    automaton.addInitialState("1");
+    automaton.addEdge("1", factory.of(0), Edge.of("2"));
+    automaton.addEdge("1", factory.of(0).complement(), Edge.of("4"));
+    automaton.addEdge("2", factory.of(true), Edge.of("3", 1));
+    automaton.addEdge("3", factory.of(true), Edge.of("2", 0));
+    automaton.addEdge("4", factory.of(0), Edge.of("5", 0));
+    automaton.addEdge("4", factory.of(0).complement(), Edge.of("4", 1));
+    automaton.addEdge("5", factory.of(true), Edge.of("4"));
+    automaton.trim();
+
+    AcceptanceOptimizations.removeDeadStates(automaton);
+    assertEquals(Set.of("1", "4", "5"), automaton.states());
+  }
+
+  @Test
+  void testRemoveDeadStatesGeneralizedCoBuchi() {
+    var automaton = HashMapAutomaton.<String, GeneralizedCoBuchiAcceptance>create(
+      List.of("a"), GeneralizedCoBuchiAcceptance.of(2));
+    var factory = automaton.factory();
+
+    // The self-loops of "1" visit one colour each, thus the cycle on one of them is accepting.
+    // Every cycle in the SCC {"2", "3"} visits both colours.
+    automaton.addInitialState("1");
+    automaton.addEdge("1", factory.of(0), Edge.of("1", 0));
+    automaton.addEdge("1", factory.of(0).complement(), Edge.of("1", 1));
+    automaton.addEdge("1", factory.of(0).complement(), Edge.of("2"));
+    automaton.addEdge("2", factory.of(0), Edge.of("3", 0));
+    automaton.addEdge("2", factory.of(0).complement(), Edge.of("2", List.of(0, 1)));
+    automaton.addEdge("3", factory.of(true), Edge.of("2", 1));
+    automaton.trim();
+
+    AcceptanceOptimizations.removeDeadStates(automaton);
+    assertEquals(Set.of("1"), automaton.states());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "(G F a & G F b) | F G c",
+    "(G F a | F G b) & (G F c | F G d)",
+    "G (a -> F b) & F G (c | X d)"
+  })
+  void testPassesReachFixpoint(String formula) {
+    var automaton = LtlToDraTranslation.EKS20.translation(
+      GeneralizedRabinAcceptance.class, EnumSet.noneOf(Option.class))
+      .apply(LtlParser.parse(formula));
+    var mutableAutomaton = mutableCopy(automaton);
+
+    AcceptanceOptimizations.applyGeneralizedRabinPasses(mutableAutomaton);
+    assertFalse(AcceptanceOptimizations.applyGeneralizedRabinPasses(mutableAutomaton));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <S> MutableAutomaton<S, GeneralizedRabinAcceptance> mutableCopy(
+    Automaton<S, ? extends GeneralizedRabinAcceptance> automaton) {
+    return (MutableAutomaton<S, GeneralizedRabinAcceptance>) HashMapAutomaton.copyOf(automaton);
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.minimization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import owl.automaton.Automaton;
+import owl.automaton.HashMapAutomaton;
+import owl.automaton.acceptance.BuchiAcceptance;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.algorithm.LanguageContainment;
+import owl.automaton.edge.Edge;
+import owl.ltl.parser.LtlParser;
+import owl.translations.LtlTranslationRepository.LtlToDpaTranslation;
+import owl.translations.LtlTranslationRepository.Option;
+
+class BisimulationMinimizationTest {
+
+  @Test
+  void testMergeBisimilarStates() {
+    var automaton = HashMapAutomaton.<String, BuchiAcceptance>create(
+        List.of("a"), BuchiAcceptance.INSTANCE);
+    var factory = automaton.factory();
+
+    // The states "2" and "3" are bisimilar, "1" is not.
+    automaton.addInitialState("1");
+    automaton.addEdge("1", factory.of(true), Edge.of("2"));
+    automaton.addEdge("2", factory.of(0), Edge.of("3", 0));
+    automaton.addEdge("2", factory.of(0).complement(), Edge.of("2"));
+    automaton.addEdge("3", factory.of(0), Edge.of("2", 0));
+    automaton.addEdge("3", factory.of(0).complement(), Edge.of("3"));
+    automaton.trim();
+
+    var minimizedAutomaton = BisimulationMinimization.minimize(automaton);
+
+    assertEquals(2, minimizedAutomaton.states().size());
+    assertTrue(minimizedAutomaton.is(Automaton.Property.DETERMINISTIC));
+    assertTrue(LanguageContainment.languageEquivalent(automaton, minimizedAutomaton));
+  }
+
+  @Test
+  void testDistinguishedByColours() {
+    var automaton = HashMapAutomaton.<String, BuchiAcceptance>create(
+        List.of("a"), BuchiAcceptance.INSTANCE);
+    var factory = automaton.factory();
+
+    automaton.addInitialState("1");
+    automaton.addEdge("1", factory.of(true), Edge.of("2"));
+    automaton.addEdge("2", factory.of(true), Edge.of("1", 0));
+    automaton.trim();
+
+    assertEquals(2, BisimulationMinimization.minimize(automaton).states().size());
+  }
+
+  @Test
+  void testMergeUnrolledCycle() {
+    var automaton = HashMapAutomaton.<String, BuchiAcceptance>create(
+        List.of("a"), BuchiAcceptance.INSTANCE);
+    var factory = automaton.factory();
+
+    // The cycle over "b0", ..., "b5" is the cycle over "a0", "a1", "a2" unrolled twice. Each
+    // split only distinguishes the states one step further from the accepting edges. The initial
+    // state is bisimilar to "a2".
+    automaton.addInitialState("i");
+    automaton.addEdge("i", factory.of(0), Edge.of("a0"));
+    automaton.addEdge("i", factory.of(0).complement(), Edge.of("b0"));
+
+    for (int i = 0; i < 3; i++) {
+      automaton.addEdge("a" + i, factory.of(true),
+          i == 0 ? Edge.of("a" + (i + 1), 0) : Edge.of("a" + (i + 1) % 3));
+    }
+
+    for (int i = 0; i < 6; i++) {
+      automaton.addEdge("b" + i, factory.of(true),
+          i % 3 == 0 ? Edge.of("b" + (i + 1), 0) : Edge.of("b" + (i + 1) % 6));
+    }
+
+    automaton.trim();
+
+    var minimizedAutomaton = BisimulationMinimization.minimize(automaton);
+
+    assertEquals(3, minimizedAutomaton.states().size());
+    assertTrue(LanguageContainment.languageEquivalent(automaton, minimizedAutomaton));
+  }
+
+  @Test
+  void testMergeNondeterministic() {
+    var automaton = HashMapAutomaton.<String, BuchiAcceptance>create(
+        List.of("a"), BuchiAcceptance.INSTANCE);
+    var factory = automaton.factory();
+
+    automaton.addInitialState("1");
+    automaton.addEdge("1", factory.of(true), Edge.of("2"));
+    automaton.addEdge("1", factory.of(true), Edge.of("3"));
+    automaton.addEdge("2", factory.of(0), Edge.of("2", 0));
+    automaton.addEdge("3", factory.of(0), Edge.of("3", 0));
+    automaton.trim();
+
+    assertEquals(2, BisimulationMinimization.minimize(automaton).states().size());
+  }
+
+  @Test
+  void testTranslation() {
+    var options = EnumSet.of(Option.SIMPLIFY_FORMULA, Option.SIMPLIFY_AUTOMATON);
+    var mergingOptions = EnumSet.copyOf(options);
+    mergingOptions.add(Option.MERGE_BISIMILAR_STATES);
+
+    var formula = LtlParser.parse("(G F a | F G b) & G (c -> X X c)");
+    var automaton = LtlToDpaTranslation.SLM21
+        .translation(ParityAcceptance.class, options).apply(formula);
+    var minimizedAutomaton = LtlToDpaTranslation.SLM21
+        .translation(ParityAcceptance.class, mergingOptions).apply(formula);
+
+    assertTrue(minimizedAutomaton.states().size() <= automaton.states().size());
+    assertTrue(LanguageContainment.languageEquivalent(automaton, minimizedAutomaton));
+  }
+}
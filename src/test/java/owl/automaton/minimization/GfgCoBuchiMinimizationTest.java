@@ -24,20 +24,27 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import owl.automaton.AbstractMemoizingAutomaton;
 import owl.automaton.Automaton;
 import owl.automaton.HashMapAutomaton;
+import owl.automaton.Views;
+import owl.automaton.acceptance.AllAcceptance;
 import owl.automaton.acceptance.CoBuchiAcceptance;
 import owl.automaton.acceptance.optimization.AcceptanceOptimizations;
 import owl.automaton.algorithm.LanguageContainment;
+import owl.automaton.algorithm.SccDecomposition;
 import owl.automaton.determinization.Determinization;
 import owl.automaton.edge.Edge;
 import owl.automaton.hoa.HoaWriter;
+import owl.bdd.MtBdd;
 import owl.ltl.parser.LtlParser;
 import owl.translations.canonical.DeterministicConstructionsPortfolio;
 
@@ -87,6 +94,67 @@ class GfgCoBuchiMinimizationTest {
       HoaWriter.toString(minimizedAutomaton2));
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "F G a",
+    "F G ((G a & G b & G !c) | (G a & G !b & G c))",
+    "F G (a | X b)",
+    "F G (a | (b & X !a))"
+  })
+  void testStateRelations(String formula) {
+    checkStateRelations(coBuchiPortfolio.apply(LtlParser.parse(formula)).orElseThrow());
+  }
+
+  @Test
+  void testStateRelationsPermutation() {
+    checkStateRelations(
+      Determinization.determinizeCoBuchiAcceptance(graphPermutationLanguage2(3)));
+  }
+
+  // Compare the relations with a product construction for every pair of states.
+  private static <S> void checkStateRelations(Automaton<S, ? extends CoBuchiAcceptance> dcw) {
+    var normalizedDcw = HashMapAutomaton.copyOf(dcw);
+    var safeComponents = SccDecomposition.of(
+      normalizedDcw.states(),
+      state -> normalizedDcw.edges(state).stream()
+        .filter(edge -> !edge.colours().contains(0))
+        .map(Edge::successor)
+        .collect(Collectors.toSet()));
+    GfgCoBuchiMinimization.normalize(normalizedDcw, safeComponents.indexMap());
+
+    var relations = new GfgCoBuchiMinimization.StateRelations<>(normalizedDcw);
+
+    for (S q : normalizedDcw.states()) {
+      for (S p : normalizedDcw.states()) {
+        assertEquals(
+          LanguageContainment.containsCoBuchi(
+            Views.replaceInitialStates(normalizedDcw, Set.of(q)),
+            Views.replaceInitialStates(normalizedDcw, Set.of(p))),
+          relations.languageIncluded(q, p));
+        assertEquals(
+          LanguageContainment.containsAll(safeView(normalizedDcw, q), safeView(normalizedDcw, p)),
+          relations.safeLanguageIncluded(q, p));
+      }
+    }
+  }
+
+  private static <S> Automaton<S, AllAcceptance> safeView(
+    Automaton<S, ? extends CoBuchiAcceptance> ncw, S q) {
+
+    return new AbstractMemoizingAutomaton.EdgeTreeImplementation<>(
+      ncw.atomicPropositions(), ncw.factory(), Set.of(q), AllAcceptance.INSTANCE) {
+
+      @Override
+      public MtBdd<Edge<S>> edgeTreeImpl(S state) {
+        return ncw.edgeTree(state).map(edges -> {
+          var edgesCopy = new HashSet<>(edges);
+          edgesCopy.removeIf(edge -> !edge.colours().isEmpty());
+          return edgesCopy;
+        });
+      }
+    };
+  }
+
   private static Automaton<?, CoBuchiAcceptance> graphPermutationLanguage(int n) {
 
     var initialState = IntStream.range(1, n + 1).boxed().toList();
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.symbolic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.COLOUR;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_STATE;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import owl.collections.BitSet2;
+import owl.collections.ImmutableBitSet;
+
+public class InterleavingVariableAllocatorTest {
+
+  @Test
+  void interleavingVariableAllocatorTest() {
+    // AP_0, AP_1, S_0, X_0, S_1, X_1, S_2, X_2, C_0
+    var allocation = InterleavingVariableAllocator.INSTANCE.allocate(3, 2, 1);
+
+    assertEquals(9, allocation.numberOfVariables());
+    assertEquals(
+      List.of("ap_0", "ap_1", "x_0", "x'_0", "x_1", "x'_1", "x_2", "x'_2", "c_0"),
+      allocation.variableNames());
+
+    assertEquals(0, allocation.localToGlobal(0, ATOMIC_PROPOSITION));
+    assertEquals(1, allocation.localToGlobal(1, ATOMIC_PROPOSITION));
+
+    assertEquals(2, allocation.localToGlobal(0, STATE));
+    assertEquals(4, allocation.localToGlobal(1, STATE));
+    assertEquals(6, allocation.localToGlobal(2, STATE));
+
+    assertEquals(3, allocation.localToGlobal(0, SUCCESSOR_STATE));
+    assertEquals(5, allocation.localToGlobal(1, SUCCESSOR_STATE));
+    assertEquals(7, allocation.localToGlobal(2, SUCCESSOR_STATE));
+
+    assertEquals(8, allocation.localToGlobal(0, COLOUR));
+
+    for (int variable = 0; variable < allocation.numberOfVariables(); variable++) {
+      var type = allocation.typeOf(variable);
+      assertEquals(variable,
+        allocation.localToGlobal(allocation.globalToLocal(variable, type), type));
+    }
+
+    assertEquals(ImmutableBitSet.of(2, 4, 6), allocation.variables(STATE));
+    assertEquals(ImmutableBitSet.of(3, 5, 7, 8), allocation.variables(SUCCESSOR_STATE, COLOUR));
+
+    assertEquals(BitSet2.of(3, 7), allocation.localToGlobal(BitSet2.of(0, 2), SUCCESSOR_STATE));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.symbolic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import owl.automaton.Automaton;
+import owl.automaton.acceptance.RabinAcceptance;
+import owl.automaton.algorithm.LanguageContainment;
+import owl.bdd.FactorySupplier;
+import owl.ltl.LabelledFormula;
+import owl.ltl.parser.LtlParser;
+import owl.translations.LtlTranslationRepository;
+
+class SymbolicAutomatonEncoderTest {
+
+  private static final Function<LabelledFormula, Automaton<?, ? extends RabinAcceptance>> LTL_TO_DRA
+    = LtlTranslationRepository.LtlToDraTranslation.EKS20.translation(RabinAcceptance.class);
+
+  @Test
+  void testSharedFactory() {
+    var encoder = SymbolicAutomatonEncoder.of(FactorySupplier.defaultSupplier().getBddSetFactory());
+
+    for (String formula : List.of("a | X b", "F G c & G F d", "G (a | F b)", "a U (b & X c)")) {
+      var automaton = LTL_TO_DRA.apply(LtlParser.parse(formula));
+      var atomicPropositions = automaton.atomicPropositions();
+      var symbolicAutomaton = encoder.encode(automaton, atomicPropositions);
+
+      assertSame(encoder.factory(), symbolicAutomaton.factory());
+      assertEquals(automaton.states().size(), symbolicAutomaton.toAutomaton().states().size());
+      assertTrue(LanguageContainment.contains(automaton, symbolicAutomaton.toAutomaton()));
+      assertTrue(LanguageContainment.contains(symbolicAutomaton.toAutomaton(), automaton));
+
+      // Encoding is deterministic and hence reuses the nodes of the first encoding.
+      var reencodedAutomaton = encoder.encode(automaton, atomicPropositions);
+      assertEquals(
+        symbolicAutomaton.transitionRelation(), reencodedAutomaton.transitionRelation());
+      assertEquals(symbolicAutomaton.initialStates(), reencodedAutomaton.initialStates());
+    }
+  }
+}
@@ -125,6 +125,25 @@ public class SymbolicAutomatonTest {
     assertSameFields(automaton3, symbolic3.toAutomaton());
   }
 
+  @Test
+  protected void testVariableAllocations() {
+    var automaton = LTL_TO_DRA.apply(LtlParser.parse("a | X b | F G c & G F d"));
+    var interleaved = SymbolicAutomaton.of(automaton);
+    var ranged = SymbolicAutomaton.of(
+      automaton,
+      automaton.atomicPropositions(),
+      interleaved.factory(),
+      NumberingStateEncoderFactory.INSTANCE,
+      new RangedVariableAllocator(
+        SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION,
+        SymbolicAutomaton.VariableType.STATE,
+        SymbolicAutomaton.VariableType.COLOUR,
+        SymbolicAutomaton.VariableType.SUCCESSOR_STATE));
+
+    assertSameFields(ranged.toAutomaton(), interleaved.toAutomaton());
+    assertLanguageEquivalence(ranged.toAutomaton(), interleaved.toAutomaton());
+  }
+
   private static void assertSameFields(Automaton<?, ?> expected, Automaton<?, ?> actual) {
     assertEquals(expected.acceptance(), actual.acceptance());
     assertEquals(expected.atomicPropositions(), actual.atomicPropositions());
@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.automaton.symbolic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.ATOMIC_PROPOSITION;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
+import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.SUCCESSOR_STATE;
+import static owl.automaton.symbolic.SymbolicDPASolver.Solution.Winner.CONTROLLER;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import owl.bdd.BddSet;
+import owl.collections.ImmutableBitSet;
+import owl.game.output.Aig;
+import owl.game.output.AigConsumer;
+import owl.game.output.AigerPrinter;
+import owl.game.output.LabelledAig;
+import owl.ltl.parser.LtlParser;
+import owl.translations.ltl2dpa.SymbolicDPAConstruction;
+
+class SymbolicControllerExtractionTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "G (i <-> o)",
+    "G (i -> F o)",
+    "G (i -> X o)",
+    "G F i -> G F o",
+    "G (o1 -> !o2) & G (i -> F o1) & G F o2",
+    "G ((i1 & !i2) <-> o1) & G (i2 <-> X o2)"
+  })
+  void testControllerTracksAutomaton(String specification) {
+    var dpa = SymbolicDPAConstruction.of().apply(LtlParser.parse(specification));
+    var system = controlledAps(dpa);
+    var solution = new DFISymbolicDPASolver().solve(dpa, system);
+    assertSame(CONTROLLER, solution.winner());
+
+    var controller = new RecordingConsumer();
+    SymbolicControllerExtraction.feedTo(dpa, system, solution.strategy(), controller);
+    simulate(dpa, system, solution.strategy(), controller);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "G o",
+    "G (i <-> o)",
+    "G (i -> X o)",
+    "G ((i1 & !i2) <-> o1) & G (i2 <-> X o2)"
+  })
+  void testPrintedControllerTracksAutomaton(String specification) {
+    var dpa = SymbolicDPAConstruction.of().apply(LtlParser.parse(specification));
+    var system = controlledAps(dpa);
+    var solution = new DFISymbolicDPASolver().solve(dpa, system);
+    assertSame(CONTROLLER, solution.winner());
+
+    var printer = new AigerPrinter(false);
+    SymbolicControllerExtraction.feedTo(dpa, system, solution.strategy(), printer);
+    var output = new ByteArrayOutputStream();
+    printer.print(output);
+
+    simulate(dpa, system, solution.strategy(),
+      AsciiAiger.parse(output.toString(StandardCharsets.UTF_8)));
+  }
+
+  private static ImmutableBitSet controlledAps(SymbolicAutomaton<?> dpa) {
+    BitSet controlledAps = new BitSet();
+
+    for (int i = 0; i < dpa.atomicPropositions().size(); i++) {
+      if (dpa.atomicPropositions().get(i).startsWith("o")) {
+        controlledAps.set(i);
+      }
+    }
+
+    return ImmutableBitSet.copyOf(controlledAps);
+  }
+
+  // Run the circuit on random inputs and check each step against the strategy and the automaton.
+  private static void simulate(
+    SymbolicAutomaton<?> dpa, ImmutableBitSet system, BddSet strategy, Circuit controller) {
+
+    var allocation = dpa.variableAllocation();
+    assertEquals(dpa.atomicPropositions().size() - system.size(), controller.inputs());
+    assertEquals(allocation.variables(STATE).size(), controller.latches());
+    assertEquals(system.size(), controller.outputs());
+
+    BitSet initialState = dpa.initialStates().element().orElseThrow();
+    BitSet state = initialState;
+    boolean[] leaves = new boolean[controller.inputs() + controller.latches() + 1];
+    Random random = new Random(42);
+
+    for (int step = 0; step < 100; step++) {
+      BitSet valuation = new BitSet();
+      int input = 0;
+
+      for (int i = 0; i < dpa.atomicPropositions().size(); i++) {
+        if (!system.contains(i)) {
+          input++;
+          leaves[input] = random.nextBoolean();
+          valuation.set(allocation.localToGlobal(i, ATOMIC_PROPOSITION), leaves[input]);
+        }
+      }
+
+      int output = 0;
+
+      for (int i = 0; i < dpa.atomicPropositions().size(); i++) {
+        if (system.contains(i)) {
+          valuation.set(allocation.localToGlobal(i, ATOMIC_PROPOSITION),
+            controller.output(output, leaves));
+          output++;
+        }
+      }
+
+      valuation.or(state);
+      var stateInputOutput
+        = dpa.factory().of(valuation, allocation.variables(STATE, ATOMIC_PROPOSITION));
+
+      // The controller only chooses outputs permitted by the strategy.
+      assertFalse(strategy.intersection(stateInputOutput).isEmpty());
+
+      BitSet successor = dpa.transitionRelation()
+        .intersection(stateInputOutput)
+        .element()
+        .orElseThrow();
+
+      BitSet nextState = new BitSet();
+      boolean[] nextLatches = new boolean[controller.latches()];
+
+      for (int i = 0; i < nextLatches.length; i++) {
+        int variable = allocation.localToGlobal(i, STATE);
+        boolean value = successor.get(allocation.localToGlobal(i, SUCCESSOR_STATE));
+        nextState.set(variable, value);
+        nextLatches[i] = controller.latch(i, leaves);
+
+        // Latches store the exclusive-or with the initial state.
+        assertEquals(value ^ initialState.get(variable), nextLatches[i]);
+      }
+
+      System.arraycopy(nextLatches, 0, leaves, controller.inputs() + 1, nextLatches.length);
+      state = nextState;
+    }
+  }
+
+  private static boolean evaluate(LabelledAig aig, boolean[] leaves) {
+    return evaluate(aig.aig(), leaves) ^ aig.isNegated();
+  }
+
+  private static boolean evaluate(Aig aig, boolean[] leaves) {
+    if (aig.isConstant()) {
+      return false;
+    }
+
+    if (aig.isVariable()) {
+      return leaves[aig.variable()];
+    }
+
+    return (evaluate(aig.left(), leaves) ^ aig.leftIsNegated())
+      && (evaluate(aig.right(), leaves) ^ aig.rightIsNegated());
+  }
+
+  // A circuit whose leaves are the inputs followed by the latches, numbered from 1.
+  private interface Circuit {
+    int inputs();
+
+    int latches();
+
+    int outputs();
+
+    boolean output(int index, boolean[] leaves);
+
+    boolean latch(int index, boolean[] leaves);
+  }
+
+  private static final class RecordingConsumer implements AigConsumer, Circuit {
+    private int inputs;
+    private final List<LabelledAig> latches = new ArrayList<>();
+    private final List<LabelledAig> outputs = new ArrayList<>();
+
+    @Override
+    public int inputs() {
+      return inputs;
+    }
+
+    @Override
+    public int latches() {
+      return latches.size();
+    }
+
+    @Override
+    public int outputs() {
+      return outputs.size();
+    }
+
+    @Override
+    public boolean output(int index, boolean[] leaves) {
+      return evaluate(outputs.get(index), leaves);
+    }
+
+    @Override
+    public boolean latch(int index, boolean[] leaves) {
+      return evaluate(latches.get(index), leaves);
+    }
+
+    @Override
+    public int addInput(String name) {
+      inputs++;
+      return inputs;
+    }
+
+    @Override
+    public int addLatch(String name, LabelledAig circuit) {
+      latches.add(circuit);
+      return inputs + latches.size();
+    }
+
+    @Override
+    public void addOutput(String name, LabelledAig circuit) {
+      outputs.add(circuit);
+    }
+
+    @Override
+    public void addComment(String comment) {
+      // Comments are not needed.
+    }
+  }
+
+  // A circuit in the ASCII AIGER format. Literal 2v is variable v, and 2v + 1 its negation.
+  private record AsciiAiger(
+    int inputs, int[] latchLiterals, int[] outputLiterals, List<int[]> gates) implements Circuit {
+
+    private static AsciiAiger parse(String aiger) {
+      var lines = aiger.lines().iterator();
+      String[] header = lines.next().split(" ");
+      assertEquals("aag", header[0]);
+
+      int inputs = Integer.parseInt(header[2]);
+      int[] latchLiterals = new int[Integer.parseInt(header[3])];
+      int[] outputLiterals = new int[Integer.parseInt(header[4])];
+      List<int[]> gates = new ArrayList<>();
+
+      for (int i = 0; i < inputs; i++) {
+        assertEquals(2 * (i + 1), Integer.parseInt(lines.next()));
+      }
+
+      for (int i = 0; i < latchLiterals.length; i++) {
+        String[] latch = lines.next().split(" ");
+        assertEquals(2 * (inputs + i + 1), Integer.parseInt(latch[0]));
+        latchLiterals[i] = Integer.parseInt(latch[1]);
+      }
+
+      for (int i = 0; i < outputLiterals.length; i++) {
+        outputLiterals[i] = Integer.parseInt(lines.next());
+      }
+
+      for (int i = 0, s = Integer.parseInt(header[5]); i < s; i++) {
+        String[] gate = lines.next().split(" ");
+        gates.add(new int[] {
+          Integer.parseInt(gate[0]), Integer.parseInt(gate[1]), Integer.parseInt(gate[2])});
+      }
+
+      return new AsciiAiger(inputs, latchLiterals, outputLiterals, gates);
+    }
+
+    @Override
+    public int latches() {
+      return latchLiterals.length;
+    }
+
+    @Override
+    public int outputs() {
+      return outputLiterals.length;
+    }
+
+    @Override
+    public boolean output(int index, boolean[] leaves) {
+      return value(outputLiterals[index], leaves);
+    }
+
+    @Override
+    public boolean latch(int index, boolean[] leaves) {
+      return value(latchLiterals[index], leaves);
+    }
+
+    // Gates are printed after their operands and thus are evaluated in order.
+    private boolean value(int literal, boolean[] leaves) {
+      Map<Integer, Boolean> values = new HashMap<>();
+      values.put(0, false);
+
+      for (int variable = 1; variable < leaves.length; variable++) {
+        values.put(2 * variable, leaves[variable]);
+      }
+
+      for (int[] gate : gates) {
+        values.put(gate[0], literal(values, gate[1]) && literal(values, gate[2]));
+      }
+
+      return literal(values, literal);
+    }
+
+    private static boolean literal(Map<Integer, Boolean> values, int literal) {
+      Boolean value = values.get(literal & ~1);
+      assertNotNull(value, "Undefined literal " + literal);
+      return value ^ ((literal & 1) == 1);
+    }
+  }
+}
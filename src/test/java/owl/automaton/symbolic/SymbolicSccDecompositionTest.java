@@ -20,6 +20,7 @@
 package owl.automaton.symbolic;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.COLOUR;
 import static owl.automaton.symbolic.SymbolicAutomaton.VariableType.STATE;
 
@@ -203,8 +204,9 @@ public class SymbolicSccDecompositionTest {
       .map(Set::size)
       .sorted()
       .toList();
-    List<Integer> actualSccs = SymbolicSccDecomposition
-      .of(actual)
+    var result = SymbolicSccDecomposition.of(actual)
+      .sccsWithStatistics(actual.reachableStates());
+    List<Integer> actualSccs = result
       .sccs()
       .stream()
       .map(bddSet ->
@@ -213,5 +215,9 @@ public class SymbolicSccDecompositionTest {
       .sorted()
       .toList();
     assertEquals(expectedSccs, actualSccs);
+
+    // The skeleton-based algorithm needs a linear number of image computations.
+    int states = expectedSccs.stream().mapToInt(Integer::intValue).sum();
+    assertTrue(result.statistics().imageSteps() <= 6L * states + 6);
   }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.bdd.jbdd;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class JBddConfigurationTest {
+
+  @Test
+  void testFromEnvironment() {
+    assertEquals(JBddConfiguration.DEFAULT, JBddConfiguration.fromEnvironment(Map.of()));
+
+    var configuration = JBddConfiguration.fromEnvironment(Map.of(
+        "OWL_BDD_SET_NODES", "65536",
+        "OWL_BDD_SET_GC", "false",
+        "OWL_BDD_GROWTH_FACTOR", " 2 "));
+
+    assertEquals(65536, configuration.setNodes());
+    assertFalse(configuration.setGarbageCollection());
+    assertEquals(2, configuration.growthFactor());
+    assertEquals(JBddConfiguration.DEFAULT.formulaNodes(), configuration.formulaNodes());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> JBddConfiguration.fromEnvironment(Map.of("OWL_BDD_SET_NODES", "many")));
+    assertThrows(IllegalArgumentException.class,
+        () -> JBddConfiguration.fromEnvironment(Map.of("OWL_BDD_SET_NODES", "0")));
+    assertThrows(IllegalArgumentException.class,
+        () -> JBddConfiguration.fromEnvironment(Map.of("OWL_BDD_SET_GC", "maybe")));
+  }
+
+  @Test
+  void testStatistics() {
+    var before = JBddSupplier.statistics();
+    var factory = new JBddSetFactory(new JBddConfiguration(16, 4, false, 16, 8, 2));
+    var set = factory.of(false);
+
+    for (int i = 0; i < 64; i++) {
+      BitSet valuation = new BitSet();
+      valuation.set(i);
+      set = set.union(factory.of(valuation, 64));
+    }
+
+    var after = JBddSupplier.statistics();
+    assertTrue(after.factories() > before.factories());
+    assertTrue(after.createdNodes() >= before.createdNodes() + 64);
+    assertTrue(after.peakNodes() > 0);
+    assertFalse(set.isEmpty());
+  }
+}
@@ -26,6 +26,6 @@ public class JBddSetTest extends BddSetTest {
 
   @Override
   protected BddSetFactory factory() {
-    return new JBddSetFactory(1024);
+    return new JBddSetFactory(JBddConfiguration.DEFAULT);
   }
 }
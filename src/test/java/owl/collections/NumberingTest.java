@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class NumberingTest {
+
+  @Test
+  void testNumbering() {
+    var numbering = new Numbering<String>(2);
+    List<String> elements = new ArrayList<>();
+
+    for (int i = 0; i < 1000; i++) {
+      elements.add("s" + i);
+      assertEquals(i, numbering.lookup("s" + i));
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, numbering.lookup(elements.get(i)));
+      assertEquals(i, numbering.indexOf(elements.get(i)));
+      assertEquals(elements.get(i), numbering.lookup(i));
+    }
+
+    assertEquals(1000, numbering.size());
+    assertEquals(-1, numbering.indexOf("t"));
+    assertEquals(1000, numbering.size());
+    assertThrows(IllegalArgumentException.class, () -> numbering.lookup(1000));
+
+    var map = numbering.asMap();
+    assertEquals(1000, map.size());
+    assertEquals(999, map.get("s999"));
+    assertFalse(map.containsKey("t"));
+    assertEquals(elements, new ArrayList<>(map.keySet()));
+  }
+
+  @Test
+  void testIntIntMap() {
+    var random = new Random(42);
+    var map = new IntIntMap();
+    Map<Integer, Integer> expected = new HashMap<>();
+
+    for (int i = 0; i < 10_000; i++) {
+      int key = random.nextInt(2_000) - 1_000;
+      int value = random.nextInt();
+      assertEquals(expected.getOrDefault(key, -1), map.get(key, -1));
+      assertEquals(expected.getOrDefault(key, -1), map.put(key, value, -1));
+      expected.put(key, value);
+    }
+
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> {
+      assertTrue(map.containsKey(key));
+      assertEquals(value, map.get(key, -1));
+    });
+  }
+
+  @Test
+  void testIntArrayList() {
+    var list = new IntArrayList(0);
+    assertTrue(list.isEmpty());
+
+    for (int i = 0; i < 100; i++) {
+      list.add(99 - i);
+    }
+
+    list.sort();
+    assertEquals(100, list.size());
+    assertEquals(42, list.get(42));
+    assertEquals(42, list.set(42, -1));
+    assertEquals(-1, list.get(42));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+  }
+}
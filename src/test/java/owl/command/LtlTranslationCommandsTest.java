@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import owl.bdd.jbdd.JBddConfiguration;
+import owl.thirdparty.picocli.CommandLine;
+
+class LtlTranslationCommandsTest {
+
+  private static final List<String> FORMULAS = List.of(
+    "G F a | F G b",
+    "(G F a -> G F b) & (G F c -> G F d)",
+    "a U (b R c)",
+    "X X X (a | G b)",
+    "F G a & G F b & G (a -> X c)",
+    "G (a -> F b) & G (c -> F d)");
+
+  @Test
+  void testConcurrentTranslationMatchesSequential(@TempDir Path directory) throws IOException {
+    Path input = directory.resolve("formulas.ltl");
+    Files.write(input, FORMULAS);
+
+    String sequential = translate(input, directory.resolve("sequential.hoa"), "1");
+    String concurrent = translate(input, directory.resolve("concurrent.hoa"), "2");
+
+    assertFalse(sequential.isEmpty());
+    assertEquals(sequential, concurrent);
+  }
+
+  @Test
+  void testNonPositiveJobsAreRejected(@TempDir Path directory) throws IOException {
+    Path input = directory.resolve("formulas.ltl");
+    Files.write(input, FORMULAS);
+
+    for (String jobs : List.of("0", "-1")) {
+      String[] args = {"ltl2dpa", "--run-in-non-native-mode", "-i", input.toString(),
+        "-o", directory.resolve("rejected.hoa").toString(), "--jobs", jobs};
+      assertEquals(2, new CommandLine(new OwlCommand(args)).execute(args));
+    }
+  }
+
+  @Test
+  void testNonPositiveMemoizationLimitIsRejected(@TempDir Path directory) throws IOException {
+    Path input = directory.resolve("formulas.ltl");
+    Files.write(input, FORMULAS);
+
+    for (String limit : List.of("0", "-1")) {
+      String[] args = {"ltl2dpa", "--run-in-non-native-mode", "-i", input.toString(),
+        "-o", directory.resolve("rejected.hoa").toString(), "--memoization-limit", limit};
+      assertEquals(2, new CommandLine(new OwlCommand(args)).execute(args));
+    }
+
+    String[] args = {"ltl2dpa", "--run-in-non-native-mode", "-i", input.toString(),
+      "-o", directory.resolve("accepted.hoa").toString(), "--memoization-limit", "1"};
+    assertEquals(0, new CommandLine(new OwlCommand(args)).execute(args));
+  }
+
+  @Test
+  void testBddOptions(@TempDir Path directory) throws IOException {
+    Path input = directory.resolve("formulas.ltl");
+    Files.write(input, FORMULAS);
+
+    String[] args = {"ltl2dpa", "--run-in-non-native-mode", "-i", input.toString(),
+      "-o", directory.resolve("output.hoa").toString(),
+      "--bdd-set-nodes", "4096", "--bdd-set-gc", "false"};
+    assertEquals(0, new CommandLine(new OwlCommand(args)).execute(args));
+
+    var configuration = JBddConfiguration.current();
+    assertEquals(4096, configuration.setNodes());
+    assertFalse(configuration.setGarbageCollection());
+    assertEquals(JBddConfiguration.fromEnvironment(System.getenv()).growthFactor(),
+      configuration.growthFactor());
+
+    String[] invalidArgs = {"ltl2dpa", "--run-in-non-native-mode", "-i", input.toString(),
+      "-o", directory.resolve("output.hoa").toString(), "--bdd-growth-factor", "1"};
+    assertEquals(2, new CommandLine(new OwlCommand(invalidArgs)).execute(invalidArgs));
+  }
+
+  // Returns the automata without the headers listing the arguments.
+  private static String translate(Path input, Path output, String jobs) throws IOException {
+    String[] args = {"ltl2dpa", "--run-in-non-native-mode", "-i", input.toString(),
+      "-o", output.toString(), "--jobs", jobs};
+    assertEquals(0, new CommandLine(new OwlCommand(args)).execute(args));
+
+    try (var lines = Files.lines(output)) {
+      return lines
+        .filter(line -> !line.startsWith("owlArgs:"))
+        .reduce("", (x, y) -> x + y + '\n');
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.game.output;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class AigFactoryTest {
+
+  @Test
+  void testConstantFolding() {
+    AigFactory factory = new AigFactory();
+    LabelledAig variable = factory.getNode(1);
+
+    assertEquals(variable, factory.conjunction(factory.getTrue(), variable));
+    assertEquals(variable, factory.conjunction(variable, factory.getTrue()));
+    assertEquals(factory.getFalse(), factory.conjunction(factory.getFalse(), variable));
+    assertEquals(factory.getTrue(), factory.disjunction(factory.getTrue(), variable));
+    assertEquals(variable, factory.disjunction(factory.getFalse(), variable));
+  }
+}
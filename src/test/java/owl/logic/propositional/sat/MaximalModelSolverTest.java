@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.logic.propositional.sat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static owl.logic.propositional.PropositionalFormula.Conjunction;
+import static owl.logic.propositional.PropositionalFormula.Disjunction;
+import static owl.logic.propositional.PropositionalFormula.Negation;
+import static owl.logic.propositional.PropositionalFormula.Variable;
+
+import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import owl.collections.Collections3;
+import owl.collections.ImmutableBitSet;
+import owl.logic.propositional.PropositionalFormula;
+
+class MaximalModelSolverTest {
+
+  @Test
+  void testMaximalModels() {
+    var formula = Disjunction.of(
+        Conjunction.of(Variable.of(0), Negation.of(Variable.of(1))),
+        Conjunction.of(Variable.of(2), Negation.of(Variable.of(3))),
+        Conjunction.of(Variable.of(4), Negation.of(Variable.of(5))));
+    var constraint = Negation.of(Conjunction.of(Variable.of(0), Variable.of(4)));
+    var solver = new MaximalModelSolver(formula, constraint);
+
+    for (Set<Integer> upperBound : Sets.powerSet(Set.of(0, 1, 2, 3, 4, 5, 6))) {
+      var immutableUpperBound = ImmutableBitSet.copyOf(upperBound);
+
+      for (boolean value : new boolean[] {false, true}) {
+        var expected = expectedMaximalModels(formula, constraint, upperBound, value);
+        var actual = solver.maximalModels(immutableUpperBound, value);
+        assertEquals(expected, new HashSet<>(actual));
+        assertEquals(actual, solver.maximalModels(immutableUpperBound, value));
+      }
+    }
+  }
+
+  private static Set<ImmutableBitSet> expectedMaximalModels(
+      PropositionalFormula<Integer> formula,
+      PropositionalFormula<Integer> constraint,
+      Set<Integer> upperBound,
+      boolean value) {
+
+    List<Set<Integer>> maximalModels = new ArrayList<>();
+
+    for (Set<Integer> model : Sets.powerSet(upperBound)) {
+      if (formula.evaluate(model) == value && constraint.evaluate(model)) {
+        maximalModels.add(model);
+        maximalModels = Collections3.maximalElements(maximalModels, (x, y) -> y.containsAll(x));
+      }
+    }
+
+    Set<ImmutableBitSet> result = new HashSet<>();
+    maximalModels.forEach(model -> result.add(ImmutableBitSet.copyOf(model)));
+    return result;
+  }
+}
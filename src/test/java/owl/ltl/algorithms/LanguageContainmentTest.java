@@ -19,8 +19,11 @@
 
 package owl.ltl.algorithms;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Test;
 import owl.ltl.parser.LtlParser;
 
@@ -40,4 +43,45 @@ class LanguageContainmentTest {
   void isUniversal() {
     assertTrue(LanguageAnalysis.isUniversal(LtlParser.parse("X X F a | X X F !a").formula()));
   }
-}
\ No newline at end of file
+
+  @Test
+  void isUnsatisfiableIndependentConjuncts() {
+    assertTrue(LanguageAnalysis.isUnsatisfiable(
+      LtlParser.parse("G F b & (F a & !a & X G !a) & G (c | X d)").formula()));
+    assertTrue(LanguageAnalysis.isSatisfiable(
+      LtlParser.parse("G F b & (F a & !a) & G (c | X d)").formula()));
+  }
+
+  @Test
+  void isEqual() {
+    var variables = List.of("a", "b");
+    assertTrue(LanguageAnalysis.isEqual(
+      LtlParser.parse("G F G a", variables).formula(),
+      LtlParser.parse("F G a", variables).formula()));
+    assertFalse(LanguageAnalysis.isEqual(
+      LtlParser.parse("G F a", variables).formula(),
+      LtlParser.parse("F G a", variables).formula()));
+  }
+
+  @Test
+  void concurrentChecks() {
+    var executor = Executors.newFixedThreadPool(2);
+    var variables = List.of("a", "b", "c");
+
+    try {
+      assertTrue(LanguageAnalysis.isSatisfiable(
+        LtlParser.parse("(G a & F !a) | (G b & F !b) | G F c", variables).formula(), executor));
+      assertTrue(LanguageAnalysis.isUnsatisfiable(
+        LtlParser.parse("(G a & F !a) | (G b & F !b)", variables).formula(), executor));
+      assertTrue(LanguageAnalysis.isUniversal(
+        LtlParser.parse("(F a | G !a) & (X b | X !b) & G F (c | !c)", variables).formula(),
+        executor));
+      assertTrue(LanguageAnalysis.isEqual(
+        LtlParser.parse("G F a & F G b", variables).formula(),
+        LtlParser.parse("F G b & G F a", variables).formula(),
+        executor));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
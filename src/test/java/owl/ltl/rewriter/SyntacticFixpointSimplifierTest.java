@@ -21,11 +21,14 @@ package owl.ltl.rewriter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import owl.ltl.Formula;
 import owl.ltl.parser.LtlParser;
 
 @SuppressWarnings("PMD.UnusedPrivateMethod")
@@ -56,4 +59,68 @@ class SyntacticFixpointSimplifierTest {
     var expected = LtlParser.parse("! (" + pair.get(1) + ')', variables);
     assertEquals(expected, SimplifierRepository.SYNTACTIC_FIXPOINT.apply(actual));
   }
-}
\ No newline at end of file
+
+  @Test
+  void testLargeConjunction() {
+    List<String> conjunctVariables = new ArrayList<>();
+    List<String> conjuncts = new ArrayList<>();
+    List<String> expectedSafety = new ArrayList<>();
+    List<String> expectedLiveness = new ArrayList<>();
+
+    for (int i = 0; i < 20; i++) {
+      conjunctVariables.add("a" + i);
+      conjunctVariables.add("b" + i);
+      conjuncts.add("G (X ((X a" + i + ") U (X b" + i + ")))");
+      expectedSafety.add("G (a" + i + " | b" + i + ')');
+      expectedLiveness.add("G F b" + i);
+    }
+
+    var actual = LtlParser.parse(String.join(" & ", conjuncts), conjunctVariables);
+    var expected = LtlParser.parse("X X (" + String.join(" & ", expectedSafety) + ") & "
+      + String.join(" & ", expectedLiveness), conjunctVariables);
+    assertEquals(expected, SimplifierRepository.SYNTACTIC_FIXPOINT.apply(actual));
+  }
+
+  @ParameterizedTest
+  @MethodSource("conjunctProvider")
+  void testLargeConjunctionMatchesUnmemoizedFixpoint(String conjunct) {
+    List<String> conjunctVariables = new ArrayList<>();
+    List<String> conjuncts = new ArrayList<>();
+
+    for (int i = 0; i < 20; i++) {
+      conjunctVariables.add("a" + i);
+      conjunctVariables.add("b" + i);
+      conjuncts.add(conjunct.replace("a", "a" + i).replace("b", "b" + (i / 2)));
+    }
+
+    // Shared subformulas across conjuncts exercise the parallel pre-pass and the caches.
+    conjuncts.add("X (a0 U b0) | F G a1");
+    conjuncts.add("G (X a2 | X X b3) & X F (a4 R X b5)");
+
+    var formula = LtlParser.parse(String.join(" & ", conjuncts), conjunctVariables).formula();
+    assertEquals(unmemoizedFixpoint(formula),
+      SimplifierRepository.SYNTACTIC_FIXPOINT.apply(formula));
+  }
+
+  private static Stream<String> conjunctProvider() {
+    return Stream.of(
+      "G (X ((X a) U (X b)))",
+      "X (a & F b) | X X (G a)",
+      "F (X a & X X b) W G X b",
+      "(a U X b) M X (G F a | b)",
+      "! (X a <-> X G b) & X X F (a | ! b)");
+  }
+
+  private static Formula unmemoizedFixpoint(Formula formula) {
+    Formula before = null;
+    Formula after = formula.substitute(Formula::nnf);
+
+    for (int i = 0; i < 100 && !after.equals(before); i++) {
+      before = after.accept(PropositionalSimplifier.INSTANCE);
+      after = SyntacticSimplifier.INSTANCE.apply(before).accept(PullUpXVisitor.INSTANCE)
+        .toFormula();
+    }
+
+    return after;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2016 - 2021  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.ltl.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import owl.ltl.parser.LtlParser;
+
+class FormulaCanonicalisationTest {
+
+  @Test
+  void testRenamedAtomicPropositions() {
+    var formula1 = LtlParser.parse("G a & F b", List.of("a", "b"));
+    var formula2 = LtlParser.parse("G y & F x", List.of("x", "y"));
+
+    var signature1 = FormulaCanonicalisation.signature(formula1, false);
+    var signature2 = FormulaCanonicalisation.signature(formula2, false);
+
+    assertEquals(signature1, signature2);
+    assertEquals(signature1.formula, signature2.formula);
+    // 'a' and 'y' occur below G, 'b' and 'x' below F.
+    assertEquals(signature1.mapping.indexOf(0), signature2.mapping.indexOf(1));
+    assertEquals(signature1.mapping.indexOf(1), signature2.mapping.indexOf(0));
+  }
+
+  @Test
+  void testTieBreaking() {
+    var formula1 = LtlParser.parse("G (a | X b) & F (b & c) & (d | e) U c",
+      List.of("a", "b", "c", "d", "e"));
+    var formula2 = LtlParser.parse("G (c | X a) & F (a & b) & (e | d) U b",
+      List.of("a", "b", "c", "d", "e"));
+
+    assertEquals(
+      FormulaCanonicalisation.signature(formula1, false),
+      FormulaCanonicalisation.signature(formula2, false));
+  }
+
+  @Test
+  void testNonIsomorphicFormulas() {
+    var formula1 = LtlParser.parse("G a & F b");
+    var formula2 = LtlParser.parse("G a & X b");
+
+    assertNotEquals(
+      FormulaCanonicalisation.signature(formula1, false),
+      FormulaCanonicalisation.signature(formula2, false));
+  }
+}
@@ -20,10 +20,14 @@
 package owl.ltl.util;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import owl.ltl.Formula;
@@ -92,4 +96,31 @@ class FormulaIsomorphismTest {
     assertTimeout(Duration.ofMillis(500),
       () -> assertNull(FormulaIsomorphism.compute(formula1.formula(), formula2.formula())));
   }
-}
\ No newline at end of file
+
+  @Test
+  void testPerformanceManyPropositions() {
+    List<String> variables = new ArrayList<>();
+    List<String> conjuncts1 = new ArrayList<>();
+    List<String> conjuncts2 = new ArrayList<>();
+
+    for (int i = 0; i < 10; i++) {
+      variables.add("a" + i);
+      variables.add("b" + i);
+      conjuncts1.add("G (a" + i + " | F b" + i + ")");
+      conjuncts2.add("G (b" + i + " | F a" + i + ")");
+    }
+
+    Formula formula1 = LtlParser.parse(String.join(" & ", conjuncts1), variables).formula();
+    Formula formula2 = LtlParser.parse(String.join(" & ", conjuncts2), variables).formula();
+    conjuncts2.set(3, "G (b3 | X a3)");
+    Formula formula3 = LtlParser.parse(String.join(" & ", conjuncts2), variables).formula();
+
+    // There are 10! isomorphisms between formula1 and formula2, but the search stops after 720 of
+    // them. Colour refinement alone shows that formula1 and formula3 are not isomorphic.
+    int[] searchNodes = {0, 0};
+    assertNotNull(FormulaIsomorphism.compute(formula1, formula2, () -> searchNodes[0]++));
+    assertNull(FormulaIsomorphism.compute(formula1, formula3, () -> searchNodes[1]++));
+    assertTrue(searchNodes[0] <= 2 * 720, () -> searchNodes[0] + " search nodes visited.");
+    assertEquals(0, searchNodes[1]);
+  }
+}
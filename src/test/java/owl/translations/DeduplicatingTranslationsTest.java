@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.translations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import owl.automaton.Automaton;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.algorithm.LanguageContainment;
+import owl.ltl.LabelledFormula;
+import owl.ltl.parser.LtlParser;
+import owl.translations.LtlTranslationRepository.LtlToDpaTranslation;
+import owl.translations.LtlTranslationRepository.Option;
+
+class DeduplicatingTranslationsTest {
+
+  @Test
+  void testConcurrentRelabelling() throws ExecutionException, InterruptedException {
+    var options = Option.defaultOptions();
+    var translation = LtlToDpaTranslation.SLM21.translation(ParityAcceptance.class, options);
+    var invocations = new AtomicInteger();
+
+    var deduplicatedTranslation = DeduplicatingTranslations.create(16).deduplicated(
+        "SLM21", options, ParityAcceptance.class, formula -> {
+          invocations.incrementAndGet();
+          return translation.apply(formula);
+        });
+
+    List<LabelledFormula> formulas = List.of(
+        LtlParser.parse("G F a | F G (b & X c)", List.of("a", "b", "c")),
+        LtlParser.parse("G F x | F G (y & X z)", List.of("x", "y", "z")),
+        LtlParser.parse("G F c | F G (a & X b)", List.of("a", "b", "c")),
+        LtlParser.parse("G F q | F G (p & X r)", List.of("r", "q", "p")));
+
+    var executor = Executors.newFixedThreadPool(4);
+    List<Future<Automaton<?, ? extends ParityAcceptance>>> futures = new ArrayList<>();
+
+    try {
+      for (int i = 0; i < 64; i++) {
+        var formula = formulas.get(i % formulas.size());
+
+        futures.add(executor.submit(() -> {
+          var automaton = deduplicatedTranslation.apply(formula);
+          // Explore the relabelled automaton on the worker thread.
+          explore(automaton);
+          return automaton;
+        }));
+      }
+
+      for (int i = 0; i < futures.size(); i++) {
+        var formula = formulas.get(i % formulas.size());
+        var automaton = futures.get(i).get();
+
+        assertEquals(formula.atomicPropositions(), automaton.atomicPropositions());
+
+        if (i < formulas.size()) {
+          assertTrue(LanguageContainment.languageEquivalent(
+              automaton, translation.apply(formula)));
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(1, invocations.get());
+  }
+
+  private static <S> void explore(Automaton<S, ?> automaton) {
+    for (S state : automaton.states()) {
+      automaton.edgeMap(state);
+    }
+  }
+}
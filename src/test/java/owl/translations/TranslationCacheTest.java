@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.translations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import owl.automaton.acceptance.ParityAcceptance;
+import owl.automaton.algorithm.LanguageContainment;
+import owl.ltl.parser.LtlParser;
+import owl.translations.LtlTranslationRepository.LtlToDpaTranslation;
+import owl.translations.LtlTranslationRepository.Option;
+
+class TranslationCacheTest {
+
+  @Test
+  void testRenamedAtomicPropositions(@TempDir Path directory) throws IOException {
+    var cache = TranslationCache.of(directory, 1024 * 1024);
+    var options = Option.defaultOptions();
+    var translation = LtlToDpaTranslation.SLM21.translation(ParityAcceptance.class, options);
+    var invocations = new AtomicInteger();
+
+    var cachedTranslation = cache.cached("SLM21", options, ParityAcceptance.class, formula -> {
+      invocations.incrementAndGet();
+      return translation.apply(formula);
+    });
+
+    var formula1 = LtlParser.parse("G F a | F G b", List.of("a", "b"));
+    var formula2 = LtlParser.parse("G F x | F G y", List.of("x", "y"));
+
+    var automaton1 = cachedTranslation.apply(formula1);
+    var automaton2 = cachedTranslation.apply(formula2);
+
+    assertEquals(1, invocations.get());
+    assertEquals(List.of("a", "b"), automaton1.atomicPropositions());
+    assertEquals(List.of("x", "y"), automaton2.atomicPropositions());
+    assertTrue(LanguageContainment.languageEquivalent(automaton1, translation.apply(formula1)));
+    assertTrue(LanguageContainment.languageEquivalent(automaton2, translation.apply(formula2)));
+
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  void testCorruptEntry(@TempDir Path directory) throws IOException {
+    var cache = TranslationCache.of(directory, 1024 * 1024);
+    var options = Option.defaultOptions();
+    var translation = LtlToDpaTranslation.SLM21.translation(ParityAcceptance.class, options);
+    var invocations = new AtomicInteger();
+
+    var cachedTranslation = cache.cached("SLM21", options, ParityAcceptance.class, formula -> {
+      invocations.incrementAndGet();
+      return translation.apply(formula);
+    });
+
+    var formula = LtlParser.parse("G F a | F G b");
+    cachedTranslation.apply(formula);
+
+    Path entry;
+
+    try (Stream<Path> files = Files.list(directory)) {
+      entry = files.findAny().orElseThrow();
+    }
+
+    // Keep the key, but truncate the automaton.
+    String content = Files.readString(entry);
+    Files.writeString(entry, content.substring(0, content.indexOf("--BODY--")));
+
+    var automaton = cachedTranslation.apply(formula);
+    assertEquals(2, invocations.get());
+    assertTrue(LanguageContainment.languageEquivalent(automaton, translation.apply(formula)));
+
+    // The corrupt entry has been replaced.
+    cachedTranslation.apply(formula);
+    assertEquals(2, invocations.get());
+  }
+
+  @Test
+  void testEviction(@TempDir Path directory) throws IOException {
+    var cache = TranslationCache.of(directory, 1);
+    var options = Option.defaultOptions();
+    var cachedTranslation = cache.cached("SLM21", options, ParityAcceptance.class,
+        LtlToDpaTranslation.SLM21.translation(ParityAcceptance.class, options));
+
+    cachedTranslation.apply(LtlParser.parse("G F a"));
+    cachedTranslation.apply(LtlParser.parse("F G a"));
+
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(0, files.count());
+    }
+  }
+}
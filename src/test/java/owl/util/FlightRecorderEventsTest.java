@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import owl.logic.propositional.sat.Solver;
+
+class FlightRecorderEventsTest {
+
+  @Test
+  void disabledByDefault() {
+    var event = new FlightRecorderEvents.SolverInvocation();
+    event.begin();
+    assertFalse(event.isEnabled());
+  }
+
+  @Test
+  void solverInvocation() throws IOException {
+    var file = Files.createTempFile("owl", ".jfr");
+
+    try (var recording = new Recording()) {
+      recording.enable("owl.SolverInvocation");
+      recording.start();
+
+      assertTrue(Solver.DPLL.model(List.of(
+        new Solver.Clause<>(List.of(1), List.of()),
+        new Solver.Clause<>(List.of(), List.of(1, 2)))).isPresent());
+
+      recording.stop();
+      recording.dump(file);
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+        .filter(event -> event.getEventType().getName().equals("owl.SolverInvocation"))
+        .toList();
+
+      assertEquals(1, events.size());
+      assertEquals("DPLL", events.get(0).getString("solver"));
+      assertEquals(2, events.get(0).getInt("clauses"));
+      assertTrue(events.get(0).getBoolean("satisfiable"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2022  (See AUTHORS)
+ *
+ * This file is part of Owl.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package owl.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class MetricsTest {
+
+  @Test
+  void disabled() {
+    var record = Metrics.record("formula");
+
+    assertEquals(42, Metrics.getWith(record, () -> {
+      Metrics.put("states", 1);
+      Metrics.increment("counter");
+      return Metrics.time("translate", () -> 42);
+    }));
+
+    assertEquals("{\"type\":\"formula\"}", record.toJson());
+  }
+
+  @Test
+  void writeRecords() throws Exception {
+    var output = new StringWriter();
+    Metrics.open(output);
+
+    try {
+      var record = Metrics.record("formula").put("formula", "a \"U\" b");
+
+      Metrics.callWith(record, () -> {
+        Metrics.put("sizes", List.of(1, 2));
+        Metrics.increment("solver.calls");
+        Metrics.increment("solver.calls");
+        Metrics.addTime("translate", 5);
+        Metrics.addTime("translate", 7);
+
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+          // The record is bound on the worker thread.
+          executor.submit(Metrics.propagate(() -> {
+            Metrics.increment("solver.calls");
+            return null;
+          })).get();
+        } finally {
+          executor.shutdown();
+        }
+
+        return null;
+      });
+
+      // The record is no longer bound to this thread.
+      Metrics.increment("solver.calls");
+      record.write();
+
+      assertEquals("{\"type\":\"formula\",\"formula\":\"a \\\"U\\\" b\",\"sizes\":[1,2],"
+        + "\"timings_ns\":{\"translate\":12},\"counters\":{\"solver.calls\":3}}\n",
+        output.toString());
+    } finally {
+      Metrics.close(Metrics.record("summary"));
+    }
+
+    assertTrue(output.toString().endsWith(
+      "{\"type\":\"summary\",\"counters\":{\"solver.calls\":4}}\n"));
+    assertFalse(Metrics.isEnabled());
+  }
+}